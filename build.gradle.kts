@@ -32,11 +32,28 @@ dependencies {
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
     jvmArgs("-Xshare:off","-XX:+EnableDynamicAgentLoading")
     finalizedBy(tasks.jacocoTestReport)
 }
 
+// Timing runs tagged "benchmark" are kept out of the regular test task
+val benchmark by tasks.registering(Test::class) {
+    description = "Runs the tests tagged as benchmarks."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    jvmArgs("-Xshare:off", "-Xmx2g")
+    testLogging {
+        showStandardStreams = true
+    }
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -0,0 +1,463 @@
+package edu.trincoll.game.battle;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Turn order for team battles with any number of combatants.
+ *
+ * <p>Each combatant has an initiative value: one with initiative {@code i}
+ * acts every {@code TIME_SCALE / i} ticks, so a combatant twice as fast takes
+ * twice as many turns. Upcoming turns live in an indexed binary min-heap keyed
+ * by next turn time (ties go to the combatant added first), so the queue is
+ * never rebuilt between rounds:</p>
+ * <ul>
+ *   <li>Taking a turn and rescheduling the actor: O(log n)</li>
+ *   <li>{@link #setInitiative(Character, int)} after a stat change: O(log n)</li>
+ *   <li>Removing one combatant: O(log n); {@link #removeDead()} after mass
+ *       deaths: O(n) via a single re-heapify</li>
+ * </ul>
+ *
+ * <p>Every turn is dispatched through the combatant's {@link BattleSequence}
+ * (a {@link StandardBattleSequence} by default) against the defender chosen by
+ * the scheduler's {@link TargetSelector}. Defenders killed by a turn, and
+ * attackers killed by their own recoil, leave the schedule immediately.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * BattleScheduler battle = new BattleScheduler();
+ * battle.add(warrior, 0, 80);
+ * battle.add(mage, 0, 120, PowerAttackSequence::new);
+ * battle.add(rogue, 1, 150);
+ * int winner = battle.runBattle(10_000);
+ * }</pre>
+ */
+public class BattleScheduler {
+    /** Ticks between turns for a combatant with initiative 1. */
+    public static final long TIME_SCALE = 1_000_000L;
+
+    /** Returned by {@link #runBattle(int)} when no single team is left standing. */
+    public static final int NO_WINNER = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TargetSelector selector;
+    private Predicate<Character> actionFilter = character -> true;
+    private final CharacterIntMap ids = new CharacterIntMap();
+    private final Map<Integer, Roster> rosters = new LinkedHashMap<>();
+    private List<Integer> teamIds = List.of();
+
+    private Character[] combatants = new Character[INITIAL_CAPACITY];
+    private int[] teams = new int[INITIAL_CAPACITY];
+    private int[] initiatives = new int[INITIAL_CAPACITY];
+    private long[] nextTurns = new long[INITIAL_CAPACITY];
+    private int[] heapIndex = new int[INITIAL_CAPACITY];
+    private int[] rosterIndex = new int[INITIAL_CAPACITY];
+    private Object[] sequences = new Object[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int heapSize;
+    private int idCount;
+
+    private long now;
+    private int turnsExecuted;
+    private int livingTeams;
+
+    public BattleScheduler() {
+        this(TargetSelector.FOCUS_FIRST);
+    }
+
+    public BattleScheduler(TargetSelector selector) {
+        this.selector = Objects.requireNonNull(selector, "Target selector cannot be null");
+    }
+
+    /**
+     * Adds a combatant whose turns use a {@link StandardBattleSequence}.
+     */
+    public void add(Character character, int team, int initiative) {
+        add(character, team, initiative, StandardBattleSequence::new);
+    }
+
+    /**
+     * Adds a combatant, scheduling its first turn one interval from now.
+     *
+     * @param team       non-negative team number
+     * @param initiative positive turn frequency
+     * @param sequence   creates the sequence for each of this combatant's turns
+     * @throws IllegalArgumentException if team or initiative is out of range,
+     *                                  or the character is already scheduled
+     */
+    public void add(Character character, int team, int initiative,
+                    BiFunction<Character, Character, ? extends BattleSequence> sequence) {
+        Objects.requireNonNull(character, "Character cannot be null");
+        Objects.requireNonNull(sequence, "Sequence cannot be null");
+        if (team < 0) {
+            throw new IllegalArgumentException("Team must not be negative");
+        }
+        requirePositive(initiative);
+        int existing = ids.get(character);
+        if (existing != CharacterIntMap.NO_VALUE && heapIndex[existing] >= 0) {
+            throw new IllegalArgumentException(character.getName() + " is already scheduled");
+        }
+
+        int id = existing != CharacterIntMap.NO_VALUE ? existing : newId(character);
+        teams[id] = team;
+        initiatives[id] = initiative;
+        sequences[id] = sequence;
+        nextTurns[id] = now + interval(initiative);
+        Roster roster = rosters.get(team);
+        if (roster == null) {
+            roster = new Roster();
+            rosters.put(team, roster);
+            teamIds = List.copyOf(rosters.keySet());
+        }
+        roster.add(id);
+
+        heap[heapSize] = id;
+        heapIndex[id] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    /**
+     * Changes a combatant's initiative, moving its next turn as if it had
+     * always had the new value since its last turn.
+     *
+     * @throws IllegalArgumentException if the character is not scheduled or initiative is not positive
+     */
+    public void setInitiative(Character character, int initiative) {
+        requirePositive(initiative);
+        int id = scheduledId(character);
+        long lastTurn = nextTurns[id] - interval(initiatives[id]);
+        initiatives[id] = initiative;
+        nextTurns[id] = Math.max(now, lastTurn + interval(initiative));
+        int index = heapIndex[id];
+        siftUp(index);
+        siftDown(heapIndex[id]);
+    }
+
+    /**
+     * Removes one combatant from the schedule.
+     *
+     * @return whether the character was scheduled
+     */
+    public boolean remove(Character character) {
+        int id = ids.get(character);
+        if (id == CharacterIntMap.NO_VALUE || heapIndex[id] < 0) {
+            return false;
+        }
+        removeAt(heapIndex[id]);
+        return true;
+    }
+
+    /**
+     * Removes every dead combatant at once and restores heap order in a
+     * single O(n) pass. Use after area damage or other mass deaths.
+     *
+     * @return number of combatants removed
+     */
+    public int removeDead() {
+        int kept = 0;
+        int removed = 0;
+        for (int i = 0; i < heapSize; i++) {
+            int id = heap[i];
+            if (combatants[id].isDead()) {
+                heapIndex[id] = -1;
+                leaveRoster(id);
+                removed++;
+            } else {
+                heap[kept] = id;
+                heapIndex[id] = kept++;
+            }
+        }
+        heapSize = kept;
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+        return removed;
+    }
+
+    /**
+     * Decides whether a combatant may act when its turn comes up. A rejected
+     * combatant (for example a stunned one) loses that turn: it is rescheduled
+     * without attacking, and the turn still counts towards {@link #getTurnsExecuted()}.
+     *
+     * <pre>{@code
+     * battle.setActionFilter(character -> !effects.isStunned(character));
+     * }</pre>
+     */
+    public void setActionFilter(Predicate<Character> actionFilter) {
+        this.actionFilter = Objects.requireNonNull(actionFilter, "Action filter cannot be null");
+    }
+
+    /**
+     * The combatant who acts next, or null if nobody is scheduled.
+     */
+    public Character peekNext() {
+        return heapSize == 0 ? null : combatants[heap[0]];
+    }
+
+    /**
+     * Runs the next turn.
+     *
+     * @return false if no turn could be taken (nobody scheduled or nobody to attack)
+     */
+    public boolean executeNextTurn() {
+        while (heapSize > 0) {
+            int id = heap[0];
+            Character attacker = combatants[id];
+            if (attacker.isDead()) {
+                removeAt(0);
+                continue;
+            }
+            Character defender = selector.selectTarget(attacker, this);
+            if (defender == null) {
+                return false;
+            }
+
+            now = nextTurns[id];
+            turnsExecuted++;
+            if (!actionFilter.test(attacker)) {
+                nextTurns[id] += interval(initiatives[id]);
+                siftDown(heapIndex[id]);
+                return true;
+            }
+            sequenceOf(id).apply(attacker, defender).executeTurn();
+
+            if (defender.isDead()) {
+                remove(defender);
+            }
+            if (attacker.isDead()) {
+                remove(attacker);
+            } else {
+                nextTurns[id] += interval(initiatives[id]);
+                siftDown(heapIndex[id]);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Runs turns until at most one team has living combatants, nobody can
+     * attack, or {@code maxTurns} turns have been taken.
+     *
+     * @return the winning team, or {@link #NO_WINNER}
+     */
+    public int runBattle(int maxTurns) {
+        int turns = 0;
+        while (livingTeams > 1 && turns < maxTurns && executeNextTurn()) {
+            turns++;
+        }
+        if (livingTeams != 1) {
+            return NO_WINNER;
+        }
+        for (Map.Entry<Integer, Roster> entry : rosters.entrySet()) {
+            if (entry.getValue().size > 0) {
+                return entry.getKey();
+            }
+        }
+        return NO_WINNER;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the character was never added
+     */
+    public int teamOf(Character character) {
+        int id = ids.get(character);
+        if (id == CharacterIntMap.NO_VALUE) {
+            throw new IllegalArgumentException(character.getName() + " is not in this battle");
+        }
+        return teams[id];
+    }
+
+    /**
+     * Team numbers in the order they first joined.
+     */
+    public List<Integer> teams() {
+        return teamIds;
+    }
+
+    /**
+     * Scheduled members of a team as a live, read-only view. Order changes as
+     * members are removed.
+     */
+    public List<Character> livingMembers(int team) {
+        Roster roster = rosters.get(team);
+        return roster == null ? List.of() : roster.view;
+    }
+
+    /**
+     * Number of teams with at least one scheduled member.
+     */
+    public int getLivingTeamCount() {
+        return livingTeams;
+    }
+
+    /**
+     * Number of scheduled combatants.
+     */
+    public int size() {
+        return heapSize;
+    }
+
+    /**
+     * Time of the most recent turn, in ticks.
+     */
+    public long getCurrentTime() {
+        return now;
+    }
+
+    public int getTurnsExecuted() {
+        return turnsExecuted;
+    }
+
+    private int newId(Character character) {
+        if (idCount == combatants.length) {
+            int capacity = combatants.length * 2;
+            combatants = Arrays.copyOf(combatants, capacity);
+            teams = Arrays.copyOf(teams, capacity);
+            initiatives = Arrays.copyOf(initiatives, capacity);
+            nextTurns = Arrays.copyOf(nextTurns, capacity);
+            heapIndex = Arrays.copyOf(heapIndex, capacity);
+            rosterIndex = Arrays.copyOf(rosterIndex, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+        }
+        int id = idCount++;
+        combatants[id] = character;
+        ids.put(character, id);
+        return id;
+    }
+
+    private int scheduledId(Character character) {
+        int id = ids.get(character);
+        if (id == CharacterIntMap.NO_VALUE || heapIndex[id] < 0) {
+            throw new IllegalArgumentException(character.getName() + " is not scheduled");
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    private BiFunction<Character, Character, ? extends BattleSequence> sequenceOf(int id) {
+        return (BiFunction<Character, Character, ? extends BattleSequence>) sequences[id];
+    }
+
+    private void removeAt(int index) {
+        int id = heap[index];
+        int last = heap[--heapSize];
+        heapIndex[id] = -1;
+        leaveRoster(id);
+        if (index < heapSize) {
+            heap[index] = last;
+            heapIndex[last] = index;
+            siftUp(index);
+            siftDown(heapIndex[last]);
+        }
+    }
+
+    private void leaveRoster(int id) {
+        rosters.get(teams[id]).remove(id);
+    }
+
+    private boolean before(int a, int b) {
+        return nextTurns[a] != nextTurns[b] ? nextTurns[a] < nextTurns[b] : a < b;
+    }
+
+    private void siftUp(int index) {
+        int id = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(id, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heapIndex[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = id;
+        heapIndex[id] = index;
+    }
+
+    private void siftDown(int index) {
+        int id = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], id)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = id;
+        heapIndex[id] = index;
+    }
+
+    private static long interval(int initiative) {
+        return Math.max(1, TIME_SCALE / initiative);
+    }
+
+    private static void requirePositive(int initiative) {
+        if (initiative <= 0) {
+            throw new IllegalArgumentException("Initiative must be positive");
+        }
+    }
+
+    /**
+     * Scheduled members of one team, with O(1) swap-removal.
+     */
+    private final class Roster {
+        private int[] members = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private final List<Character> view = new AbstractList<>() {
+            @Override
+            public Character get(int index) {
+                Objects.checkIndex(index, size);
+                return combatants[members[index]];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+
+        void add(int id) {
+            if (size == members.length) {
+                members = Arrays.copyOf(members, size * 2);
+            }
+            if (size == 0) {
+                livingTeams++;
+            }
+            rosterIndex[id] = size;
+            members[size++] = id;
+        }
+
+        void remove(int id) {
+            int index = rosterIndex[id];
+            int last = members[--size];
+            members[index] = last;
+            rosterIndex[last] = index;
+            if (size == 0) {
+                livingTeams--;
+            }
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package edu.trincoll.game.battle;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+import edu.trincoll.game.model.HealthListener;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Keeps living characters ordered by a health-dependent score, for AI
+ * queries such as "most injured ally" or "highest-threat enemy".
+ *
+ * <p>The index registers itself as a {@link HealthListener} on every member,
+ * so each {@code takeDamage}, {@code heal} or {@code setHealth} re-positions
+ * that one character in an indexed binary heap in O(log n). {@link #peek()}
+ * is O(1). Characters that die leave the heap and return if healed back
+ * above zero (for example when an attack is undone).</p>
+ *
+ * <p>Scores must depend only on the character's stats. The lowest score is
+ * on top. Like {@link Character}, the index is not thread-safe.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * PriorityIndex allies = PriorityIndex.mostInjured();
+ * party.forEach(allies::add);
+ *
+ * Character patient = allies.peek();
+ * if (patient != null && PriorityIndex.healthFraction(patient) < 1.0) {
+ *     invoker.executeCommand(new HealCommand(patient, 30));
+ * }
+ * }</pre>
+ */
+public class PriorityIndex implements HealthListener {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ToDoubleFunction<Character> score;
+    private final CharacterIntMap ids = new CharacterIntMap();
+
+    private Character[] members = new Character[INITIAL_CAPACITY];
+    private double[] scores = new double[INITIAL_CAPACITY];
+    private int[] heapIndex = new int[INITIAL_CAPACITY];
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int[] nextFree = new int[INITIAL_CAPACITY];
+    private int heapSize;
+    private int slotCount;
+    private int freeSlot = -1;
+
+    /**
+     * @param score ranking key; the lowest score is returned by {@link #peek()}
+     */
+    public PriorityIndex(ToDoubleFunction<Character> score) {
+        this.score = Objects.requireNonNull(score, "Score cannot be null");
+    }
+
+    /**
+     * Lowest current/max health fraction first.
+     */
+    public static PriorityIndex mostInjured() {
+        return new PriorityIndex(PriorityIndex::healthFraction);
+    }
+
+    /**
+     * Highest threat first, where threat is attack power scaled by remaining
+     * health fraction: a wounded heavy hitter can still outrank a healthy weakling.
+     */
+    public static PriorityIndex highestThreat() {
+        return new PriorityIndex(character -> -character.getStats().attackPower() * healthFraction(character));
+    }
+
+    public static double healthFraction(Character character) {
+        return (double) character.getStats().health() / character.getStats().maxHealth();
+    }
+
+    /**
+     * Starts tracking a character.
+     *
+     * @return false if it was already tracked
+     */
+    public boolean add(Character character) {
+        if (ids.containsKey(character)) {
+            return false;
+        }
+        int slot = allocate(character);
+        ids.put(character, slot);
+        character.addHealthListener(this);
+        if (character.isAlive()) {
+            scores[slot] = score.applyAsDouble(character);
+            push(slot);
+        }
+        return true;
+    }
+
+    /**
+     * Stops tracking a character and unregisters from it.
+     *
+     * @return whether it was tracked
+     */
+    public boolean remove(Character character) {
+        int slot = ids.remove(character);
+        if (slot == CharacterIntMap.NO_VALUE) {
+            return false;
+        }
+        character.removeHealthListener(this);
+        if (heapIndex[slot] >= 0) {
+            removeAt(heapIndex[slot]);
+        }
+        members[slot] = null;
+        nextFree[slot] = freeSlot;
+        freeSlot = slot;
+        return true;
+    }
+
+    /**
+     * The living tracked character with the lowest score, or null.
+     */
+    public Character peek() {
+        return heapSize == 0 ? null : members[heap[0]];
+    }
+
+    /**
+     * Number of living tracked characters.
+     */
+    public int size() {
+        return heapSize;
+    }
+
+    public boolean contains(Character character) {
+        return ids.containsKey(character);
+    }
+
+    @Override
+    public void onHealthChanged(Character character, int previousHealth, int currentHealth) {
+        int slot = ids.get(character);
+        if (slot == CharacterIntMap.NO_VALUE) {
+            return;
+        }
+        int index = heapIndex[slot];
+        if (currentHealth == 0) {
+            if (index >= 0) {
+                removeAt(index);
+            }
+            return;
+        }
+        scores[slot] = score.applyAsDouble(character);
+        if (index < 0) {
+            push(slot);
+        } else {
+            siftUp(index);
+            siftDown(heapIndex[slot]);
+        }
+    }
+
+    private int allocate(Character character) {
+        int slot;
+        if (freeSlot >= 0) {
+            slot = freeSlot;
+            freeSlot = nextFree[slot];
+        } else {
+            if (slotCount == members.length) {
+                int capacity = members.length * 2;
+                members = Arrays.copyOf(members, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                heapIndex = Arrays.copyOf(heapIndex, capacity);
+                heap = Arrays.copyOf(heap, capacity);
+                nextFree = Arrays.copyOf(nextFree, capacity);
+            }
+            slot = slotCount++;
+        }
+        members[slot] = character;
+        heapIndex[slot] = -1;
+        return slot;
+    }
+
+    private void push(int slot) {
+        heap[heapSize] = slot;
+        heapIndex[slot] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void removeAt(int index) {
+        int slot = heap[index];
+        int last = heap[--heapSize];
+        heapIndex[slot] = -1;
+        if (index < heapSize) {
+            heap[index] = last;
+            heapIndex[last] = index;
+            siftUp(index);
+            siftDown(heapIndex[last]);
+        }
+    }
+
+    private void siftUp(int index) {
+        int slot = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[heap[parent]] <= scores[slot]) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heapIndex[heap[index]] = index;
+            index = parent;
+        }
+        heap[index] = slot;
+        heapIndex[slot] = index;
+    }
+
+    private void siftDown(int index) {
+        int slot = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && scores[heap[child + 1]] < scores[heap[child]]) {
+                child++;
+            }
+            if (scores[heap[child]] >= scores[slot]) {
+                break;
+            }
+            heap[index] = heap[child];
+            heapIndex[heap[index]] = index;
+            index = child;
+        }
+        heap[index] = slot;
+        heapIndex[slot] = index;
+    }
+}
@@ -0,0 +1,35 @@
+package edu.trincoll.game.battle;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.List;
+
+/**
+ * Picks the defender for a combatant's turn in a {@link BattleScheduler}.
+ */
+@FunctionalInterface
+public interface TargetSelector {
+    /**
+     * Focus fire: the first living member of the first other team that still
+     * has living members.
+     */
+    TargetSelector FOCUS_FIRST = (attacker, scheduler) -> {
+        int ownTeam = scheduler.teamOf(attacker);
+        for (int team : scheduler.teams()) {
+            if (team != ownTeam) {
+                List<Character> members = scheduler.livingMembers(team);
+                if (!members.isEmpty()) {
+                    return members.get(0);
+                }
+            }
+        }
+        return null;
+    };
+
+    /**
+     * @param attacker  the combatant whose turn it is
+     * @param scheduler the battle, for team and roster lookups
+     * @return the defender, or null if there is nobody to attack
+     */
+    Character selectTarget(Character attacker, BattleScheduler scheduler);
+}
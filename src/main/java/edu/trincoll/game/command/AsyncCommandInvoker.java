@@ -0,0 +1,276 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Accepts commands from any number of threads and executes them, in
+ * submission order, on one writer thread that owns a {@link CommandInvoker}.
+ *
+ * <p>{@link Character} and {@link CommandInvoker} are not thread-safe, so
+ * rather than locking them this class keeps a single writer: every state
+ * change happens on the writer thread, and producers only hand commands
+ * over.</p>
+ *
+ * <h2>Queue</h2>
+ * <p>Submissions go through an unbounded, lock-free multi-producer/single-
+ * consumer linked queue. A producer links its submission with one atomic
+ * swap on the tail; the writer follows {@code next} pointers from the head
+ * without any atomic read-modify-write. The writer drains up to
+ * {@code batchSize} commands per pass and parks when the queue is empty;
+ * producers unpark it only when it is actually parked.</p>
+ *
+ * <h2>Results</h2>
+ * <p>{@link #submit(GameCommand)} returns a future that completes with the
+ * command once it has executed (so fields such as damage dealt can be read),
+ * or exceptionally with whatever {@code execute} threw. Futures complete on
+ * the writer thread; attach slow continuations with the {@code ...Async}
+ * variants so the writer is not held up.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (AsyncCommandInvoker async = new AsyncCommandInvoker(new CommandInvoker())) {
+ *     async.start();
+ *     // From any network thread:
+ *     async.submit(new AttackCommand(warrior, goblin))
+ *          .thenAcceptAsync(attack -> log(attack.getDescription()));
+ * }
+ * }</pre>
+ *
+ * @see CommandInvoker
+ */
+public class AsyncCommandInvoker implements AutoCloseable {
+    /** Commands executed per drain pass unless configured otherwise. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    private static final int SPINS_BEFORE_PARK = 100;
+
+    private final CommandInvoker invoker;
+    private final int batchSize;
+
+    // Consumer-owned head (a consumed stub) and producer-shared tail
+    private Submission head = new Submission(null);
+    private final AtomicReference<Submission> tail = new AtomicReference<>(head);
+
+    private volatile boolean running;
+    private volatile boolean closed;
+    private volatile boolean terminated;
+    private volatile boolean parked;
+    private Thread writer;
+
+    // Written only by the writer thread
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    public AsyncCommandInvoker(CommandInvoker invoker) {
+        this(invoker, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param invoker   invoker the writer thread executes commands through;
+     *                  no other thread may use it while this is running
+     * @param batchSize maximum commands executed per drain pass
+     * @throws IllegalArgumentException if batchSize is not positive
+     */
+    public AsyncCommandInvoker(CommandInvoker invoker, int batchSize) {
+        this.invoker = Objects.requireNonNull(invoker, "Invoker cannot be null");
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts the writer thread. Commands submitted earlier run first.
+     *
+     * @throws IllegalStateException if already started or closed
+     */
+    public synchronized void start() {
+        if (writer != null || closed) {
+            throw new IllegalStateException("Invoker already started or closed");
+        }
+        running = true;
+        writer = new Thread(this::runLoop, "command-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Queues a command for the writer thread. Safe to call from any thread.
+     *
+     * @return a future completed with the command after it executes; it
+     *         fails with {@link RejectedExecutionException} if the invoker is
+     *         closed before the command could run
+     */
+    public <C extends GameCommand> CompletableFuture<C> submit(C command) {
+        Objects.requireNonNull(command, "Command cannot be null");
+        if (closed) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Invoker is closed"));
+        }
+        Submission submission = new Submission(command);
+        Submission previous = tail.getAndSet(submission);
+        previous.next = submission;
+
+        if (terminated) {
+            // The writer may have finished its last drain before seeing us
+            submission.reject();
+        } else if (parked) {
+            LockSupport.unpark(writer);
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<C> future = (CompletableFuture<C>) submission.future;
+        return future;
+    }
+
+    /**
+     * Returns the underlying invoker. Only inspect it once this is closed;
+     * until then it is owned by the writer thread.
+     */
+    public CommandInvoker invoker() {
+        return invoker;
+    }
+
+    public long getExecutedCount() {
+        return executed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+
+    /**
+     * Number of drain passes that executed at least one command.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Stops accepting commands, executes everything already queued, and
+     * stops the writer thread. If the writer was never started, queued
+     * commands are rejected. If the calling thread is interrupted while
+     * waiting for the writer, it stops waiting and keeps its interrupt
+     * status; the writer still finishes the queue on its own.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (writer == null) {
+            terminated = true;
+            drainFinal();
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runLoop() {
+        int idleSpins = 0;
+        while (running) {
+            if (drain(batchSize) > 0) {
+                idleSpins = 0;
+            } else if (++idleSpins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                parked = true;
+                // Re-check after publishing the flag so a concurrent submit cannot be missed
+                if (head.next == null && running) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+                idleSpins = 0;
+            }
+        }
+        while (drain(Integer.MAX_VALUE) > 0) {
+            // Execute everything queued before close
+        }
+        terminated = true;
+        drainFinal();
+    }
+
+    // Executes up to max queued commands; returns how many ran
+    private int drain(int max) {
+        int count = 0;
+        Submission next;
+        while (count < max && (next = head.next) != null) {
+            head = next;
+            run(next);
+            count++;
+        }
+        if (count > 0) {
+            batches.lazySet(batches.get() + 1);
+        }
+        return count;
+    }
+
+    // After termination, producers may race to reject their own submissions
+    private void drainFinal() {
+        Submission next;
+        while ((next = head.next) != null) {
+            head = next;
+            if (next.claim()) {
+                if (writer == null) {
+                    next.future.completeExceptionally(new RejectedExecutionException("Invoker was never started"));
+                } else {
+                    run(next);
+                }
+            }
+        }
+    }
+
+    private void run(Submission submission) {
+        GameCommand command = submission.command;
+        submission.command = null;
+        try {
+            invoker.executeCommand(command);
+            executed.lazySet(executed.get() + 1);
+            submission.future.complete(command);
+        } catch (RuntimeException e) {
+            failed.lazySet(failed.get() + 1);
+            submission.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * A queued command, doubling as its own queue node.
+     */
+    private static final class Submission {
+        private static final AtomicIntegerFieldUpdater<Submission> CLAIMED =
+                AtomicIntegerFieldUpdater.newUpdater(Submission.class, "claimed");
+
+        final CompletableFuture<GameCommand> future = new CompletableFuture<>();
+        GameCommand command;
+        volatile Submission next;
+        volatile int claimed;
+
+        Submission(GameCommand command) {
+            this.command = command;
+        }
+
+        boolean claim() {
+            return CLAIMED.compareAndSet(this, 0, 1);
+        }
+
+        void reject() {
+            if (claim()) {
+                future.completeExceptionally(new RejectedExecutionException("Invoker is closed"));
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.event.CombatEventType;
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.CombatContext;
+
+import java.nio.ByteBuffer;
+import java.util.List;
 
 /**
  * Command to execute and undo an attack between characters.
@@ -10,19 +15,42 @@ import edu.trincoll.game.model.Character;
  * @see GameCommand
  */
 public class AttackCommand implements GameCommand {
+    private static final DescriptionTemplate DESCRIPTION = DescriptionTemplate.compile("{} attacks {}");
+
     private final Character attacker;
     private final Character target;
+    private final CombatContext context;
     private int damageDealt;
 
     public AttackCommand(Character attacker, Character target) {
+        this(attacker, target, null);
+    }
+
+    /**
+     * @param context random rolls for the attack, or null for deterministic damage
+     */
+    public AttackCommand(Character attacker, Character target, CombatContext context) {
         this.attacker = attacker;
         this.target = target;
+        this.context = context;
+    }
+
+    /**
+     * Recreates an already executed attack, e.g. from a compact history entry.
+     */
+    AttackCommand(Character attacker, Character target, int damageDealt) {
+        this(attacker, target, null);
+        this.damageDealt = damageDealt;
     }
 
     @Override
     public void execute() {
-        // Calculate damage: attacker.attack(target)
-        damageDealt = attacker.attack(target);
+        // Calculate damage, falling back per the attacker's policy if it can't pay for the attack
+        damageDealt = attacker.resolveAttack(target, context);
+
+        if (attacker.getEventBus() != null) {
+            attacker.getEventBus().publish(CombatEventType.ATTACK, attacker, target, damageDealt, this);
+        }
 
         // Apply damage: target.takeDamage(calculatedDamage)
         target.takeDamage(damageDealt);
@@ -34,8 +62,48 @@ public class AttackCommand implements GameCommand {
         target.heal(damageDealt);
     }
 
+    /**
+     * Damage calculated by the last execution, before the target's defense.
+     */
+    public int getDamageDealt() {
+        return damageDealt;
+    }
+
+    public Character getAttacker() {
+        return attacker;
+    }
+
+    public Character getTarget() {
+        return target;
+    }
+
+    /**
+     * @return random rolls for the attack, or null for deterministic damage
+     */
+    public CombatContext getContext() {
+        return context;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        // The attacker may spend mana
+        return List.of(attacker, target);
+    }
+
     @Override
     public String getDescription() {
-        return String.format("%s attacks %s", attacker.getName(), target.getName());
+        StringBuilder out = new StringBuilder(32);
+        appendDescription(out);
+        return out.toString();
+    }
+
+    @Override
+    public void appendDescription(StringBuilder out) {
+        DESCRIPTION.appendTo(out, attacker, target);
+    }
+
+    @Override
+    public void writeDescription(ByteBuffer out) {
+        DESCRIPTION.writeTo(out, attacker, target);
     }
 }
\ No newline at end of file
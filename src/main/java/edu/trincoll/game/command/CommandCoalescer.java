@@ -0,0 +1,172 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shrinks one tick's worth of commands before they reach a
+ * {@link CommandInvoker}.
+ *
+ * <p>Only merging heals leaves the outcome as it would be serially. Dropping
+ * commands for dead characters, repeated attacks and resubmitted commands
+ * does not: those are battle rules the coalescer enforces, and intentionally
+ * change the result compared with executing the batch as submitted.</p>
+ *
+ * <h2>Rules</h2>
+ * <ul>
+ *   <li><b>Heals merge:</b> consecutive non-negative heals on a target,
+ *       with no other command touching that target in between, become one
+ *       {@link HealCommand} for the summed amount (capped at the target's max
+ *       health). Healing is capped anyway, so the result is the same and undo
+ *       still removes exactly the healing done.</li>
+ *   <li><b>Dead characters:</b> heals on dead targets and attacks by or on
+ *       dead characters are dropped, so the dead stay dead and deal no
+ *       damage. Run serially, a heal would revive its target and an attack by
+ *       a dead character would still land. Death is judged when the batch is
+ *       coalesced.</li>
+ *   <li><b>Duplicates:</b> an attacker hits a given target at most once per
+ *       batch, so the target takes one attack's damage where serial execution
+ *       would apply every attack.</li>
+ *   <li><b>Resubmitted commands:</b> a command instance submitted twice runs
+ *       once. Run serially, it would execute twice, so a resubmitted heal
+ *       heals once and a resubmitted attack hits once.</li>
+ * </ul>
+ * <p>Everything else passes through in order. Dropped commands never reach
+ * the history, so there is nothing to undo for them.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CommandCoalescer coalescer = new CommandCoalescer();
+ * coalescer.executeAll(pendingThisTick, invoker);
+ * }</pre>
+ *
+ * <p>Counters accumulate across batches. Not thread-safe.</p>
+ */
+public class CommandCoalescer {
+    private long received;
+    private long emitted;
+    private long mergedHeals;
+    private long droppedDead;
+    private long droppedDuplicates;
+
+    /**
+     * Coalesces a batch in submission order.
+     *
+     * @return the commands to execute, in order
+     */
+    public List<GameCommand> coalesce(List<? extends GameCommand> commands) {
+        List<GameCommand> output = new ArrayList<>(commands.size());
+        // Summed amount per output index, for heals that absorbed later ones
+        int[] healTotals = new int[Math.max(commands.size(), 1)];
+        boolean[] merged = new boolean[healTotals.length];
+        CharacterIntMap openHeals = new CharacterIntMap();
+        Map<Character, Map<Character, Boolean>> attacked = new IdentityHashMap<>();
+        Map<GameCommand, Boolean> seen = new IdentityHashMap<>();
+
+        for (GameCommand command : commands) {
+            received++;
+            if (seen.put(command, Boolean.TRUE) != null) {
+                droppedDuplicates++;
+                continue;
+            }
+
+            // Negative heals can hit the floor at zero health, so they are never summed
+            if (command instanceof HealCommand heal && heal.getAmount() >= 0) {
+                Character target = heal.getTarget();
+                if (target.isDead()) {
+                    droppedDead++;
+                    continue;
+                }
+                int open = openHeals.get(target);
+                if (open != CharacterIntMap.NO_VALUE) {
+                    long total = (long) healTotals[open] + heal.getAmount();
+                    healTotals[open] = (int) Math.min(total, target.getStats().maxHealth());
+                    merged[open] = true;
+                    mergedHeals++;
+                    continue;
+                }
+                openHeals.put(target, output.size());
+                healTotals[output.size()] = heal.getAmount();
+                output.add(heal);
+                continue;
+            }
+
+            if (command instanceof AttackCommand attack) {
+                if (attack.getAttacker().isDead() || attack.getTarget().isDead()) {
+                    droppedDead++;
+                    continue;
+                }
+                Map<Character, Boolean> targets = attacked.computeIfAbsent(attack.getAttacker(),
+                        attacker -> new IdentityHashMap<>());
+                if (targets.put(attack.getTarget(), Boolean.TRUE) != null) {
+                    droppedDuplicates++;
+                    continue;
+                }
+            }
+
+            // Anything else touching a healed target ends its run of heals
+            List<Character> affected = command.getAffectedCharacters();
+            if (affected.isEmpty()) {
+                openHeals.clear();
+            } else {
+                affected.forEach(openHeals::remove);
+            }
+            output.add(command);
+        }
+
+        for (int i = 0; i < output.size(); i++) {
+            if (merged[i]) {
+                HealCommand first = (HealCommand) output.get(i);
+                output.set(i, new HealCommand(first.getTarget(), healTotals[i]));
+            }
+        }
+        emitted += output.size();
+        return output;
+    }
+
+    /**
+     * Coalesces a batch and executes the result through an invoker.
+     *
+     * @return number of commands executed
+     */
+    public int executeAll(List<? extends GameCommand> commands, CommandInvoker invoker) {
+        List<GameCommand> coalesced = coalesce(commands);
+        coalesced.forEach(invoker::executeCommand);
+        return coalesced.size();
+    }
+
+    public long getReceivedCount() {
+        return received;
+    }
+
+    public long getEmittedCount() {
+        return emitted;
+    }
+
+    /**
+     * Heals folded into an earlier heal on the same target.
+     */
+    public long getMergedHealCount() {
+        return mergedHeals;
+    }
+
+    public long getDroppedDeadCount() {
+        return droppedDead;
+    }
+
+    public long getDroppedDuplicateCount() {
+        return droppedDuplicates;
+    }
+
+    /**
+     * Fraction of received commands that were not emitted.
+     */
+    public double getReduction() {
+        return received == 0 ? 0.0 : 1.0 - (double) emitted / received;
+    }
+}
@@ -1,8 +1,17 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.event.CombatEventBus;
+import edu.trincoll.game.event.CombatEventType;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Stack;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
 
 /**
  * Manages execution and undo operations for game commands using the Command pattern.
@@ -14,11 +23,46 @@ import java.util.Stack;
  * <h2>Command Pattern Implementation</h2>
  * <ul>
  *   <li><b>Executes commands</b> without knowing their internal implementation</li>
- *   <li><b>Maintains history</b> using a stack (LIFO order)</li>
- *   <li><b>Supports undo</b> by popping and reversing the last command</li>
+ *   <li><b>Maintains history</b> as an undo tree: the history is the path from the
+ *       root to the current position</li>
+ *   <li><b>Supports undo and redo</b>: undone commands stay in the tree and
+ *       {@link #redoCommand()} re-executes them</li>
  *   <li><b>Decouples</b> action requests from action performers</li>
  * </ul>
  *
+ * <h2>Branches</h2>
+ * <p>Executing a new command after an undo starts a new branch instead of
+ * discarding the undone commands. Each position remembers which branch redo
+ * follows (the one last visited); {@link #selectBranch(int)} switches it in
+ * O(1).</p>
+ *
+ * <h2>Time Travel</h2>
+ * <p>Positions on the current line (the history plus the commands
+ * {@link #redoCommand()} would replay) are numbered from 0, the start of the
+ * retained history. {@link #rewindTo(int)} and {@link #fastForwardTo(int)}
+ * move to any of them without calling {@code execute} or {@code undo}: each
+ * command stores a compact delta of the health and mana it changed on the
+ * characters named by {@link GameCommand#getAffectedCharacters()}, and every
+ * {@code checkpointInterval} commands deep the invoker stores a full snapshot
+ * of those stats. A seek restores at most one snapshot and applies at most
+ * {@code checkpointInterval} deltas, however long the history is. Seeking
+ * assumes character stats only change through commands.</p>
+ *
+ * <p>A command that declares no characters may change anything, so it has no
+ * delta. A seek across one falls back to undoing or redoing each command
+ * between the two positions, one at a time.</p>
+ *
+ * <h2>Memory</h2>
+ * <p>At most {@code maxRetainedCommands} commands are kept. Past that, the
+ * least recently visited branches off the current line are evicted first,
+ * then the oldest history.</p>
+ *
+ * <h2>Reading History</h2>
+ * <p>{@link #historyView()}, {@link #history(int, int)} and
+ * {@link #historyStream()} read the history without copying it, so polling a
+ * page of a long match costs O(page size). {@link #getCommandHistory()}
+ * copies everything.</p>
+ *
  * <h2>Usage Example</h2>
  * <pre>{@code
  * CommandInvoker invoker = new CommandInvoker();
@@ -29,6 +73,11 @@ import java.util.Stack;
  *
  * // Undo last action
  * invoker.undoLastCommand(); // Heal is reversed
+ * invoker.redoCommand();     // Heal is applied again
+ *
+ * // Match review
+ * invoker.rewindTo(0);
+ * invoker.fastForwardTo(invoker.getTimelineLength());
  * }</pre>
  *
  * @author Chris Burns
@@ -37,31 +86,94 @@ import java.util.Stack;
  * @see GameCommand
  */
 public class CommandInvoker {
-    private final Stack<GameCommand> commandHistory = new Stack<>();
+    /** Commands between state checkpoints unless configured otherwise. */
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 1_000;
+
+    /** Retain every command. */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final CombatEventBus eventBus;
+    private final int checkpointInterval;
+    private final int maxRetainedCommands;
+    private final StateJournal journal = new StateJournal();
+
+    private Node root;
+    private Node current;
+    private int retainedCommands;
+    private long clock;
+
+    // Nodes of the current line by position; entries from lineLength on are not yet known
+    private Node[] line = new Node[16];
+    private int lineLength;
+
+    private final List<GameCommand> historyView = new HistoryView();
+
+    public CommandInvoker() {
+        this(null);
+    }
+
+    /**
+     * @param eventBus bus receiving {@link CombatEventType#UNDO} events, or null
+     */
+    public CommandInvoker(CombatEventBus eventBus) {
+        this(eventBus, DEFAULT_CHECKPOINT_INTERVAL, UNBOUNDED);
+    }
+
+    /**
+     * @param eventBus            bus receiving {@link CombatEventType#UNDO} events, or null
+     * @param checkpointInterval  commands between state snapshots
+     * @param maxRetainedCommands commands kept across all branches before eviction
+     * @throws IllegalArgumentException if either limit is not positive
+     */
+    public CommandInvoker(CombatEventBus eventBus, int checkpointInterval, int maxRetainedCommands) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        if (maxRetainedCommands <= 0) {
+            throw new IllegalArgumentException("Retained command limit must be positive");
+        }
+        this.eventBus = eventBus;
+        this.checkpointInterval = checkpointInterval;
+        this.maxRetainedCommands = maxRetainedCommands;
+        resetTree();
+    }
 
     /**
      * Executes a command and adds it to history for potential undo.
      *
      * <p>If command execution throws an exception, the command will NOT be
-     * added to history, preventing undo of failed actions.</p>
+     * added to history, preventing undo of failed actions. If commands had
+     * been undone, the new command starts a new branch beside them.</p>
      *
      * @param command the command to execute (must not be null)
      * @throws NullPointerException if command is null
      * @see GameCommand#execute()
      */
     public void executeCommand(GameCommand command) {
+        // Remember the stats the command may change
+        journal.begin(command);
+
         // Execute the command
         command.execute();
 
-        // Add the command to history
-        commandHistory.push(command);
+        // Add the command to history as a new child of the current position
+        Node node = new Node(command, current);
+        node.delta = journal.finish();
+        node.untracked = current.untracked + (node.delta == null ? 1 : 0);
+        current.addChild(node);
+        retainedCommands++;
+        enter(node);
+
+        if (retainedCommands > maxRetainedCommands) {
+            evict();
+        }
     }
 
     /**
-     * Undoes the most recently executed command and removes it from history.
+     * Undoes the most recently executed command. It stays available to
+     * {@link #redoCommand()} until a new command is executed.
      *
-     * <p>Safely handles empty history by returning without error. Command is
-     * removed from history whether undo succeeds or fails.</p>
+     * <p>Safely handles empty history by returning without error.</p>
      *
      * <p><b>Example:</b> If history contains [Attack, Heal], this undoes Heal
      * and leaves [Attack] in history for next undo.</p>
@@ -70,35 +182,384 @@ public class CommandInvoker {
      */
     public void undoLastCommand() {
         // Check if history is empty - if so, return
-        if (commandHistory.isEmpty()) {
+        if (current == root) {
             return;
         }
 
-        // Pop the last command from history
-        GameCommand command = commandHistory.pop();
+        // Step back to the parent, which remembers this command for redo
+        GameCommand command = current.command;
+        current = current.parent;
 
         // Call undo() on that command
         command.undo();
+        publishUndo(command);
+    }
+
+    /**
+     * Undoes up to {@code count} commands, one {@link #undoLastCommand()} at
+     * a time, so each command's own {@code undo} runs. Use
+     * {@link #rewindTo(int)} to review an earlier state without undoing.
+     *
+     * @return number of commands undone
+     * @throws IllegalArgumentException if count is negative
+     */
+    public int undoCommands(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        int steps = Math.min(count, getCurrentIndex());
+        for (int i = 0; i < steps; i++) {
+            undoLastCommand();
+        }
+        return steps;
+    }
+
+    /**
+     * Re-executes the next command on the selected branch.
+     *
+     * @return false if there was nothing to redo
+     */
+    public boolean redoCommand() {
+        Node next = current.redoChild;
+        if (next == null) {
+            return false;
+        }
+        journal.begin(next.command);
+        next.command.execute();
+        next.delta = journal.finish();
+        enter(next);
+        return true;
+    }
+
+    /**
+     * Check if there are commands to redo.
+     */
+    public boolean hasCommandsToRedo() {
+        return current.redoChild != null;
+    }
+
+    /**
+     * Number of branches {@link #redoCommand()} can choose from at the
+     * current position.
+     */
+    public int getBranchCount() {
+        return current.children == null ? 0 : current.children.size();
+    }
+
+    /**
+     * Chooses the branch {@link #redoCommand()} follows from the current
+     * position, in the order branches were created.
+     *
+     * @throws IndexOutOfBoundsException if there is no such branch
+     */
+    public void selectBranch(int branch) {
+        if (branch < 0 || branch >= getBranchCount()) {
+            throw new IndexOutOfBoundsException("No branch " + branch + " at this position");
+        }
+        current.redoChild = current.children.get(branch);
+        lineLength = getCurrentIndex() + 1;
+    }
+
+    /**
+     * Position of the current state on the line: the number of retained
+     * commands in the history.
+     */
+    public int getCurrentIndex() {
+        return current.depth - root.depth;
+    }
+
+    /**
+     * Last position on the current line, i.e. the current index plus the
+     * number of commands redo would replay. Walks the redo line the first
+     * time it is needed after a branch change.
+     */
+    public int getTimelineLength() {
+        extendLine(Integer.MAX_VALUE);
+        return lineLength - 1;
+    }
+
+    /**
+     * Moves back to an earlier position on the current line, restoring the
+     * character stats recorded there. Commands are neither undone nor
+     * executed and stay redoable, unless a command in between declared no
+     * characters; then each command is undone in turn.
+     *
+     * @throws IndexOutOfBoundsException if index is negative or after the current position
+     */
+    public void rewindTo(int index) {
+        if (index < 0 || index > getCurrentIndex()) {
+            throw new IndexOutOfBoundsException("Cannot rewind to " + index);
+        }
+        seek(index);
+    }
+
+    /**
+     * Moves forward along the redo line, restoring the character stats
+     * recorded there without re-executing commands, unless a command in
+     * between declared no characters; then each command is redone in turn.
+     *
+     * @throws IndexOutOfBoundsException if index is before the current
+     *                                   position or past the timeline
+     */
+    public void fastForwardTo(int index) {
+        if (index < getCurrentIndex() || !extendLine(index)) {
+            throw new IndexOutOfBoundsException("Cannot fast-forward to " + index);
+        }
+        seek(index);
     }
 
     /**
-     * Get the command history (for testing and logging).
+     * Get the command history (for testing and logging): the commands from
+     * the oldest retained one up to the current position. Copies the whole
+     * history; prefer {@link #historyView()} or {@link #history(int, int)}
+     * when polling.
      */
     public List<GameCommand> getCommandHistory() {
-        return new ArrayList<>(commandHistory);
+        return new ArrayList<>(historyView);
+    }
+
+    /**
+     * Read-only live view of the history: it reflects later executes, undos,
+     * seeks and evictions without being fetched again. Size and element
+     * access are O(1) and nothing is copied. Do not iterate it while
+     * commands are being executed.
+     */
+    public List<GameCommand> historyView() {
+        return historyView;
+    }
+
+    /**
+     * One page of the history, from index {@code from} (inclusive) to
+     * {@code to} (exclusive), copied in O(to - from).
+     *
+     * @throws IndexOutOfBoundsException if the range is not within the history
+     */
+    public List<GameCommand> history(int from, int to) {
+        return List.copyOf(historyView.subList(from, to));
+    }
+
+    /**
+     * Streams the history, oldest first, without copying it.
+     */
+    public Stream<GameCommand> historyStream() {
+        return historyView.stream();
     }
 
     /**
-     * Clear all command history.
+     * Commands kept across all branches, including undone ones.
+     */
+    public int getRetainedCommandCount() {
+        return retainedCommands;
+    }
+
+    /**
+     * Clear all command history, including branches and checkpoints.
      */
     public void clearHistory() {
-        commandHistory.clear();
+        resetTree();
+        journal.clear();
     }
 
     /**
      * Check if there are commands to undo.
      */
     public boolean hasCommandsToUndo() {
-        return !commandHistory.isEmpty();
+        return current != root;
+    }
+
+    private void resetTree() {
+        root = new Node(null, null);
+        root.checkpoint = new int[0];
+        current = root;
+        retainedCommands = 0;
+        Arrays.fill(line, 0, lineLength, null);
+        line[0] = root;
+        lineLength = 1;
+    }
+
+    private void publishUndo(GameCommand command) {
+        if (eventBus != null) {
+            eventBus.publish(CombatEventType.UNDO, null, null, 0, command);
+        }
+    }
+
+    // Moves the current position down to a child
+    private void enter(Node node) {
+        Node parent = node.parent;
+        int index = node.depth - root.depth;
+        if (parent.redoChild != node || index >= lineLength || line[index] != node) {
+            // Left the known line: everything past this node is unknown
+            parent.redoChild = node;
+            if (index == line.length) {
+                line = Arrays.copyOf(line, index * 2);
+            }
+            line[index] = node;
+            lineLength = index + 1;
+        }
+        node.lastVisited = ++clock;
+        current = node;
+        if (node.depth % checkpointInterval == 0) {
+            node.checkpoint = journal.snapshot();
+        }
+    }
+
+    // Follows redo pointers until the line reaches index; false if it ends first
+    private boolean extendLine(int index) {
+        while (lineLength <= index) {
+            Node next = line[lineLength - 1].redoChild;
+            if (next == null) {
+                return false;
+            }
+            if (lineLength == line.length) {
+                line = Arrays.copyOf(line, lineLength * 2);
+            }
+            line[lineLength++] = next;
+        }
+        return true;
+    }
+
+    // Jumps to a known position on the line, via deltas or the nearest snapshot
+    private void seek(int index) {
+        int from = getCurrentIndex();
+        if (line[Math.max(from, index)].untracked != line[Math.min(from, index)].untracked) {
+            // Some command in between has no delta, so only its own undo or execute can cross it
+            for (int i = from; i > index; i--) {
+                undoLastCommand();
+            }
+            for (int i = from; i < index; i++) {
+                redoCommand();
+            }
+            return;
+        }
+        int snapshotIndex = index - (line[index].depth % checkpointInterval);
+        int direct = Math.abs(index - from);
+        if (snapshotIndex >= 0 && line[snapshotIndex].checkpoint != null && index - snapshotIndex < direct
+                && line[snapshotIndex].untracked == line[index].untracked) {
+            journal.restore(line[snapshotIndex].checkpoint);
+            from = snapshotIndex;
+        }
+        for (int i = from; i > index; i--) {
+            journal.apply(line[i].delta, -1);
+        }
+        for (int i = from + 1; i <= index; i++) {
+            journal.apply(line[i].delta, 1);
+            line[i].lastVisited = ++clock;
+        }
+        current = line[index];
+    }
+
+    /**
+     * Evicts down to three quarters of the limit: first whole branches off the
+     * current line (root to current, then along the redo line), least recently
+     * visited first, then the oldest history.
+     */
+    private void evict() {
+        int goal = maxRetainedCommands - maxRetainedCommands / 4;
+        extendLine(Integer.MAX_VALUE);
+
+        List<Node> branches = new ArrayList<>();
+        for (int index = 0; index < lineLength; index++) {
+            Node node = line[index];
+            if (node.children != null) {
+                for (Node child : node.children) {
+                    if (child != node.redoChild) {
+                        measure(child);
+                        branches.add(child);
+                    }
+                }
+            }
+        }
+        branches.sort(Comparator.comparingLong(node -> node.lastVisited));
+        for (Node branch : branches) {
+            if (retainedCommands <= goal) {
+                return;
+            }
+            branch.parent.children.remove(branch);
+            retainedCommands -= branch.subtreeSize;
+        }
+
+        // Only the current line is left: drop the far end of the redo line, then the oldest history
+        int currentIndex = getCurrentIndex();
+        while (retainedCommands > goal && lineLength - 1 > currentIndex) {
+            Node tail = line[--lineLength];
+            line[lineLength] = null;
+            tail.parent.children.remove(tail);
+            tail.parent.redoChild = null;
+            retainedCommands--;
+        }
+        int dropped = Math.min(retainedCommands - goal, currentIndex);
+        if (dropped > 0) {
+            root = line[dropped];
+            root.parent = null;
+            retainedCommands -= dropped;
+            System.arraycopy(line, dropped, line, 0, lineLength - dropped);
+            Arrays.fill(line, lineLength - dropped, lineLength, null);
+            lineLength -= dropped;
+        }
+    }
+
+    // Records the subtree size and most recent visit on a branch root
+    private static void measure(Node branch) {
+        int size = 0;
+        long lastVisited = 0;
+        ArrayDeque<Node> pending = new ArrayDeque<>();
+        pending.push(branch);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            size++;
+            lastVisited = Math.max(lastVisited, node.lastVisited);
+            if (node.children != null) {
+                node.children.forEach(pending::push);
+            }
+        }
+        branch.subtreeSize = size;
+        branch.lastVisited = lastVisited;
+    }
+
+    /**
+     * The current history read straight from the line array.
+     */
+    private final class HistoryView extends AbstractList<GameCommand> implements RandomAccess {
+        @Override
+        public GameCommand get(int index) {
+            Objects.checkIndex(index, size());
+            return line[index + 1].command;
+        }
+
+        @Override
+        public int size() {
+            return getCurrentIndex();
+        }
+    }
+
+    /**
+     * One executed command in the undo tree.
+     */
+    private static final class Node {
+        final GameCommand command;
+        final int depth;
+        Node parent;
+        List<Node> children;
+        Node redoChild;
+        long lastVisited;
+        int subtreeSize;
+        // Null for a command that declared no characters
+        int[] delta;
+        int[] checkpoint;
+        // Commands without a delta on the path from the original root to here
+        int untracked;
+
+        Node(GameCommand command, Node parent) {
+            this.command = command;
+            this.parent = parent;
+            this.depth = parent == null ? 0 : parent.depth + 1;
+        }
+
+        void addChild(Node child) {
+            if (children == null) {
+                children = new ArrayList<>(1);
+            }
+            children.add(child);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.event.CombatEventBus;
+import edu.trincoll.game.event.CombatEventType;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A linear-history invoker for long matches that stores each executed
+ * command as one packed {@code long} instead of an object.
+ *
+ * <p>Plain {@link AttackCommand}s (without a combat context) and
+ * {@link HealCommand}s are encoded after they execute, and the command
+ * object is dropped:</p>
+ * <pre>
+ *   attack: [opcode:3][attacker:20][target:20][damage dealt:21]
+ *   heal:   [opcode:3][target:20][amount:21][healing done:20]
+ * </pre>
+ * <p>Character ids index a table of every character seen; damage, amount and
+ * healing are signed. Anything that does not fit (other command types, an
+ * attack with random rolls, values out of range, more than 2<sup>20</sup>
+ * characters) is kept as an object and referenced from its entry. At 8 bytes
+ * per entry, history takes a small fraction of the memory of command objects
+ * in a stack.</p>
+ *
+ * <p>{@link #undoLastCommand()} decodes the entry and reverses it directly,
+ * exactly as the command's own {@code undo} would. Command objects are
+ * rebuilt only for {@link #getCommandHistory()} and, when an event bus is
+ * attached, for undo events.</p>
+ *
+ * <p>Unlike {@link CommandInvoker} there is no redo, branching or time
+ * travel. Not thread-safe.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CompactCommandInvoker invoker = new CompactCommandInvoker();
+ * invoker.executeCommand(new AttackCommand(warrior, goblin));
+ * invoker.undoLastCommand();
+ * }</pre>
+ */
+public class CompactCommandInvoker {
+    private static final int OP_SHIFT = 61;
+    private static final long OP_ATTACK = 1;
+    private static final long OP_HEAL = 2;
+    private static final long OP_OBJECT = 3;
+
+    private static final int ID_BITS = 20;
+    private static final int MAX_IDS = 1 << ID_BITS;
+    private static final long ID_MASK = MAX_IDS - 1;
+
+    private final CombatEventBus eventBus;
+    private final CharacterIntMap ids = new CharacterIntMap();
+    private final List<Character> characters = new ArrayList<>();
+    private final List<GameCommand> objects = new ArrayList<>();
+    private long[] entries = new long[64];
+    private int size;
+
+    public CompactCommandInvoker() {
+        this(null);
+    }
+
+    /**
+     * @param eventBus bus receiving {@link CombatEventType#UNDO} events, or null
+     */
+    public CompactCommandInvoker(CombatEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Executes a command and records it. A command that throws is not recorded.
+     */
+    public void executeCommand(GameCommand command) {
+        command.execute();
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        entries[size++] = encode(command);
+    }
+
+    /**
+     * Undoes the most recently executed command. Does nothing when the
+     * history is empty.
+     */
+    public void undoLastCommand() {
+        if (size == 0) {
+            return;
+        }
+        long entry = entries[--size];
+        GameCommand command = null;
+        switch ((int) (entry >>> OP_SHIFT)) {
+            case (int) OP_ATTACK -> {
+                Character target = character(entry, 21);
+                target.heal(signed(entry, 0, 21));
+            }
+            case (int) OP_HEAL -> {
+                Character target = character(entry, 41);
+                target.setHealth(target.getStats().health() - signed(entry, 0, 20));
+            }
+            default -> {
+                command = objects.remove(objects.size() - 1);
+                command.undo();
+            }
+        }
+        if (eventBus != null) {
+            eventBus.publish(CombatEventType.UNDO, null, null, 0, command != null ? command : decode(entry));
+        }
+    }
+
+    /**
+     * Rebuilds the command objects of the whole history, oldest first.
+     */
+    public List<GameCommand> getCommandHistory() {
+        List<GameCommand> history = new ArrayList<>(size);
+        int objectIndex = 0;
+        for (int i = 0; i < size; i++) {
+            long entry = entries[i];
+            history.add(entry >>> OP_SHIFT == OP_OBJECT ? objects.get(objectIndex++) : decode(entry));
+        }
+        return history;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Entries kept as objects because they could not be packed.
+     */
+    public int getUnpackedCount() {
+        return objects.size();
+    }
+
+    public boolean hasCommandsToUndo() {
+        return size > 0;
+    }
+
+    /**
+     * Clears the history and the character table.
+     */
+    public void clearHistory() {
+        size = 0;
+        objects.clear();
+        ids.clear();
+        characters.clear();
+    }
+
+    private long encode(GameCommand command) {
+        if (command.getClass() == AttackCommand.class) {
+            AttackCommand attack = (AttackCommand) command;
+            int attacker = idOf(attack.getAttacker());
+            int target = idOf(attack.getTarget());
+            if (attack.getContext() == null && attacker >= 0 && target >= 0 && fits(attack.getDamageDealt(), 21)) {
+                return OP_ATTACK << OP_SHIFT | (long) attacker << 41 | (long) target << 21
+                        | field(attack.getDamageDealt(), 21);
+            }
+        } else if (command.getClass() == HealCommand.class) {
+            HealCommand heal = (HealCommand) command;
+            int target = idOf(heal.getTarget());
+            if (target >= 0 && fits(heal.getAmount(), 21) && fits(heal.getActualHealingDone(), 20)) {
+                return OP_HEAL << OP_SHIFT | (long) target << 41 | field(heal.getAmount(), 21) << 20
+                        | field(heal.getActualHealingDone(), 20);
+            }
+        }
+        objects.add(command);
+        return OP_OBJECT << OP_SHIFT;
+    }
+
+    private GameCommand decode(long entry) {
+        if (entry >>> OP_SHIFT == OP_ATTACK) {
+            return new AttackCommand(character(entry, 41), character(entry, 21), signed(entry, 0, 21));
+        }
+        return new HealCommand(character(entry, 41), signed(entry, 20, 21), signed(entry, 0, 20));
+    }
+
+    // Id of a character, registering it if new; -1 once the id space is full
+    private int idOf(Character character) {
+        int id = ids.get(character);
+        if (id != CharacterIntMap.NO_VALUE) {
+            return id;
+        }
+        if (characters.size() == MAX_IDS) {
+            return -1;
+        }
+        ids.put(character, characters.size());
+        characters.add(character);
+        return characters.size() - 1;
+    }
+
+    private Character character(long entry, int shift) {
+        return characters.get((int) ((entry >>> shift) & ID_MASK));
+    }
+
+    private static boolean fits(int value, int bits) {
+        return value >= -(1 << (bits - 1)) && value < (1 << (bits - 1));
+    }
+
+    private static long field(int value, int bits) {
+        return value & ((1L << bits) - 1);
+    }
+
+    // Sign-extends a field of the given width
+    private static int signed(long entry, int shift, int bits) {
+        return (int) (entry << (64 - shift - bits) >> (64 - bits));
+    }
+}
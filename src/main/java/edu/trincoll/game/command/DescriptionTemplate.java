@@ -0,0 +1,74 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.DecimalWriter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A description pattern parsed once into literal segments, so commands can
+ * describe themselves without {@code String.format}.
+ *
+ * <p>Each {@code {}} in the pattern is an argument slot. Literals are kept
+ * both as strings, for {@link StringBuilder} output, and as pre-encoded UTF-8
+ * bytes, for {@link ByteBuffer} output. Filling a template allocates nothing.</p>
+ */
+final class DescriptionTemplate {
+    private static final String SLOT = "{}";
+
+    private final String[] literals;
+    private final byte[][] encoded;
+
+    private DescriptionTemplate(String[] literals) {
+        this.literals = literals;
+        this.encoded = new byte[literals.length][];
+        for (int i = 0; i < literals.length; i++) {
+            encoded[i] = literals[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException if the pattern does not have exactly two slots
+     */
+    static DescriptionTemplate compile(String pattern) {
+        int first = pattern.indexOf(SLOT);
+        int second = first < 0 ? -1 : pattern.indexOf(SLOT, first + SLOT.length());
+        if (second < 0 || pattern.indexOf(SLOT, second + SLOT.length()) >= 0) {
+            throw new IllegalArgumentException("Pattern must have exactly two slots: " + pattern);
+        }
+        return new DescriptionTemplate(new String[] {
+                pattern.substring(0, first),
+                pattern.substring(first + SLOT.length(), second),
+                pattern.substring(second + SLOT.length())
+        });
+    }
+
+    void appendTo(StringBuilder out, Character first, Character second) {
+        out.append(literals[0]).append(first.getName())
+                .append(literals[1]).append(second.getName())
+                .append(literals[2]);
+    }
+
+    void appendTo(StringBuilder out, Character first, int second) {
+        out.append(literals[0]).append(first.getName())
+                .append(literals[1]).append(second)
+                .append(literals[2]);
+    }
+
+    void writeTo(ByteBuffer out, Character first, Character second) {
+        out.put(encoded[0]);
+        first.writeName(out);
+        out.put(encoded[1]);
+        second.writeName(out);
+        out.put(encoded[2]);
+    }
+
+    void writeTo(ByteBuffer out, Character first, int second) {
+        out.put(encoded[0]);
+        first.writeName(out);
+        out.put(encoded[1]);
+        DecimalWriter.write(out, second);
+        out.put(encoded[2]);
+    }
+}
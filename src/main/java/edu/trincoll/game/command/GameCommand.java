@@ -1,5 +1,11 @@
 package edu.trincoll.game.command;
 
+import edu.trincoll.game.model.Character;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * Command pattern interface for game actions.
  * Commands encapsulate actions that can be executed and undone.
@@ -20,7 +26,39 @@ public interface GameCommand {
     void undo();
 
     /**
-     * Get a description of this command for logging.
+     * Get a description of this command for logging. Formatted on each call,
+     * never up front, so long histories only pay for the entries a log or UI
+     * actually renders.
      */
     String getDescription();
+
+    /**
+     * Appends the description to {@code out}, for loggers that reuse a
+     * buffer. Defaults to appending {@link #getDescription()}.
+     */
+    default void appendDescription(StringBuilder out) {
+        out.append(getDescription());
+    }
+
+    /**
+     * Writes the description as UTF-8 at the buffer's position. Defaults to
+     * encoding {@link #getDescription()}.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    default void writeDescription(ByteBuffer out) {
+        out.put(getDescription().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Characters whose stats executing this command may change. Known before
+     * execution and fixed when the command is created: callers read it ahead
+     * of time, possibly before earlier commands in the same batch have run,
+     * so it must not depend on game state. {@link CommandInvoker} uses it to
+     * build state checkpoints and {@link ParallelBatchCommand} to schedule
+     * commands. Defaults to none, meaning the command may change anything.
+     */
+    default List<Character> getAffectedCharacters() {
+        return List.of();
+    }
 }
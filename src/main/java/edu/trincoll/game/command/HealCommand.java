@@ -2,6 +2,9 @@ package edu.trincoll.game.command;
 
 import edu.trincoll.game.model.Character;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+
 /**
  * Command to execute and undo healing on a character.
  * Tracks actual healing done (capped at max HP) for proper undo.
@@ -10,6 +13,8 @@ import edu.trincoll.game.model.Character;
  * @see GameCommand
  */
 public class HealCommand implements GameCommand {
+    private static final DescriptionTemplate DESCRIPTION = DescriptionTemplate.compile("Heal {} for {} HP");
+
     private final Character target;
     private final int amount;
     private int actualHealingDone;
@@ -19,6 +24,14 @@ public class HealCommand implements GameCommand {
         this.amount = amount;
     }
 
+    /**
+     * Recreates an already executed heal, e.g. from a compact history entry.
+     */
+    HealCommand(Character target, int amount, int actualHealingDone) {
+        this(target, amount);
+        this.actualHealingDone = actualHealingDone;
+    }
+
     @Override
     public void execute() {
         // Store the target's current health before healing
@@ -45,8 +58,40 @@ public class HealCommand implements GameCommand {
         target.setHealth(healthBeforeHeal);
     }
 
+    public Character getTarget() {
+        return target;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Health actually restored by the last execution.
+     */
+    public int getActualHealingDone() {
+        return actualHealingDone;
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        return List.of(target);
+    }
+
     @Override
     public String getDescription() {
-        return String.format("Heal %s for %d HP", target.getName(), amount);
+        StringBuilder out = new StringBuilder(32);
+        appendDescription(out);
+        return out.toString();
+    }
+
+    @Override
+    public void appendDescription(StringBuilder out) {
+        DESCRIPTION.appendTo(out, target, amount);
+    }
+
+    @Override
+    public void writeDescription(ByteBuffer out) {
+        DESCRIPTION.writeTo(out, target, amount);
     }
 }
\ No newline at end of file
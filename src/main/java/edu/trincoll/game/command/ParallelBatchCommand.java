@@ -0,0 +1,259 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Executes a batch of commands on several threads with the same final state
+ * as executing them one by one in submission order.
+ *
+ * <h2>Conflict Detection</h2>
+ * <p>Each command's {@link GameCommand#getAffectedCharacters()} is its read and
+ * write set. Two commands conflict when they share a character. The batch is
+ * split into rounds: a command goes in the round after the last earlier
+ * command it conflicts with, so commands in one round touch disjoint
+ * characters and run in parallel, while conflicting commands keep their
+ * submission order. Commands that declare no characters could touch anything
+ * and run alone, after everything before them and before everything after.</p>
+ *
+ * <p>When most commands touch disjoint attacker/target pairs, nearly the whole
+ * batch lands in the first few rounds and runs on every thread of the pool.
+ * A chain of conflicting commands degrades gracefully to serial execution.
+ * The {@code benchmark}-tagged test in {@code ParallelBatchCommandTest}
+ * measures throughput against pool size.</p>
+ *
+ * <h2>Requirements</h2>
+ * <ul>
+ *   <li>Declared characters must cover everything a command reads or writes.</li>
+ *   <li>Declared characters must not depend on game state. The whole batch
+ *       is planned before any command runs and the plan is not checked
+ *       afterwards, so a footprint that grows as earlier commands execute
+ *       silently breaks serial equivalence.</li>
+ *   <li>Anything else a command touches, such as health listeners on its
+ *       characters, must tolerate concurrent calls.</li>
+ * </ul>
+ *
+ * <h2>Failures and Undo</h2>
+ * <p>A command that throws is recorded in {@link #getFailedCommands()} and
+ * the rest of the batch continues, as if each had been executed separately.
+ * Undo reverses the successful commands round by round in reverse order.
+ * As a {@link GameCommand} itself, a batch can go through
+ * {@link CommandInvoker#executeCommand(GameCommand)} to be undone as one step.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * List<GameCommand> tick = new ArrayList<>();
+ * for (Duel duel : duels) {
+ *     tick.add(new AttackCommand(duel.attacker(), duel.defender()));
+ * }
+ * invoker.executeCommand(new ParallelBatchCommand(tick));
+ * }</pre>
+ */
+public class ParallelBatchCommand implements GameCommand {
+    /** Rounds smaller than this run on the calling thread. */
+    public static final int DEFAULT_MIN_PARALLEL_ROUND = 64;
+
+    private final GameCommand[] commands;
+    private final ForkJoinPool pool;
+    private final int minParallelRound;
+
+    // Commands grouped by round, in submission order within each round
+    private GameCommand[] ordered;
+    private int[] roundStarts;
+    private RuntimeException[] failures;
+
+    public ParallelBatchCommand(List<? extends GameCommand> commands) {
+        this(commands, ForkJoinPool.commonPool(), DEFAULT_MIN_PARALLEL_ROUND);
+    }
+
+    /**
+     * @param commands         commands in submission order
+     * @param pool             pool that runs parallel rounds
+     * @param minParallelRound smallest round split across threads; also the
+     *                         smallest chunk handed to one task
+     * @throws IllegalArgumentException if minParallelRound is not positive
+     */
+    public ParallelBatchCommand(List<? extends GameCommand> commands, ForkJoinPool pool, int minParallelRound) {
+        Objects.requireNonNull(commands, "Commands cannot be null");
+        this.commands = commands.toArray(GameCommand[]::new);
+        for (GameCommand command : this.commands) {
+            Objects.requireNonNull(command, "Command cannot be null");
+        }
+        this.pool = Objects.requireNonNull(pool, "Pool cannot be null");
+        if (minParallelRound <= 0) {
+            throw new IllegalArgumentException("Minimum parallel round must be positive");
+        }
+        this.minParallelRound = minParallelRound;
+    }
+
+    /**
+     * Plans rounds from the commands' current character sets and runs them.
+     */
+    @Override
+    public void execute() {
+        plan();
+        failures = new RuntimeException[ordered.length];
+        for (int round = 0; round + 1 < roundStarts.length; round++) {
+            runRound(roundStarts[round], roundStarts[round + 1], false);
+        }
+    }
+
+    @Override
+    public void undo() {
+        if (ordered == null) {
+            return;
+        }
+        for (int round = roundStarts.length - 2; round >= 0; round--) {
+            runRound(roundStarts[round], roundStarts[round + 1], true);
+        }
+    }
+
+    @Override
+    public List<Character> getAffectedCharacters() {
+        Map<Character, Boolean> union = new IdentityHashMap<>();
+        for (GameCommand command : commands) {
+            for (Character character : command.getAffectedCharacters()) {
+                union.put(character, Boolean.TRUE);
+            }
+        }
+        return new ArrayList<>(union.keySet());
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Parallel batch of %d commands", commands.length);
+    }
+
+    public List<GameCommand> getCommands() {
+        return List.of(commands);
+    }
+
+    /**
+     * Rounds used by the last execution; 0 before the first.
+     */
+    public int getRoundCount() {
+        return roundStarts == null ? 0 : roundStarts.length - 1;
+    }
+
+    /**
+     * Commands that threw during the last execution, in round order.
+     */
+    public List<GameCommand> getFailedCommands() {
+        List<GameCommand> failed = new ArrayList<>();
+        if (failures != null) {
+            for (int i = 0; i < failures.length; i++) {
+                if (failures[i] != null) {
+                    failed.add(ordered[i]);
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Assigns each command the round after its latest conflicting predecessor,
+     * then counting-sorts commands by round.
+     */
+    private void plan() {
+        int[] rounds = new int[commands.length];
+        CharacterIntMap lastRound = new CharacterIntMap(commands.length);
+        int highest = -1;
+        // Round of the last command without declared characters; nothing may move before it
+        int barrier = -1;
+        for (int i = 0; i < commands.length; i++) {
+            List<Character> characters = commands[i].getAffectedCharacters();
+            int round;
+            if (characters.isEmpty()) {
+                round = highest + 1;
+                barrier = round;
+            } else {
+                round = barrier + 1;
+                for (Character character : characters) {
+                    int previous = lastRound.get(character);
+                    if (previous >= round) {
+                        round = previous + 1;
+                    }
+                }
+                for (Character character : characters) {
+                    lastRound.put(character, round);
+                }
+            }
+            rounds[i] = round;
+            highest = Math.max(highest, round);
+        }
+
+        roundStarts = new int[highest + 2];
+        for (int round : rounds) {
+            roundStarts[round + 1]++;
+        }
+        for (int round = 0; round <= highest; round++) {
+            roundStarts[round + 1] += roundStarts[round];
+        }
+        int[] next = Arrays.copyOf(roundStarts, highest + 1);
+        ordered = new GameCommand[commands.length];
+        for (int i = 0; i < commands.length; i++) {
+            ordered[next[rounds[i]]++] = commands[i];
+        }
+    }
+
+    private void runRound(int from, int to, boolean undo) {
+        if (to - from < minParallelRound) {
+            for (int i = from; i < to; i++) {
+                run(i, undo);
+            }
+        } else {
+            pool.invoke(new RoundTask(from, to, undo));
+        }
+    }
+
+    private void run(int index, boolean undo) {
+        if (undo) {
+            if (failures[index] == null) {
+                ordered[index].undo();
+            }
+            return;
+        }
+        try {
+            ordered[index].execute();
+        } catch (RuntimeException e) {
+            failures[index] = e;
+        }
+    }
+
+    /**
+     * Splits one round's index range until chunks reach the minimum size.
+     */
+    @SuppressWarnings("serial") // Never serialized; ForkJoinTask is Serializable by inheritance
+    private final class RoundTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final boolean undo;
+
+        RoundTask(int from, int to, boolean undo) {
+            this.from = from;
+            this.to = to;
+            this.undo = undo;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= minParallelRound) {
+                for (int i = from; i < to; i++) {
+                    run(i, undo);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RoundTask(from, middle, undo), new RoundTask(middle, to, undo));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Health and mana bookkeeping behind {@link CommandInvoker} time travel:
+ * full snapshots of every character commands have affected, and compact
+ * per-command deltas.
+ *
+ * <p>Characters get a slot the first time a command names them, and their
+ * stats at that moment are kept as their initial state. A snapshot is an
+ * {@code int[]} of health and mana interleaved by slot; a delta is a list of
+ * {@code (slot, health change, mana change)} triples for the characters a
+ * command actually changed.</p>
+ */
+class StateJournal {
+    private static final int[] NO_CHANGES = new int[0];
+
+    private final CharacterIntMap slots = new CharacterIntMap();
+    private Character[] characters = new Character[16];
+    private int[] initialState = new int[32];
+    private int[] lastSeen = new int[16];
+    private int count;
+    private int epoch;
+
+    // Stats of the affected characters captured before the command runs
+    private int[] before = new int[16];
+    private List<Character> pending = List.of();
+
+    /**
+     * Registers the command's characters and remembers their stats, ready for
+     * {@link #finish()} once it has executed.
+     */
+    void begin(GameCommand command) {
+        pending = command.getAffectedCharacters();
+        if (before.length < 2 * pending.size()) {
+            before = new int[4 * pending.size()];
+        }
+        for (int i = 0; i < pending.size(); i++) {
+            Character character = pending.get(i);
+            register(character);
+            before[2 * i] = character.getStats().health();
+            before[2 * i + 1] = character.getStats().mana();
+        }
+    }
+
+    /**
+     * @return the delta of the command since {@link #begin(GameCommand)}, or
+     *         null if it declared no characters, so its changes are unknown
+     */
+    int[] finish() {
+        if (pending.isEmpty()) {
+            return null;
+        }
+        int changed = 0;
+        int[] delta = new int[3 * pending.size()];
+        epoch++;
+        for (int i = 0; i < pending.size(); i++) {
+            Character character = pending.get(i);
+            int slot = slots.get(character);
+            if (lastSeen[slot] == epoch) {
+                // Listed twice, e.g. a character attacking itself
+                continue;
+            }
+            lastSeen[slot] = epoch;
+            int health = character.getStats().health() - before[2 * i];
+            int mana = character.getStats().mana() - before[2 * i + 1];
+            if (health != 0 || mana != 0) {
+                delta[changed++] = slot;
+                delta[changed++] = health;
+                delta[changed++] = mana;
+            }
+        }
+        pending = List.of();
+        return changed == 0 ? NO_CHANGES : Arrays.copyOf(delta, changed);
+    }
+
+    /**
+     * Applies a delta forwards ({@code sign} 1) or backwards ({@code sign} -1).
+     */
+    void apply(int[] delta, int sign) {
+        for (int i = 0; i < delta.length; i += 3) {
+            Character character = characters[delta[i]];
+            if (delta[i + 1] != 0) {
+                character.setHealth(character.getStats().health() + sign * delta[i + 1]);
+            }
+            if (delta[i + 2] != 0) {
+                character.restoreMana(sign * delta[i + 2]);
+            }
+        }
+    }
+
+    int[] snapshot() {
+        int[] state = new int[2 * count];
+        for (int slot = 0; slot < count; slot++) {
+            state[2 * slot] = characters[slot].getStats().health();
+            state[2 * slot + 1] = characters[slot].getStats().mana();
+        }
+        return state;
+    }
+
+    /**
+     * Characters first seen after the snapshot was taken go back to their
+     * initial stats.
+     */
+    void restore(int[] snapshot) {
+        for (int slot = 0; slot < count; slot++) {
+            int[] state = 2 * slot < snapshot.length ? snapshot : initialState;
+            Character character = characters[slot];
+            character.setHealth(state[2 * slot]);
+            character.restoreMana(state[2 * slot + 1] - character.getStats().mana());
+        }
+    }
+
+    void clear() {
+        slots.clear();
+        Arrays.fill(characters, 0, count, null);
+        count = 0;
+    }
+
+    private void register(Character character) {
+        if (slots.containsKey(character)) {
+            return;
+        }
+        if (count == characters.length) {
+            characters = Arrays.copyOf(characters, count * 2);
+            initialState = Arrays.copyOf(initialState, count * 4);
+            lastSeen = Arrays.copyOf(lastSeen, count * 2);
+        }
+        characters[count] = character;
+        initialState[2 * count] = character.getStats().health();
+        initialState[2 * count + 1] = character.getStats().mana();
+        slots.put(character, count++);
+    }
+}
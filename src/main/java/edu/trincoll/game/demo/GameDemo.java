@@ -261,8 +261,8 @@ public class GameDemo {
 
         // Show command history
         System.out.println("\n6. COMMAND maintains history:");
-        System.out.println("   ✓ Commands executed: " + invoker.getCommandHistory().size());
-        System.out.println("   ✓ Can undo last " + invoker.getCommandHistory().size() + " actions");
+        System.out.println("   ✓ Commands executed: " + invoker.historyView().size());
+        System.out.println("   ✓ Can undo last " + invoker.historyView().size() + " actions");
 
         System.out.println("\nPatterns Collaboration:");
         System.out.println("• FACTORY creates objects with sensible defaults");
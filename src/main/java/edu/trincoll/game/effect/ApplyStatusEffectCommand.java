@@ -0,0 +1,42 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+
+/**
+ * Command that applies a status effect; undo cancels it if it is still active.
+ *
+ * @see StatusEffectEngine#applyCommand(Character, StatusEffectType, double, int)
+ */
+public class ApplyStatusEffectCommand implements GameCommand {
+    private final StatusEffectEngine engine;
+    private final Character target;
+    private final StatusEffectType type;
+    private final double magnitude;
+    private final int duration;
+    private long handle;
+
+    ApplyStatusEffectCommand(StatusEffectEngine engine, Character target,
+                             StatusEffectType type, double magnitude, int duration) {
+        this.engine = engine;
+        this.target = target;
+        this.type = type;
+        this.magnitude = magnitude;
+        this.duration = duration;
+    }
+
+    @Override
+    public void execute() {
+        handle = engine.apply(target, type, magnitude, duration);
+    }
+
+    @Override
+    public void undo() {
+        engine.cancel(handle);
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Apply %s (%s) to %s for %d ticks", type, magnitude, target.getName(), duration);
+    }
+}
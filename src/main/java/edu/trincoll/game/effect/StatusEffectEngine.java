@@ -0,0 +1,482 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterIntMap;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.ModifiedAttackStrategy;
+import edu.trincoll.game.strategy.ModifiedDefenseStrategy;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Timed status effects (damage over time, regeneration, stun, buffs and
+ * debuffs) driven by a discrete tick clock.
+ *
+ * <h2>Expiry: Hierarchical Timing Wheel</h2>
+ * <p>Effects are linked into one of four 64-slot wheels by how far away
+ * their expiry tick is (up to 64 ticks, 64², 64³ and 64⁴). Each tick only the
+ * current level-0 slot is visited; when a level wraps, the next level's slot
+ * is cascaded down. Adding, cancelling and expiring an effect are all O(1)
+ * amortized, however many effects are active.</p>
+ *
+ * <h2>Bulk Tick Damage</h2>
+ * <p>Periodic effects are not visited every tick. Instead each character
+ * keeps a net per-tick health delta (regeneration minus poison and burn) that
+ * effects add to when applied and subtract from when they expire. A tick
+ * applies one {@link Character#setHealth(int)} per affected living character,
+ * so its cost depends on how many characters are affected, not how many
+ * effects they carry. Tick damage bypasses defense.</p>
+ *
+ * <h2>Modifiers and Stun</h2>
+ * <p>Attack and defense modifiers multiply together per character and are
+ * installed as a {@link ModifiedAttackStrategy} / {@link ModifiedDefenseStrategy}
+ * over the strategy the character had when its first modifier arrived; that
+ * strategy is restored when the last one expires. Stun is exposed through
+ * {@link #isStunned(Character)} for schedulers to honour.</p>
+ *
+ * <h2>Undo</h2>
+ * <p>{@link #tickCommand()} and {@link #applyCommand} produce commands for a
+ * {@code CommandInvoker}: undoing an application cancels the effect, and
+ * undoing a tick moves the clock back, restores the health it changed and
+ * re-activates the effects it expired (reinstalling their modifiers), so
+ * undo followed by redo leaves every timer where it was. Ticks are undone
+ * newest first; effects applied outside the history since a tick must be
+ * cancelled before undoing it.</p>
+ *
+ * <p>Both commands change engine state shared by every character (slots, the
+ * wheel, and the strategies of characters whose modifiers expire), so they
+ * declare no affected characters. Parallel batches therefore run them alone,
+ * and history seeks step through them with undo and redo.</p>
+ *
+ * <p>Like {@link Character}, the engine is not thread-safe.</p>
+ */
+public class StatusEffectEngine {
+    /** Longest supported effect duration, in ticks. */
+    public static final int MAX_DURATION = (1 << 24) - 1;
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NONE = -1;
+    private static final StatusEffectType[] TYPES = StatusEffectType.values();
+
+    private long now;
+    private int activeEffects;
+
+    // Wheel buckets: head of each slot's doubly linked effect list
+    private final int[] buckets = new int[LEVELS * SLOTS];
+
+    // Effects, structure of arrays indexed by effect slot
+    private int[] effectOwner = new int[INITIAL_CAPACITY];
+    private byte[] effectType = new byte[INITIAL_CAPACITY];
+    private double[] effectMagnitude = new double[INITIAL_CAPACITY];
+    private long[] effectExpiry = new long[INITIAL_CAPACITY];
+    private int[] effectBucket = new int[INITIAL_CAPACITY];
+    private int[] effectNext = new int[INITIAL_CAPACITY];
+    private int[] effectPrev = new int[INITIAL_CAPACITY];
+    private int[] effectGeneration = new int[INITIAL_CAPACITY];
+    private int effectCount;
+    // Free effect slots, doubly linked through effectNext/effectPrev so undo can reclaim a given slot
+    private int freeEffect = NONE;
+
+    // Per-character aggregates, indexed by character slot
+    private final CharacterIntMap characterSlots = new CharacterIntMap();
+    private Character[] characters = new Character[INITIAL_CAPACITY];
+    private int[] tickDelta = new int[INITIAL_CAPACITY];
+    private int[] stunCount = new int[INITIAL_CAPACITY];
+    private double[] attackFactor = new double[INITIAL_CAPACITY];
+    private double[] defenseFactor = new double[INITIAL_CAPACITY];
+    private int[] attackModifiers = new int[INITIAL_CAPACITY];
+    private int[] defenseModifiers = new int[INITIAL_CAPACITY];
+    private AttackStrategy[] baseAttack = new AttackStrategy[INITIAL_CAPACITY];
+    private DefenseStrategy[] baseDefense = new DefenseStrategy[INITIAL_CAPACITY];
+    private int[] affectedIndex = new int[INITIAL_CAPACITY];
+    private int characterCount;
+
+    // Characters with a non-zero tick delta
+    private int[] affected = new int[INITIAL_CAPACITY];
+    private int affectedCount;
+
+    public StatusEffectEngine() {
+        Arrays.fill(buckets, NONE);
+    }
+
+    /**
+     * Applies an effect lasting {@code duration} ticks. A periodic effect
+     * changes health on each of the next {@code duration} ticks.
+     *
+     * @param magnitude health per tick for periodic effects, factor for modifiers, ignored for stun
+     * @return a handle for {@link #cancel(long)}
+     * @throws IllegalArgumentException if duration is outside 1..{@link #MAX_DURATION},
+     *                                  or a periodic magnitude is negative or a factor is not positive
+     */
+    public long apply(Character character, StatusEffectType type, double magnitude, int duration) {
+        Objects.requireNonNull(character, "Character cannot be null");
+        Objects.requireNonNull(type, "Effect type cannot be null");
+        if (duration < 1 || duration > MAX_DURATION) {
+            throw new IllegalArgumentException("Duration must be between 1 and " + MAX_DURATION);
+        }
+        if (type.isPeriodic() && magnitude < 0) {
+            throw new IllegalArgumentException("Periodic magnitude cannot be negative");
+        }
+        if ((type == StatusEffectType.ATTACK_MODIFIER || type == StatusEffectType.DEFENSE_MODIFIER)
+                && !(magnitude > 0)) {
+            throw new IllegalArgumentException("Modifier factor must be positive");
+        }
+
+        int owner = slotOf(character);
+        int effect = allocateEffect();
+        effectOwner[effect] = owner;
+        effectType[effect] = (byte) type.ordinal();
+        effectMagnitude[effect] = magnitude;
+        effectExpiry[effect] = now + duration;
+        schedule(effect);
+        activeEffects++;
+        contribute(effect, true);
+        return ((long) effectGeneration[effect] << 32) | effect;
+    }
+
+    /**
+     * Removes an active effect early.
+     *
+     * @return false if the handle's effect already expired or was cancelled
+     */
+    public boolean cancel(long handle) {
+        int effect = (int) handle;
+        if (effect < 0 || effect >= effectCount || effectGeneration[effect] != (int) (handle >>> 32)
+                || effectBucket[effect] == NONE) {
+            return false;
+        }
+        unlink(effect);
+        contribute(effect, false);
+        releaseEffect(effect);
+        return true;
+    }
+
+    /**
+     * Advances one tick without recording history.
+     */
+    public void tick() {
+        advance(null);
+    }
+
+    /**
+     * A command that advances one tick when executed and restores the health
+     * it changed when undone.
+     */
+    public GameCommand tickCommand() {
+        return new StatusEffectTickCommand(this);
+    }
+
+    /**
+     * A command that applies an effect when executed and cancels it when undone.
+     */
+    public GameCommand applyCommand(Character character, StatusEffectType type, double magnitude, int duration) {
+        return new ApplyStatusEffectCommand(this, character, type, magnitude, duration);
+    }
+
+    public boolean isStunned(Character character) {
+        int slot = characterSlots.get(character);
+        return slot != CharacterIntMap.NO_VALUE && stunCount[slot] > 0;
+    }
+
+    /**
+     * Net health change the character receives each tick from periodic effects.
+     */
+    public int getTickDelta(Character character) {
+        int slot = characterSlots.get(character);
+        return slot == CharacterIntMap.NO_VALUE ? 0 : tickDelta[slot];
+    }
+
+    public long getCurrentTick() {
+        return now;
+    }
+
+    public int getActiveEffectCount() {
+        return activeEffects;
+    }
+
+    /**
+     * Moves the clock forward one tick: cascades wheels, applies bulk tick
+     * deltas, then expires effects whose last tick this was.
+     *
+     * @param log receives each health change for undo, or null
+     */
+    void advance(StatusEffectTickCommand log) {
+        now++;
+        int slot = (int) (now & SLOT_MASK);
+        if (slot == 0) {
+            cascade(1);
+        }
+
+        for (int i = 0; i < affectedCount; i++) {
+            Character character = characters[affected[i]];
+            int before = character.getStats().health();
+            if (before == 0) {
+                continue;
+            }
+            character.setHealth(before + tickDelta[affected[i]]);
+            if (log != null && character.getStats().health() != before) {
+                log.record(character, before);
+            }
+        }
+
+        int effect = buckets[slot];
+        buckets[slot] = NONE;
+        while (effect != NONE) {
+            int next = effectNext[effect];
+            effectBucket[effect] = NONE;
+            if (log != null) {
+                log.recordExpired(((long) effectGeneration[effect] << 32) | effect, effectOwner[effect],
+                        effectType[effect], effectMagnitude[effect]);
+            }
+            contribute(effect, false);
+            releaseEffect(effect);
+            effect = next;
+        }
+    }
+
+    /**
+     * Reverses {@link #advance} for the tick the log recorded: re-activates
+     * the effects it expired and moves the clock back. Health is restored by
+     * the caller.
+     *
+     * @throws IllegalStateException if the clock has moved since that tick or
+     *                               an expired effect's slot is in use again
+     */
+    void rewind(StatusEffectTickCommand log) {
+        if (now != log.getTick()) {
+            throw new IllegalStateException("Tick " + log.getTick() + " is not the latest tick (" + now + ")");
+        }
+        for (int i = 0; i < log.expiredCount(); i++) {
+            if (effectBucket[(int) log.expiredHandle(i)] != NONE) {
+                throw new IllegalStateException("An effect expired by tick " + now + " was replaced");
+            }
+        }
+
+        // Everything the tick cascaded into lower wheels (and anything added since) was filed
+        // relative to the current tick, so re-file those wheels relative to the previous one
+        int cascaded = 0;
+        while (cascaded < LEVELS - 1 && ((now >>> (SLOT_BITS * cascaded)) & SLOT_MASK) == 0) {
+            cascaded++;
+        }
+        now--;
+        if (cascaded > 0) {
+            int[] heads = Arrays.copyOf(buckets, cascaded * SLOTS);
+            Arrays.fill(buckets, 0, cascaded * SLOTS, NONE);
+            for (int effect : heads) {
+                while (effect != NONE) {
+                    int next = effectNext[effect];
+                    schedule(effect);
+                    effect = next;
+                }
+            }
+        }
+
+        for (int i = log.expiredCount() - 1; i >= 0; i--) {
+            long handle = log.expiredHandle(i);
+            int effect = (int) handle;
+            claimEffect(effect);
+            effectGeneration[effect] = (int) (handle >>> 32);
+            effectOwner[effect] = log.expiredOwner(i);
+            effectType[effect] = log.expiredType(i);
+            effectMagnitude[effect] = log.expiredMagnitude(i);
+            effectExpiry[effect] = now + 1;
+            schedule(effect);
+            activeEffects++;
+            contribute(effect, true);
+        }
+    }
+
+    // Re-files the current slot of a level (and, if it wrapped too, the level above first)
+    private void cascade(int level) {
+        if (level >= LEVELS) {
+            return;
+        }
+        int slot = (int) ((now >>> (SLOT_BITS * level)) & SLOT_MASK);
+        if (slot == 0) {
+            cascade(level + 1);
+        }
+        int bucket = level * SLOTS + slot;
+        int effect = buckets[bucket];
+        buckets[bucket] = NONE;
+        while (effect != NONE) {
+            int next = effectNext[effect];
+            schedule(effect);
+            effect = next;
+        }
+    }
+
+    // Level = lowest wheel whose next level up still agrees with the current tick
+    private void schedule(int effect) {
+        long expiry = effectExpiry[effect];
+        int level = 0;
+        while (level < LEVELS - 1 && (expiry >>> (SLOT_BITS * (level + 1))) != (now >>> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int bucket = level * SLOTS + (int) ((expiry >>> (SLOT_BITS * level)) & SLOT_MASK);
+        effectBucket[effect] = bucket;
+        effectPrev[effect] = NONE;
+        effectNext[effect] = buckets[bucket];
+        if (buckets[bucket] != NONE) {
+            effectPrev[buckets[bucket]] = effect;
+        }
+        buckets[bucket] = effect;
+    }
+
+    private void unlink(int effect) {
+        int bucket = effectBucket[effect];
+        if (effectPrev[effect] != NONE) {
+            effectNext[effectPrev[effect]] = effectNext[effect];
+        } else {
+            buckets[bucket] = effectNext[effect];
+        }
+        if (effectNext[effect] != NONE) {
+            effectPrev[effectNext[effect]] = effectPrev[effect];
+        }
+        effectBucket[effect] = NONE;
+    }
+
+    // Adds (or removes) one effect's contribution to its owner's aggregates
+    private void contribute(int effect, boolean adding) {
+        int owner = effectOwner[effect];
+        double magnitude = effectMagnitude[effect];
+        int sign = adding ? 1 : -1;
+        switch (TYPES[effectType[effect]]) {
+            case POISON, BURN -> changeTickDelta(owner, -sign * (int) magnitude);
+            case REGENERATION -> changeTickDelta(owner, sign * (int) magnitude);
+            case STUN -> stunCount[owner] += sign;
+            case ATTACK_MODIFIER -> changeAttackModifier(owner, adding, magnitude);
+            case DEFENSE_MODIFIER -> changeDefenseModifier(owner, adding, magnitude);
+        }
+    }
+
+    private void changeTickDelta(int owner, int amount) {
+        boolean wasAffected = tickDelta[owner] != 0;
+        tickDelta[owner] += amount;
+        boolean isAffected = tickDelta[owner] != 0;
+        if (isAffected && !wasAffected) {
+            affectedIndex[owner] = affectedCount;
+            affected[affectedCount++] = owner;
+        } else if (wasAffected && !isAffected) {
+            int index = affectedIndex[owner];
+            int last = affected[--affectedCount];
+            affected[index] = last;
+            affectedIndex[last] = index;
+        }
+    }
+
+    private void changeAttackModifier(int owner, boolean adding, double factor) {
+        Character character = characters[owner];
+        if (adding) {
+            if (attackModifiers[owner]++ == 0) {
+                baseAttack[owner] = character.getAttackStrategy();
+                attackFactor[owner] = 1.0;
+            }
+            attackFactor[owner] *= factor;
+        } else if (--attackModifiers[owner] > 0) {
+            attackFactor[owner] /= factor;
+        } else {
+            character.setAttackStrategy(baseAttack[owner]);
+            baseAttack[owner] = null;
+            return;
+        }
+        character.setAttackStrategy(ModifiedAttackStrategy.builder(baseAttack[owner])
+                .multiply(attackFactor[owner])
+                .build());
+    }
+
+    private void changeDefenseModifier(int owner, boolean adding, double factor) {
+        Character character = characters[owner];
+        if (adding) {
+            if (defenseModifiers[owner]++ == 0) {
+                baseDefense[owner] = character.getDefenseStrategy();
+                defenseFactor[owner] = 1.0;
+            }
+            defenseFactor[owner] *= factor;
+        } else if (--defenseModifiers[owner] > 0) {
+            defenseFactor[owner] /= factor;
+        } else {
+            character.setDefenseStrategy(baseDefense[owner]);
+            baseDefense[owner] = null;
+            return;
+        }
+        character.setDefenseStrategy(ModifiedDefenseStrategy.builder(baseDefense[owner])
+                .multiply(defenseFactor[owner])
+                .build());
+    }
+
+    private int slotOf(Character character) {
+        int existing = characterSlots.get(character);
+        if (existing != CharacterIntMap.NO_VALUE) {
+            return existing;
+        }
+        if (characterCount == characters.length) {
+            int capacity = characters.length * 2;
+            characters = Arrays.copyOf(characters, capacity);
+            tickDelta = Arrays.copyOf(tickDelta, capacity);
+            stunCount = Arrays.copyOf(stunCount, capacity);
+            attackFactor = Arrays.copyOf(attackFactor, capacity);
+            defenseFactor = Arrays.copyOf(defenseFactor, capacity);
+            attackModifiers = Arrays.copyOf(attackModifiers, capacity);
+            defenseModifiers = Arrays.copyOf(defenseModifiers, capacity);
+            baseAttack = Arrays.copyOf(baseAttack, capacity);
+            baseDefense = Arrays.copyOf(baseDefense, capacity);
+            affectedIndex = Arrays.copyOf(affectedIndex, capacity);
+            affected = Arrays.copyOf(affected, capacity);
+        }
+        int slot = characterCount++;
+        characters[slot] = character;
+        characterSlots.put(character, slot);
+        return slot;
+    }
+
+    private int allocateEffect() {
+        if (freeEffect != NONE) {
+            int effect = freeEffect;
+            claimEffect(effect);
+            return effect;
+        }
+        if (effectCount == effectOwner.length) {
+            int capacity = effectOwner.length * 2;
+            effectOwner = Arrays.copyOf(effectOwner, capacity);
+            effectType = Arrays.copyOf(effectType, capacity);
+            effectMagnitude = Arrays.copyOf(effectMagnitude, capacity);
+            effectExpiry = Arrays.copyOf(effectExpiry, capacity);
+            effectBucket = Arrays.copyOf(effectBucket, capacity);
+            effectNext = Arrays.copyOf(effectNext, capacity);
+            effectPrev = Arrays.copyOf(effectPrev, capacity);
+            effectGeneration = Arrays.copyOf(effectGeneration, capacity);
+        }
+        return effectCount++;
+    }
+
+    // Takes a slot off the free list
+    private void claimEffect(int effect) {
+        if (effectPrev[effect] != NONE) {
+            effectNext[effectPrev[effect]] = effectNext[effect];
+        } else {
+            freeEffect = effectNext[effect];
+        }
+        if (effectNext[effect] != NONE) {
+            effectPrev[effectNext[effect]] = effectPrev[effect];
+        }
+    }
+
+    private void releaseEffect(int effect) {
+        effectGeneration[effect]++;
+        effectBucket[effect] = NONE;
+        effectPrev[effect] = NONE;
+        effectNext[effect] = freeEffect;
+        if (freeEffect != NONE) {
+            effectPrev[freeEffect] = effect;
+        }
+        freeEffect = effect;
+        activeEffects--;
+    }
+}
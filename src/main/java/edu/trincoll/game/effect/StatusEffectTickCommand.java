@@ -0,0 +1,105 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Command that advances a {@link StatusEffectEngine} by one tick.
+ * Records each health change the tick made and each effect it expired, so
+ * undo can move the clock back and restore both.
+ *
+ * @see StatusEffectEngine#tickCommand()
+ */
+public class StatusEffectTickCommand implements GameCommand {
+    private final StatusEffectEngine engine;
+    private final List<Character> changed = new ArrayList<>();
+    private int[] previousHealth = new int[8];
+    private long tick;
+
+    // Effects this tick expired, as handle, owner slot, type and magnitude
+    private long[] expiredHandles = new long[8];
+    private int[] expiredOwners = new int[8];
+    private byte[] expiredTypes = new byte[8];
+    private double[] expiredMagnitudes = new double[8];
+    private int expiredCount;
+
+    StatusEffectTickCommand(StatusEffectEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public void execute() {
+        changed.clear();
+        expiredCount = 0;
+        engine.advance(this);
+        tick = engine.getCurrentTick();
+    }
+
+    /**
+     * @throws IllegalStateException if the engine has moved past this tick
+     *                               other than through commands already undone
+     */
+    @Override
+    public void undo() {
+        engine.rewind(this);
+        for (int i = changed.size() - 1; i >= 0; i--) {
+            changed.get(i).setHealth(previousHealth[i]);
+        }
+    }
+
+    @Override
+    public String getDescription() {
+        return String.format("Status effect tick %d (%d characters affected)", tick, changed.size());
+    }
+
+    void record(Character character, int health) {
+        if (changed.size() == previousHealth.length) {
+            previousHealth = Arrays.copyOf(previousHealth, previousHealth.length * 2);
+        }
+        previousHealth[changed.size()] = health;
+        changed.add(character);
+    }
+
+    void recordExpired(long handle, int owner, byte type, double magnitude) {
+        if (expiredCount == expiredHandles.length) {
+            int capacity = expiredCount * 2;
+            expiredHandles = Arrays.copyOf(expiredHandles, capacity);
+            expiredOwners = Arrays.copyOf(expiredOwners, capacity);
+            expiredTypes = Arrays.copyOf(expiredTypes, capacity);
+            expiredMagnitudes = Arrays.copyOf(expiredMagnitudes, capacity);
+        }
+        expiredHandles[expiredCount] = handle;
+        expiredOwners[expiredCount] = owner;
+        expiredTypes[expiredCount] = type;
+        expiredMagnitudes[expiredCount] = magnitude;
+        expiredCount++;
+    }
+
+    long getTick() {
+        return tick;
+    }
+
+    int expiredCount() {
+        return expiredCount;
+    }
+
+    long expiredHandle(int index) {
+        return expiredHandles[index];
+    }
+
+    int expiredOwner(int index) {
+        return expiredOwners[index];
+    }
+
+    byte expiredType(int index) {
+        return expiredTypes[index];
+    }
+
+    double expiredMagnitude(int index) {
+        return expiredMagnitudes[index];
+    }
+}
@@ -0,0 +1,28 @@
+package edu.trincoll.game.effect;
+
+/**
+ * Kinds of timed status effect handled by {@link StatusEffectEngine}.
+ *
+ * <p>The meaning of an effect's magnitude depends on its kind.</p>
+ */
+public enum StatusEffectType {
+    /** Loses {@code magnitude} health every tick, ignoring defense. */
+    POISON,
+    /** Loses {@code magnitude} health every tick, ignoring defense. */
+    BURN,
+    /** Regains {@code magnitude} health every tick, up to max health. */
+    REGENERATION,
+    /** Cannot act while active; magnitude is ignored. */
+    STUN,
+    /** Multiplies damage dealt by {@code magnitude}: above 1 is a buff, below 1 a debuff. */
+    ATTACK_MODIFIER,
+    /** Multiplies damage taken by {@code magnitude}: below 1 is a buff, above 1 a debuff. */
+    DEFENSE_MODIFIER;
+
+    /**
+     * Whether the effect changes health every tick.
+     */
+    public boolean isPeriodic() {
+        return this == POISON || this == BURN || this == REGENERATION;
+    }
+}
@@ -0,0 +1,78 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.model.Character;
+
+/**
+ * A combat event as seen by a {@link CombatEventSink}.
+ *
+ * <p>Instances are preallocated and reused: the bus writes into ring slots and
+ * each subscriber copies into its own scratch event, so nothing is allocated
+ * per event. A sink must not keep a reference to the event after
+ * {@link CombatEventSink#onEvent(CombatEvent)} returns; copy what it needs.</p>
+ */
+public final class CombatEvent {
+    // Slot state: the sequence number of the event in the slot, or -1 while being written
+    volatile long sequence = -1;
+
+    CombatEventType type;
+    Character actor;
+    Character target;
+    int amount;
+    Object detail;
+    long timestampNanos;
+
+    CombatEvent() {
+    }
+
+    void copyFrom(CombatEvent other) {
+        type = other.type;
+        actor = other.actor;
+        target = other.target;
+        amount = other.amount;
+        detail = other.detail;
+        timestampNanos = other.timestampNanos;
+    }
+
+    /**
+     * Position of the event in the bus's publication order.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public CombatEventType getType() {
+        return type;
+    }
+
+    /**
+     * Character that caused the event, or null (e.g. damage from an unknown source).
+     */
+    public Character getActor() {
+        return actor;
+    }
+
+    /**
+     * Character the event happened to, or null for events without one.
+     */
+    public Character getTarget() {
+        return target;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * Event-specific object such as the new strategy or the undone command, or null.
+     */
+    public Object getDetail() {
+        return detail;
+    }
+
+    /**
+     * {@link System#nanoTime()} at publication.
+     */
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+}
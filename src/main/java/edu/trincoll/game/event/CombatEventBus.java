@@ -0,0 +1,281 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.model.Character;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes typed combat events into a preallocated ring buffer that
+ * subscribers consume on their own threads, Disruptor-style.
+ *
+ * <h2>Publishing</h2>
+ * <p>{@link #publish} claims a sequence number with one atomic increment and
+ * writes the event into the ring slot in place. It never allocates, never
+ * locks and never waits for subscribers, so the combat thread pays the same
+ * small cost whether or not anyone is listening. Multiple threads may publish
+ * concurrently; a publisher only spins in the rare case that another one,
+ * a full ring earlier, is still writing the same slot.</p>
+ *
+ * <h2>Subscribers</h2>
+ * <p>Each subscriber has its own thread and read cursor. A subscriber that
+ * falls more than one ring's worth behind is lapped: the overwritten events
+ * are skipped and counted in {@link Subscription#getDroppedCount()} instead of
+ * stalling the publisher. Subscribers may also sample, receiving only every
+ * n-th event.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CombatEventBus bus = new CombatEventBus(4096);
+ * bus.subscribe(new CombatLogSink(System.out));
+ *
+ * Character hero = CharacterFactory.createWarrior("Conan");
+ * hero.setEventBus(bus);          // damage, heal, death, strategy changes
+ * CommandInvoker invoker = new CommandInvoker(bus);   // undo events
+ * }</pre>
+ *
+ * @see CombatEvent
+ * @see CombatEventSink
+ */
+public class CombatEventBus implements AutoCloseable {
+    private static final int SPINS_BEFORE_PARK = 64;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private final CombatEvent[] ring;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param capacity ring size, rounded up to the next power of two
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public CombatEventBus(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        int size = Math.max(1, Integer.highestOneBit(capacity - 1) << 1);
+        this.ring = new CombatEvent[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            ring[i] = new CombatEvent();
+        }
+    }
+
+    /**
+     * Publishes an event. Never allocates and never waits for subscribers.
+     */
+    public void publish(CombatEventType type, Character actor, Character target, int amount, Object detail) {
+        long sequence = nextSequence.getAndIncrement();
+        CombatEvent slot = ring[(int) (sequence & mask)];
+        // A publisher one lap behind may still be writing this slot; never interleave with it
+        long previousLap = sequence - ring.length;
+        for (int spins = 0; slot.sequence < previousLap; spins++) {
+            // The other publisher may be descheduled; let it run
+            if (spins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+        slot.sequence = -1;
+        // Keep the field writes below from becoming visible before the -1 marker
+        VarHandle.storeStoreFence();
+        slot.type = type;
+        slot.actor = actor;
+        slot.target = target;
+        slot.amount = amount;
+        slot.detail = detail;
+        slot.timestampNanos = System.nanoTime();
+        // Volatile write publishes the fields above to subscribers
+        slot.sequence = sequence;
+    }
+
+    /**
+     * Total events published so far.
+     */
+    public long getPublishedCount() {
+        return nextSequence.get();
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Starts delivering every event published from now on to {@code sink}.
+     */
+    public Subscription subscribe(CombatEventSink sink) {
+        return subscribe(sink, 1);
+    }
+
+    /**
+     * Starts delivering every {@code sampleEvery}-th event published from now on.
+     *
+     * @throws IllegalArgumentException if sampleEvery is not positive
+     */
+    public Subscription subscribe(CombatEventSink sink, int sampleEvery) {
+        Objects.requireNonNull(sink, "Sink cannot be null");
+        if (sampleEvery <= 0) {
+            throw new IllegalArgumentException("Sample rate must be positive");
+        }
+        Subscription subscription = new Subscription(sink, sampleEvery, nextSequence.get());
+        subscriptions.add(subscription);
+        subscription.thread.start();
+        return subscription;
+    }
+
+    /**
+     * Stops all subscribers after they have delivered what is currently in the ring.
+     * See {@link Subscription#close()} for how interrupts are handled.
+     */
+    @Override
+    public void close() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        subscriptions.clear();
+    }
+
+    /**
+     * A sink attached to the bus, with its own consumer thread.
+     */
+    public final class Subscription implements AutoCloseable {
+        private final CombatEventSink sink;
+        private final int sampleEvery;
+        private final CombatEvent scratch = new CombatEvent();
+        private final Thread thread;
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+        private volatile boolean running = true;
+        private volatile long cursor;
+
+        private Subscription(CombatEventSink sink, int sampleEvery, long start) {
+            this.sink = sink;
+            this.sampleEvery = sampleEvery;
+            this.cursor = start;
+            this.thread = new Thread(this::consume, "combat-event-sink");
+            this.thread.setDaemon(true);
+        }
+
+        public long getDeliveredCount() {
+            return delivered.get();
+        }
+
+        /**
+         * Events this subscriber missed because it was lapped.
+         */
+        public long getDroppedCount() {
+            return dropped.get();
+        }
+
+        /**
+         * Blocks until this subscriber has consumed everything published so far.
+         *
+         * @return {@code true} if it caught up, {@code false} if the timeout
+         *         elapsed first
+         */
+        public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+            long target = nextSequence.get();
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (cursor < target) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+            return true;
+        }
+
+        /**
+         * Drains what has been published so far, then stops the consumer thread.
+         * If the calling thread is interrupted while waiting, it stops waiting
+         * and keeps its interrupt status; the consumer still drains and exits.
+         */
+        @Override
+        public void close() {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            subscriptions.remove(this);
+        }
+
+        private void consume() {
+            long next = cursor;
+            int idleSpins = 0;
+            while (true) {
+                long published = nextSequence.get();
+                if (next >= published) {
+                    if (!running) {
+                        return;
+                    }
+                    idle(idleSpins++);
+                    continue;
+                }
+
+                // Lapped: the oldest events still in the ring start at published - capacity
+                if (published - next > ring.length) {
+                    long skipped = published - ring.length - next;
+                    dropped.addAndGet(skipped);
+                    next += skipped;
+                }
+
+                CombatEvent slot = ring[(int) (next & mask)];
+                long before = slot.sequence;
+                if (before < next) {
+                    // Claimed but not yet written
+                    idle(idleSpins++);
+                    continue;
+                }
+                idleSpins = 0;
+
+                if (before == next) {
+                    scratch.copyFrom(slot);
+                    VarHandle.loadLoadFence();
+                    if (slot.sequence == next) {
+                        scratch.sequence = next;
+                        if (next % sampleEvery == 0) {
+                            deliver();
+                        }
+                    } else {
+                        dropped.incrementAndGet();
+                    }
+                } else {
+                    // Overwritten by a newer event before we got to it
+                    dropped.incrementAndGet();
+                }
+                next++;
+                cursor = next;
+            }
+        }
+
+        private void deliver() {
+            try {
+                sink.onEvent(scratch);
+            } catch (RuntimeException e) {
+                // A failing sink must not kill its consumer thread
+            }
+            delivered.incrementAndGet();
+        }
+
+        private void idle(int spins) {
+            if (spins < SPINS_BEFORE_PARK) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+}
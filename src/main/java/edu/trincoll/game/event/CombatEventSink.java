@@ -0,0 +1,15 @@
+package edu.trincoll.game.event;
+
+/**
+ * Consumer of combat events, e.g. logging, analytics or persistence.
+ *
+ * <p>Each sink runs on its own thread, so it may be slow without affecting
+ * combat; events it cannot keep up with are dropped.</p>
+ */
+@FunctionalInterface
+public interface CombatEventSink {
+    /**
+     * Handle one event. The event object is reused after this returns.
+     */
+    void onEvent(CombatEvent event);
+}
@@ -0,0 +1,23 @@
+package edu.trincoll.game.event;
+
+/**
+ * Kinds of events published on the {@link CombatEventBus}.
+ */
+public enum CombatEventType {
+    /** An attack was resolved. Actor attacked target for amount (before defense). */
+    ATTACK,
+    /** Target lost amount health after defense. */
+    DAMAGE_TAKEN,
+    /** Target regained amount health. */
+    HEAL,
+    /** Target's health reached 0. */
+    DEATH,
+    /** Target's attack or defense strategy was replaced; detail is the new strategy. */
+    STRATEGY_CHANGE,
+    /** A command was undone; detail is the command. */
+    UNDO,
+    /** A battle sequence turn began; actor attacks target, detail is the sequence. */
+    TURN_START,
+    /** A battle sequence turn ended; detail is the sequence. */
+    TURN_END
+}
@@ -0,0 +1,35 @@
+package edu.trincoll.game.event;
+
+import java.io.PrintStream;
+import java.util.Objects;
+
+/**
+ * Writes one human-readable line per combat event.
+ *
+ * <p>Runs on the subscriber thread, so formatting and I/O cost never reaches
+ * the combat thread. The line buffer is reused between events.</p>
+ */
+public class CombatLogSink implements CombatEventSink {
+    private final PrintStream out;
+    private final StringBuilder line = new StringBuilder(128);
+
+    public CombatLogSink(PrintStream out) {
+        this.out = Objects.requireNonNull(out, "Output cannot be null");
+    }
+
+    @Override
+    public void onEvent(CombatEvent event) {
+        line.setLength(0);
+        line.append('#').append(event.getSequence()).append(' ').append(event.getType());
+        if (event.getActor() != null) {
+            line.append(" actor=").append(event.getActor().getName());
+        }
+        if (event.getTarget() != null) {
+            line.append(" target=").append(event.getTarget().getName());
+        }
+        if (event.getAmount() != 0) {
+            line.append(" amount=").append(event.getAmount());
+        }
+        out.println(line);
+    }
+}
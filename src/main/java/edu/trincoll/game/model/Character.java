@@ -1,36 +1,90 @@
 package edu.trincoll.game.model;
 
+import edu.trincoll.game.event.CombatEventBus;
+import edu.trincoll.game.event.CombatEventType;
 import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.CombatContext;
 import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.FallbackAttackPolicy;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Represents a game character with stats and behavior strategies.
  * This class will be constructed using the Builder pattern.
  */
 public class Character {
+    private static final HealthListener[] NO_LISTENERS = new HealthListener[0];
+
+    // Fixed parts of the rendered text, encoded once
+    private static final byte[][] TYPE_NAMES = new byte[CharacterType.values().length][];
+    private static final byte[] OPEN_TYPE = " (".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEALTH_LABEL = ") - HP: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ATTACK_LABEL = ", ATK: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DEFENSE_LABEL = ", DEF: ".getBytes(StandardCharsets.US_ASCII);
+
+    static {
+        for (CharacterType type : CharacterType.values()) {
+            TYPE_NAMES[type.ordinal()] = type.name().getBytes(StandardCharsets.US_ASCII);
+        }
+    }
+
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id;
     private final String name;
+    private final byte[] nameBytes;
+    private final int hash;
     private final CharacterType type;
     private CharacterStats stats;
     private AttackStrategy attackStrategy;
     private DefenseStrategy defenseStrategy;
+    private FallbackAttackPolicy fallbackPolicy = FallbackAttackPolicy.FORFEIT;
+    private CombatEventBus eventBus;
+    private Position position = Position.ORIGIN;
+    private HealthListener[] healthListeners = NO_LISTENERS;
 
     // Public constructor for testing - prefer Builder for production use
     public Character(String name, CharacterType type, CharacterStats stats,
                      AttackStrategy attackStrategy, DefenseStrategy defenseStrategy) {
         this.name = Objects.requireNonNull(name, "Name cannot be null");
+        this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
         this.type = Objects.requireNonNull(type, "Type cannot be null");
+        this.id = NEXT_ID.getAndIncrement();
+        this.hash = 31 * name.hashCode() + type.ordinal();
         this.stats = Objects.requireNonNull(stats, "Stats cannot be null");
         this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
     }
 
     // Getters
+
+    /**
+     * Entity id assigned when the character was created, unique within the
+     * JVM and fixed for the character's lifetime. Unlike {@link #equals},
+     * it tells apart characters with the same name and type.
+     */
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
 
+    /**
+     * Writes the name as UTF-8, encoded once when the character was created.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public void writeName(ByteBuffer out) {
+        out.put(nameBytes);
+    }
+
     public CharacterType getType() {
         return type;
     }
@@ -47,20 +101,87 @@ public class Character {
         return defenseStrategy;
     }
 
+    public FallbackAttackPolicy getFallbackPolicy() {
+        return fallbackPolicy;
+    }
+
+    /**
+     * Bus receiving this character's combat events, or null if none.
+     */
+    public CombatEventBus getEventBus() {
+        return eventBus;
+    }
+
+    /**
+     * Attach (or, with null, detach) a bus for health, death and strategy events.
+     */
+    public void setEventBus(CombatEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Moves the character. A character tracked by a spatial index should be
+     * moved through the index so it can update its cells.
+     */
+    public void setPosition(Position position) {
+        this.position = Objects.requireNonNull(position, "Position cannot be null");
+    }
+
     // Strategy setters (allow runtime strategy changes - Strategy pattern)
     public void setAttackStrategy(AttackStrategy attackStrategy) {
         this.attackStrategy = Objects.requireNonNull(attackStrategy, "Attack strategy cannot be null");
+        publish(CombatEventType.STRATEGY_CHANGE, 0, attackStrategy);
     }
 
     public void setDefenseStrategy(DefenseStrategy defenseStrategy) {
         this.defenseStrategy = Objects.requireNonNull(defenseStrategy, "Defense strategy cannot be null");
+        publish(CombatEventType.STRATEGY_CHANGE, 0, defenseStrategy);
+    }
+
+    public void setFallbackPolicy(FallbackAttackPolicy fallbackPolicy) {
+        this.fallbackPolicy = Objects.requireNonNull(fallbackPolicy, "Fallback policy cannot be null");
     }
 
     // Combat methods that delegate to strategies
+
+    /**
+     * Raw strategy damage. May be {@link AttackStrategy#INSUFFICIENT_RESOURCE};
+     * use {@link #resolveAttack(Character, CombatContext)} to apply the fallback policy.
+     */
     public int attack(Character target) {
         return attackStrategy.calculateDamage(this, target);
     }
 
+    /**
+     * Attack using the context's random rolls. A null context falls back to
+     * the deterministic {@link #attack(Character)}.
+     */
+    public int attack(Character target, CombatContext context) {
+        if (context == null) {
+            return attack(target);
+        }
+        return attackStrategy.calculateDamage(this, target, context);
+    }
+
+    /**
+     * Attack, resolving an insufficient-resource result through this
+     * character's {@link FallbackAttackPolicy}. Always returns real damage;
+     * negative strategy results are clamped to zero.
+     *
+     * @param context random rolls for the attack, or null for deterministic damage
+     */
+    public int resolveAttack(Character target, CombatContext context) {
+        int damage = attack(target, context);
+        if (damage == AttackStrategy.INSUFFICIENT_RESOURCE) {
+            return fallbackPolicy.fallbackDamage(this, target);
+        }
+        return Math.max(0, damage);
+    }
+
     public int defend(int incomingDamage) {
         return defenseStrategy.calculateDamageReduction(this, incomingDamage);
     }
@@ -69,11 +190,15 @@ public class Character {
     public void takeDamage(int damage) {
         int actualDamage = defend(damage);
         int netDamage = Math.max(0, actualDamage);
-        stats = stats.withHealth(stats.health() - netDamage);
+        int healthBefore = stats.health();
+        stats = stats.withHealth(healthBefore - netDamage);
+        healthChanged(healthBefore);
     }
 
     public void heal(int amount) {
-        stats = stats.withHealth(stats.health() + amount);
+        int healthBefore = stats.health();
+        stats = stats.withHealth(healthBefore + amount);
+        healthChanged(healthBefore);
     }
 
     /**
@@ -81,15 +206,91 @@ public class Character {
      * Use with caution - bypasses defense calculations.
      */
     public void setHealth(int health) {
+        int healthBefore = stats.health();
         stats = stats.withHealth(health);
+        healthChanged(healthBefore);
+    }
+
+    /**
+     * Registers a listener for health changes. Listeners are kept in an array
+     * copied on registration, so notification never allocates.
+     */
+    public void addHealthListener(HealthListener listener) {
+        Objects.requireNonNull(listener, "Listener cannot be null");
+        HealthListener[] listeners = Arrays.copyOf(healthListeners, healthListeners.length + 1);
+        listeners[healthListeners.length] = listener;
+        healthListeners = listeners;
+    }
+
+    /**
+     * @return whether the listener was registered
+     */
+    public boolean removeHealthListener(HealthListener listener) {
+        for (int i = 0; i < healthListeners.length; i++) {
+            if (healthListeners[i] == listener) {
+                HealthListener[] listeners = new HealthListener[healthListeners.length - 1];
+                System.arraycopy(healthListeners, 0, listeners, 0, i);
+                System.arraycopy(healthListeners, i + 1, listeners, i, listeners.length - i);
+                healthListeners = listeners.length == 0 ? NO_LISTENERS : listeners;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void healthChanged(int healthBefore) {
+        int healthAfter = stats.health();
+        if (healthAfter != healthBefore) {
+            for (HealthListener listener : healthListeners) {
+                listener.onHealthChanged(this, healthBefore, healthAfter);
+            }
+        }
+        if (eventBus == null) {
+            return;
+        }
+        int delta = healthAfter - healthBefore;
+        if (delta < 0) {
+            publish(CombatEventType.DAMAGE_TAKEN, -delta, null);
+        } else if (delta > 0) {
+            publish(CombatEventType.HEAL, delta, null);
+        }
+        if (healthBefore > 0 && stats.isDead()) {
+            publish(CombatEventType.DEATH, 0, null);
+        }
+    }
+
+    private void publish(CombatEventType type, int amount, Object detail) {
+        if (eventBus != null) {
+            eventBus.publish(type, null, this, amount, detail);
+        }
     }
 
     // Mana management
-    public void useMana(int amount) {
+
+    /**
+     * Spends mana if enough is available, without throwing.
+     *
+     * @return {@link ResourceStatus#OK} if the mana was spent, otherwise
+     *         {@link ResourceStatus#INSUFFICIENT_MANA} and stats are unchanged
+     */
+    public ResourceStatus tryUseMana(int amount) {
         if (stats.mana() < amount) {
-            throw new IllegalStateException("Not enough mana");
+            return ResourceStatus.INSUFFICIENT_MANA;
         }
         stats = stats.withMana(stats.mana() - amount);
+        return ResourceStatus.OK;
+    }
+
+    /**
+     * Spends mana, throwing if there is not enough. Prefer
+     * {@link #tryUseMana(int)} on hot paths.
+     *
+     * @throws IllegalStateException if mana is insufficient
+     */
+    public void useMana(int amount) {
+        if (tryUseMana(amount) != ResourceStatus.OK) {
+            throw new IllegalStateException("Not enough mana");
+        }
     }
 
     public void restoreMana(int amount) {
@@ -105,11 +306,39 @@ public class Character {
         return stats.isDead();
     }
 
+    /**
+     * Appends {@code Name (TYPE) - HP: health/max, ATK: attack, DEF: defense},
+     * the same text as {@link #toString()}, without allocating.
+     */
+    public void appendTo(StringBuilder out) {
+        out.append(name).append(" (").append(type.name())
+                .append(") - HP: ").append(stats.health()).append('/').append(stats.maxHealth())
+                .append(", ATK: ").append(stats.attackPower())
+                .append(", DEF: ").append(stats.defense());
+    }
+
+    /**
+     * Writes the {@link #appendTo(StringBuilder)} text as UTF-8 at the
+     * buffer's position, from pre-encoded name bytes and without allocating.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public void writeTo(ByteBuffer out) {
+        out.put(nameBytes).put(OPEN_TYPE).put(TYPE_NAMES[type.ordinal()]).put(HEALTH_LABEL);
+        DecimalWriter.write(out, stats.health());
+        out.put((byte) '/');
+        DecimalWriter.write(out, stats.maxHealth());
+        out.put(ATTACK_LABEL);
+        DecimalWriter.write(out, stats.attackPower());
+        out.put(DEFENSE_LABEL);
+        DecimalWriter.write(out, stats.defense());
+    }
+
     @Override
     public String toString() {
-        return String.format("%s (%s) - HP: %d/%d, ATK: %d, DEF: %d",
-                name, type, stats.health(), stats.maxHealth(),
-                stats.attackPower(), stats.defense());
+        StringBuilder out = new StringBuilder(64);
+        appendTo(out);
+        return out.toString();
     }
 
     @Override
@@ -117,13 +346,15 @@ public class Character {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Character character = (Character) o;
-        return Objects.equals(name, character.name) &&
-                type == character.type;
+        // The cached hash rejects most mismatches before the name is compared
+        return hash == character.hash &&
+                type == character.type &&
+                name.equals(character.name);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, type);
+        return hash;
     }
 
     /**
@@ -158,6 +389,8 @@ public class Character {
         private CharacterStats stats;
         private AttackStrategy attackStrategy;
         private DefenseStrategy defenseStrategy;
+        private FallbackAttackPolicy fallbackPolicy = FallbackAttackPolicy.FORFEIT;
+        private Position position = Position.ORIGIN;
 
         public Builder name(String name) {
             this.name = name;
@@ -184,6 +417,22 @@ public class Character {
             return this;
         }
 
+        /**
+         * Optional; defaults to {@link FallbackAttackPolicy#FORFEIT}.
+         */
+        public Builder fallbackPolicy(FallbackAttackPolicy fallbackPolicy) {
+            this.fallbackPolicy = fallbackPolicy;
+            return this;
+        }
+
+        /**
+         * Optional; defaults to {@link Position#ORIGIN}.
+         */
+        public Builder position(Position position) {
+            this.position = position;
+            return this;
+        }
+
         /**
          * Validates all required fields and constructs the Character.
          *
@@ -216,8 +465,18 @@ public class Character {
                 throw new IllegalStateException("defenseStrategy is required");
             }
 
+            if (fallbackPolicy == null) {
+                throw new IllegalStateException("fallbackPolicy cannot be null");
+            }
+            if (position == null) {
+                throw new IllegalStateException("position cannot be null");
+            }
+
             // Construct and return character with all validated fields
-            return new Character(name, type, stats, attackStrategy, defenseStrategy);
+            Character character = new Character(name, type, stats, attackStrategy, defenseStrategy);
+            character.fallbackPolicy = fallbackPolicy;
+            character.position = position;
+            return character;
         }
     }
 
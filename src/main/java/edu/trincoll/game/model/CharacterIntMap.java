@@ -0,0 +1,165 @@
+package edu.trincoll.game.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Maps characters to {@code int} values by identity, for indexes such as
+ * character slots and scheduler ids.
+ *
+ * <p>An open-addressing table with linear probing, hashed on
+ * {@link Character#getId()}. Unlike {@code IdentityHashMap<Character, Integer>}
+ * it never boxes values and never calls {@code System.identityHashCode}, and a
+ * probe reads two arrays instead of chasing entry objects. Removal shifts
+ * later entries back, so there are no tombstones.</p>
+ *
+ * <p>Keys are compared with {@code ==}, like {@code IdentityHashMap}: two
+ * distinct characters that are {@code equals} are different keys. Not
+ * thread-safe.</p>
+ */
+public class CharacterIntMap {
+    /** Returned by lookups when the character is not a key. */
+    public static final int NO_VALUE = -1;
+
+    private static final int MIN_CAPACITY = 16;
+
+    private Character[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public CharacterIntMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * @param expectedSize number of keys the map holds without resizing
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public CharacterIntMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        // Keep the load factor at or below one half
+        int capacity = Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedSize * 2) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * @return the value for the character, or {@link #NO_VALUE} if absent
+     */
+    public int get(Character character) {
+        int index = indexOf(character);
+        return index < 0 ? NO_VALUE : values[index];
+    }
+
+    public boolean containsKey(Character character) {
+        return indexOf(character) >= 0;
+    }
+
+    /**
+     * @return the previous value, or {@link #NO_VALUE} if there was none
+     */
+    public int put(Character character, int value) {
+        Objects.requireNonNull(character, "Character cannot be null");
+        int index = slot(character);
+        Character key;
+        while ((key = keys[index]) != null) {
+            if (key == character) {
+                int previous = values[index];
+                values[index] = value;
+                return previous;
+            }
+            index = (index + 1) & mask;
+        }
+        keys[index] = character;
+        values[index] = value;
+        if (++size > keys.length / 2) {
+            resize();
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * @return the removed value, or {@link #NO_VALUE} if the character was absent
+     */
+    public int remove(Character character) {
+        int index = indexOf(character);
+        if (index < 0) {
+            return NO_VALUE;
+        }
+        int removed = values[index];
+        size--;
+        // Shift back later entries of the probe run so lookups never stop early
+        int gap = index;
+        int next = (gap + 1) & mask;
+        Character key;
+        while ((key = keys[next]) != null) {
+            int home = slot(key);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        return removed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    private int indexOf(Character character) {
+        if (character == null) {
+            return -1;
+        }
+        int index = slot(character);
+        Character key;
+        while ((key = keys[index]) != null) {
+            if (key == character) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table
+    private int slot(Character character) {
+        return (character.getId() * 0x9E3779B9) >>> (Integer.numberOfLeadingZeros(mask));
+    }
+
+    private void allocate(int capacity) {
+        keys = new Character[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private void resize() {
+        Character[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            Character key = oldKeys[i];
+            if (key != null) {
+                int index = slot(key);
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+}
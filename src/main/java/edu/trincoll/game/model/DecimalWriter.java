@@ -0,0 +1,37 @@
+package edu.trincoll.game.model;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Writes integers as ASCII decimal digits into a {@link ByteBuffer} without
+ * going through a {@code String}.
+ */
+public final class DecimalWriter {
+    private DecimalWriter() {
+    }
+
+    /**
+     * Writes {@code value} at the buffer's position, with a leading minus sign
+     * if negative.
+     *
+     * @throws java.nio.BufferOverflowException if the buffer is too small
+     */
+    public static void write(ByteBuffer out, int value) {
+        if (value < 0) {
+            out.put((byte) '-');
+        } else {
+            value = -value;
+        }
+        // Work with the negative value so Integer.MIN_VALUE needs no special case
+        int divisor = 1;
+        while (value / divisor <= -10) {
+            divisor *= 10;
+        }
+        while (divisor > 0) {
+            int digit = value / divisor;
+            out.put((byte) ('0' - digit));
+            value -= digit * divisor;
+            divisor /= 10;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package edu.trincoll.game.model;
+
+/**
+ * Notified synchronously whenever a character's health changes through
+ * {@link Character#takeDamage(int)}, {@link Character#heal(int)} or
+ * {@link Character#setHealth(int)}.
+ *
+ * <p>Listeners run on the thread that changed the health and should be
+ * cheap, e.g. updating an index.</p>
+ */
+@FunctionalInterface
+public interface HealthListener {
+    /**
+     * @param character      the character whose health changed
+     * @param previousHealth health before the change
+     * @param currentHealth  health after the change (differs from previousHealth)
+     */
+    void onHealthChanged(Character character, int previousHealth, int currentHealth);
+}
@@ -0,0 +1,27 @@
+package edu.trincoll.game.model;
+
+/**
+ * A point in the arena, in world units.
+ */
+public record Position(double x, double y) {
+    public static final Position ORIGIN = new Position(0, 0);
+
+    public Position {
+        if (!Double.isFinite(x) || !Double.isFinite(y)) {
+            throw new IllegalArgumentException("Coordinates must be finite");
+        }
+    }
+
+    /**
+     * Squared distance, cheaper than {@link #distanceTo(Position)} for comparisons.
+     */
+    public double distanceSquaredTo(Position other) {
+        double dx = x - other.x;
+        double dy = y - other.y;
+        return dx * dx + dy * dy;
+    }
+
+    public double distanceTo(Position other) {
+        return Math.sqrt(distanceSquaredTo(other));
+    }
+}
@@ -0,0 +1,10 @@
+package edu.trincoll.game.model;
+
+/**
+ * Result of trying to spend a character resource such as mana.
+ * Lets hot combat paths check for shortfalls without exceptions.
+ */
+public enum ResourceStatus {
+    OK,
+    INSUFFICIENT_MANA
+}
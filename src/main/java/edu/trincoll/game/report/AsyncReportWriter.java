@@ -0,0 +1,252 @@
+package edu.trincoll.game.report;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.simulation.BattleResult;
+import edu.trincoll.game.simulation.Matchup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Renders character and match summaries into reusable buffers and writes them
+ * to an NIO channel in large batches on a background thread.
+ *
+ * <p>The caller formats each record into one reused {@link StringBuilder}
+ * (no {@code String.format}), encodes it as UTF-8 straight into the current
+ * {@link ByteBuffer}, and moves on. When the buffer fills it is handed to the
+ * writer thread and the caller continues with a fresh one from a small pool,
+ * so I/O overlaps with simulation. The caller only waits if every buffer in
+ * the pool is queued for writing.</p>
+ *
+ * <p>A writer is meant to be fed by one thread. Records are written in the
+ * order they were submitted.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (AsyncReportWriter report = AsyncReportWriter.toFile(Path.of("matches.jsonl"), ReportFormat.JSON)) {
+ *     for (int i = 0; i < matchups.size(); i++) {
+ *         report.writeMatch(matchups.get(i), results.get(i));
+ *     }
+ * }
+ * }</pre>
+ */
+public class AsyncReportWriter implements AutoCloseable {
+    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+    private static final int DEFAULT_BUFFER_COUNT = 4;
+    // Sentinel telling the writer thread to stop
+    private static final ByteBuffer STOP = ByteBuffer.allocate(0);
+    private static final long FLUSH_POLL_NANOS = 10_000;
+
+    private final WritableByteChannel channel;
+    private final ReportFormat format;
+    private final BlockingQueue<ByteBuffer> free;
+    private final BlockingQueue<ByteBuffer> filled;
+    private final StringBuilder line = new StringBuilder(256);
+    private final Thread writer;
+    private ByteBuffer current;
+    private volatile IOException failure;
+    private boolean closed;
+    private long recordsWritten;
+
+    public AsyncReportWriter(WritableByteChannel channel, ReportFormat format) {
+        this(channel, format, DEFAULT_BUFFER_SIZE, DEFAULT_BUFFER_COUNT);
+    }
+
+    /**
+     * @param bufferSize  bytes per batch
+     * @param bufferCount buffers in the pool (at least 2 so formatting and writing overlap)
+     * @throws IllegalArgumentException if bufferCount is less than 2 or bufferSize is too small
+     */
+    public AsyncReportWriter(WritableByteChannel channel, ReportFormat format, int bufferSize, int bufferCount) {
+        if (bufferCount < 2) {
+            throw new IllegalArgumentException("Need at least two buffers");
+        }
+        if (bufferSize < 1024) {
+            throw new IllegalArgumentException("Buffer size must be at least 1024 bytes");
+        }
+        this.channel = channel;
+        this.format = format;
+        this.free = new ArrayBlockingQueue<>(bufferCount);
+        this.filled = new ArrayBlockingQueue<>(bufferCount + 1);
+        for (int i = 1; i < bufferCount; i++) {
+            free.add(ByteBuffer.allocateDirect(bufferSize));
+        }
+        this.current = ByteBuffer.allocateDirect(bufferSize);
+        this.writer = new Thread(this::writeLoop, "report-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Opens (creating or truncating) a file for the report.
+     */
+    public static AsyncReportWriter toFile(Path path, ReportFormat format) throws IOException {
+        return new AsyncReportWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), format);
+    }
+
+    /**
+     * Writes to an existing stream such as {@code System.out}. The stream is closed with the writer.
+     */
+    public static AsyncReportWriter toStream(OutputStream out, ReportFormat format) {
+        return new AsyncReportWriter(Channels.newChannel(out), format);
+    }
+
+    /**
+     * Queues a one-line summary of a character's current state.
+     *
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    public void writeCharacter(Character character) {
+        line.setLength(0);
+        ReportFormatter.appendCharacter(line, character, format);
+        append(line);
+    }
+
+    /**
+     * Queues a one-line summary of a simulated match.
+     *
+     * @throws UncheckedIOException if an earlier write failed
+     */
+    public void writeMatch(Matchup matchup, BattleResult result) {
+        line.setLength(0);
+        ReportFormatter.appendMatch(line, matchup, result, format);
+        append(line);
+    }
+
+    public long getRecordsWritten() {
+        return recordsWritten;
+    }
+
+    /**
+     * Hands off the partially filled buffer and waits until everything
+     * submitted so far has reached the channel.
+     *
+     * @throws UncheckedIOException if a write failed
+     */
+    public void flush() {
+        ensureOpen();
+        if (current.position() > 0) {
+            handOff();
+        }
+        // Every buffer back in the pool means nothing is pending
+        while (free.remainingCapacity() > 1 && failure == null) {
+            LockSupport.parkNanos(FLUSH_POLL_NANOS);
+        }
+        checkFailure();
+    }
+
+    /**
+     * Flushes, stops the writer thread and closes the channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (failure == null) {
+                if (current.position() > 0) {
+                    handOff();
+                }
+            }
+            putUninterruptibly(filled, STOP);
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closed = true;
+            channel.close();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private void append(CharSequence text) {
+        ensureOpen();
+        checkFailure();
+        // A record never straddles buffers; worst case UTF-8 is 3 bytes per char
+        if (current.remaining() < text.length() * 3) {
+            handOff();
+            if (current.remaining() < text.length() * 3) {
+                throw new IllegalArgumentException("Record larger than buffer");
+            }
+        }
+        Utf8.encode(text, current);
+        recordsWritten++;
+    }
+
+    private void handOff() {
+        current.flip();
+        putUninterruptibly(filled, current);
+        try {
+            current = free.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for a free report buffer", e);
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            ByteBuffer batch;
+            try {
+                batch = filled.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (batch == STOP) {
+                return;
+            }
+            try {
+                if (failure == null) {
+                    while (batch.hasRemaining()) {
+                        channel.write(batch);
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            batch.clear();
+            free.add(batch);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Report writer is closed");
+        }
+    }
+
+    private void checkFailure() {
+        if (failure != null) {
+            throw new UncheckedIOException("Report write failed", failure);
+        }
+    }
+
+    private static void putUninterruptibly(BlockingQueue<ByteBuffer> queue, ByteBuffer buffer) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(buffer);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package edu.trincoll.game.report;
+
+/**
+ * Output format of an {@link AsyncReportWriter}.
+ */
+public enum ReportFormat {
+    /** One human-readable line per record, matching {@code Character.toString()}. */
+    TEXT,
+    /** One JSON object per line (JSON Lines). */
+    JSON
+}
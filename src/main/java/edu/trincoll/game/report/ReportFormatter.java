@@ -0,0 +1,90 @@
+package edu.trincoll.game.report;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.simulation.BattleResult;
+import edu.trincoll.game.simulation.Matchup;
+
+/**
+ * Appends report records to a caller-supplied {@link StringBuilder} without
+ * {@code String.format}. Every method writes exactly one line, including the
+ * trailing newline.
+ */
+final class ReportFormatter {
+    private ReportFormatter() {
+    }
+
+    static void appendCharacter(StringBuilder out, Character character, ReportFormat format) {
+        if (format == ReportFormat.TEXT) {
+            character.appendTo(out);
+            out.append('\n');
+        } else {
+            CharacterStats stats = character.getStats();
+            out.append("{\"name\":");
+            appendJsonString(out, character.getName());
+            out.append(",\"type\":\"").append(character.getType().name())
+                    .append("\",\"hp\":").append(stats.health())
+                    .append(",\"maxHp\":").append(stats.maxHealth())
+                    .append(",\"atk\":").append(stats.attackPower())
+                    .append(",\"def\":").append(stats.defense())
+                    .append(",\"mana\":").append(stats.mana())
+                    .append(",\"maxMana\":").append(stats.maxMana())
+                    .append("}\n");
+        }
+    }
+
+    static void appendMatch(StringBuilder out, Matchup matchup, BattleResult result, ReportFormat format) {
+        if (format == ReportFormat.TEXT) {
+            out.append(matchup.first().name()).append(" vs ").append(matchup.second().name()).append(": ");
+            if (result.isDraw()) {
+                out.append("draw");
+            } else {
+                out.append(result.winner() == BattleResult.FIRST ? matchup.first().name() : matchup.second().name())
+                        .append(" wins");
+            }
+            out.append(" after ").append(result.turns()).append(" turns (HP ")
+                    .append(result.firstRemainingHealth()).append('/').append(result.secondRemainingHealth())
+                    .append(")\n");
+        } else {
+            out.append("{\"first\":\"").append(matchup.first().name())
+                    .append("\",\"second\":\"").append(matchup.second().name())
+                    .append("\",\"seed\":").append(matchup.seed())
+                    .append(",\"winner\":\"").append(winnerName(result.winner()))
+                    .append("\",\"turns\":").append(result.turns())
+                    .append(",\"firstHp\":").append(result.firstRemainingHealth())
+                    .append(",\"secondHp\":").append(result.secondRemainingHealth())
+                    .append("}\n");
+        }
+    }
+
+    private static String winnerName(int winner) {
+        return switch (winner) {
+            case BattleResult.FIRST -> "FIRST";
+            case BattleResult.SECOND -> "SECOND";
+            default -> "DRAW";
+        };
+    }
+
+    static void appendJsonString(StringBuilder out, CharSequence value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append("\\u00");
+                        out.append(java.lang.Character.forDigit(c >> 4, 16)).append(java.lang.Character.forDigit(c & 0xF, 16));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
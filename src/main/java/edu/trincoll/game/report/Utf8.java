@@ -0,0 +1,41 @@
+package edu.trincoll.game.report;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Allocation-free UTF-8 encoding of a {@link CharSequence} into a {@link ByteBuffer}.
+ */
+final class Utf8 {
+    private Utf8() {
+    }
+
+    /**
+     * Encodes {@code text} at the buffer's position. The caller guarantees
+     * at least {@code 3 * text.length()} bytes remain.
+     */
+    static void encode(CharSequence text, ByteBuffer out) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                out.put((byte) '?');
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+}
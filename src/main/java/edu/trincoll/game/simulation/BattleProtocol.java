@@ -0,0 +1,102 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Compact binary wire format shared by {@link SimulationCoordinator} and
+ * {@link SimulationWorker}.
+ *
+ * <h2>Frames</h2>
+ * <pre>
+ * worker -> coordinator
+ *   REQUEST   : byte
+ *   RESULTS   : byte, int batchId, int count, count x (byte winner, int turns, int hp1, int hp2)
+ * coordinator -> worker
+ *   BATCH     : byte, int batchId, int count, count x (byte type1, byte type2, long seed)
+ *   SHUTDOWN  : byte
+ * </pre>
+ *
+ * <p>Each REQUEST grants the coordinator one credit to send a BATCH, so a
+ * worker never holds more work than it asked for (back-pressure).</p>
+ *
+ * <p>Readers reject counts above {@link #MAX_FRAME_ITEMS} and unknown
+ * character types with an {@link IOException}, so a corrupt frame closes the
+ * connection instead of allocating a huge array or failing deep inside the
+ * simulator.</p>
+ */
+final class BattleProtocol {
+    static final byte REQUEST = 1;
+    static final byte RESULTS = 2;
+    static final byte BATCH = 3;
+    static final byte SHUTDOWN = 4;
+
+    /** Largest number of matchups or results a single frame may carry. */
+    static final int MAX_FRAME_ITEMS = 1 << 20;
+
+    private static final CharacterType[] TYPES = CharacterType.values();
+
+    private BattleProtocol() {
+    }
+
+    static void writeBatch(DataOutputStream out, int batchId, List<Matchup> matchups) throws IOException {
+        out.writeByte(BATCH);
+        out.writeInt(batchId);
+        out.writeInt(matchups.size());
+        for (Matchup matchup : matchups) {
+            out.writeByte(matchup.first().ordinal());
+            out.writeByte(matchup.second().ordinal());
+            out.writeLong(matchup.seed());
+        }
+    }
+
+    static Matchup[] readBatchBody(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        Matchup[] matchups = new Matchup[count];
+        for (int i = 0; i < count; i++) {
+            matchups[i] = new Matchup(readType(in), readType(in), in.readLong());
+        }
+        return matchups;
+    }
+
+    static void writeResults(DataOutputStream out, int batchId, BattleResult[] results) throws IOException {
+        out.writeByte(RESULTS);
+        out.writeInt(batchId);
+        out.writeInt(results.length);
+        for (BattleResult result : results) {
+            out.writeByte(result.winner());
+            out.writeInt(result.turns());
+            out.writeInt(result.firstRemainingHealth());
+            out.writeInt(result.secondRemainingHealth());
+        }
+    }
+
+    static BattleResult[] readResultsBody(DataInputStream in) throws IOException {
+        int count = readCount(in);
+        BattleResult[] results = new BattleResult[count];
+        for (int i = 0; i < count; i++) {
+            results[i] = new BattleResult(in.readByte(), in.readInt(), in.readInt(), in.readInt());
+        }
+        return results;
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > MAX_FRAME_ITEMS) {
+            throw new IOException("Invalid item count: " + count);
+        }
+        return count;
+    }
+
+    private static CharacterType readType(DataInputStream in) throws IOException {
+        byte ordinal = in.readByte();
+        if (ordinal < 0 || ordinal >= TYPES.length) {
+            throw new IOException("Invalid character type: " + ordinal);
+        }
+        return TYPES[ordinal];
+    }
+}
@@ -0,0 +1,19 @@
+package edu.trincoll.game.simulation;
+
+/**
+ * Outcome of a simulated one-on-one fight.
+ *
+ * @param winner                 {@link #FIRST}, {@link #SECOND} or {@link #DRAW}
+ * @param turns                  number of turns executed
+ * @param firstRemainingHealth   first combatant's health at the end
+ * @param secondRemainingHealth  second combatant's health at the end
+ */
+public record BattleResult(int winner, int turns, int firstRemainingHealth, int secondRemainingHealth) {
+    public static final int DRAW = -1;
+    public static final int FIRST = 0;
+    public static final int SECOND = 1;
+
+    public boolean isDraw() {
+        return winner == DRAW;
+    }
+}
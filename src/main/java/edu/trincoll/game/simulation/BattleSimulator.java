@@ -0,0 +1,97 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.CombatContext;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+/**
+ * Runs a single {@link Matchup} to completion using {@link CharacterFactory}
+ * characters and {@link StandardBattleSequence} turns.
+ *
+ * <p>Combatants alternate turns until one dies or {@link #MAX_TURNS} is
+ * reached, which is scored as a draw. The matchup seed decides who attacks
+ * first. A character that cannot pay for its attack (for example a mage
+ * without mana) falls back to its {@code FallbackAttackPolicy}.</p>
+ *
+ * <p>A stochastic simulator seeds a {@link CombatContext} from the matchup
+ * seed, so hit, miss and crit rolls are random yet fully reproducible, and
+ * parallel simulations never share a generator.</p>
+ */
+public class BattleSimulator {
+    /** Turn cap after which a fight is declared a draw. */
+    public static final int MAX_TURNS = 1000;
+
+    private final boolean stochastic;
+
+    /**
+     * Creates a deterministic simulator.
+     */
+    public BattleSimulator() {
+        this(false);
+    }
+
+    /**
+     * @param stochastic whether attacks roll for hits and crits using the matchup seed
+     */
+    public BattleSimulator(boolean stochastic) {
+        this.stochastic = stochastic;
+    }
+
+    /**
+     * Simulates one fight between freshly created characters.
+     */
+    public BattleResult simulate(Matchup matchup) {
+        Character first = CharacterFactory.createCharacter("First", matchup.first());
+        Character second = CharacterFactory.createCharacter("Second", matchup.second());
+        CombatContext context = stochastic ? CombatContext.seeded(matchup.seed()) : null;
+        return fight(first, second, (matchup.seed() & 1) == 0, context);
+    }
+
+    /**
+     * Simulates a deterministic fight between two already-built characters, mutating them.
+     *
+     * @param firstAttacksFirst whether {@code first} takes the opening turn
+     */
+    public BattleResult fight(Character first, Character second, boolean firstAttacksFirst) {
+        return fight(first, second, firstAttacksFirst, null);
+    }
+
+    /**
+     * Simulates a fight between two already-built characters, mutating them.
+     *
+     * @param firstAttacksFirst whether {@code first} takes the opening turn
+     * @param context           random rolls for the fight, or null for deterministic damage
+     */
+    public BattleResult fight(Character first, Character second, boolean firstAttacksFirst,
+                              CombatContext context) {
+        return fight(first, second, firstAttacksFirst, context, SequenceType.STANDARD);
+    }
+
+    /**
+     * Simulates a fight in which every turn uses the given sequence, mutating both characters.
+     *
+     * @param firstAttacksFirst whether {@code first} takes the opening turn
+     * @param context           random rolls for the fight, or null for deterministic damage
+     */
+    public BattleResult fight(Character first, Character second, boolean firstAttacksFirst,
+                              CombatContext context, SequenceType sequence) {
+        boolean firstsTurn = firstAttacksFirst;
+        int turns = 0;
+        while (first.isAlive() && second.isAlive() && turns < MAX_TURNS) {
+            Character attacker = firstsTurn ? first : second;
+            Character defender = firstsTurn ? second : first;
+            sequence.create(attacker, defender, context).executeTurn();
+            turns++;
+            firstsTurn = !firstsTurn;
+        }
+
+        int winner;
+        if (first.isAlive() == second.isAlive()) {
+            winner = BattleResult.DRAW;
+        } else {
+            winner = first.isAlive() ? BattleResult.FIRST : BattleResult.SECOND;
+        }
+        return new BattleResult(winner, turns, first.getStats().health(), second.getStats().health());
+    }
+}
@@ -0,0 +1,239 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.FallbackAttackPolicy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+
+/**
+ * Predicts the outcome of a deterministic {@link BattleSimulator} fight without
+ * running it turn by turn.
+ *
+ * <p>With the built-in strategies, the damage one side deals depends only on
+ * how many times it has attacked and on the health it has already taken off
+ * its target. Each side's damage therefore splits into a few constant phases:</p>
+ * <ul>
+ *   <li><b>Melee:</b> one phase of constant damage.</li>
+ *   <li><b>Ranged:</b> normal hits until the target drops below 30% health,
+ *       then critical hits.</li>
+ *   <li><b>Magic:</b> one phase per affordable cast (the mana bonus shrinks
+ *       by one each cast), then the fallback policy's damage.</li>
+ * </ul>
+ * <p>The number of attacks each side needs to kill comes straight from the
+ * phases, and the alternating turn order decides who lands the killing blow
+ * first. Cost is O(phases) instead of O(turns).</p>
+ *
+ * <p>Fights involving any other strategy or fallback policy, including
+ * modified or compiled strategies, are simulated on copies of the characters.
+ * Either way the arguments are never mutated and no combat events are published.</p>
+ */
+public class FightSolver {
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final BattleSimulator simulator = new BattleSimulator();
+
+    /**
+     * Predicts {@link BattleSimulator#simulate(Matchup)} for a deterministic simulator.
+     */
+    public BattleResult solve(Matchup matchup) {
+        Character first = CharacterFactory.createCharacter("First", matchup.first());
+        Character second = CharacterFactory.createCharacter("Second", matchup.second());
+        return solve(first, second, (matchup.seed() & 1) == 0);
+    }
+
+    /**
+     * Predicts {@link BattleSimulator#fight(Character, Character, boolean)}
+     * without modifying either character.
+     *
+     * @param firstAttacksFirst whether {@code first} takes the opening turn
+     */
+    public BattleResult solve(Character first, Character second, boolean firstAttacksFirst) {
+        if (!isSolvable(first) || !isSolvable(second)) {
+            return simulator.fight(copy(first), copy(second), firstAttacksFirst);
+        }
+        int firstHealth = first.getStats().health();
+        int secondHealth = second.getStats().health();
+        if (firstHealth == 0 || secondHealth == 0) {
+            return new BattleResult(winner(firstHealth > 0, secondHealth > 0), 0, firstHealth, secondHealth);
+        }
+
+        DamageProfile firstDamage = DamageProfile.of(first, second);
+        DamageProfile secondDamage = DamageProfile.of(second, first);
+
+        // Attack k (1-based) of the side that opens lands on turn 2k - 1, the other side's on turn 2k
+        long firstKillTurn = killTurn(firstDamage.attacksToDeal(secondHealth), firstAttacksFirst);
+        long secondKillTurn = killTurn(secondDamage.attacksToDeal(firstHealth), !firstAttacksFirst);
+        long endTurn = Math.min(firstKillTurn, secondKillTurn);
+
+        if (endTurn > BattleSimulator.MAX_TURNS) {
+            int turns = BattleSimulator.MAX_TURNS;
+            return new BattleResult(BattleResult.DRAW, turns,
+                    remaining(firstHealth, secondDamage, attacksWithin(turns, !firstAttacksFirst)),
+                    remaining(secondHealth, firstDamage, attacksWithin(turns, firstAttacksFirst)));
+        }
+        int turns = (int) endTurn;
+        if (firstKillTurn < secondKillTurn) {
+            return new BattleResult(BattleResult.FIRST, turns,
+                    remaining(firstHealth, secondDamage, attacksWithin(turns, !firstAttacksFirst)), 0);
+        }
+        return new BattleResult(BattleResult.SECOND, turns,
+                0, remaining(secondHealth, firstDamage, attacksWithin(turns, firstAttacksFirst)));
+    }
+
+    /**
+     * Whether a character's strategies are ones the solver can predict analytically.
+     */
+    public static boolean isSolvable(Character character) {
+        Class<? extends AttackStrategy> attack = character.getAttackStrategy().getClass();
+        Class<? extends DefenseStrategy> defense = character.getDefenseStrategy().getClass();
+        FallbackAttackPolicy fallback = character.getFallbackPolicy();
+        return (attack == MeleeAttackStrategy.class
+                || attack == RangedAttackStrategy.class
+                || attack == MagicAttackStrategy.class)
+                && (defense == StandardDefenseStrategy.class || defense == HeavyArmorDefenseStrategy.class)
+                && (fallback == FallbackAttackPolicy.FORFEIT || fallback == FallbackAttackPolicy.BASIC_ATTACK);
+    }
+
+    private static long killTurn(long attacks, boolean opensFight) {
+        if (attacks == NEVER) {
+            return NEVER;
+        }
+        return opensFight ? 2 * attacks - 1 : 2 * attacks;
+    }
+
+    private static long attacksWithin(int turns, boolean opensFight) {
+        return opensFight ? (turns + 1) / 2 : turns / 2;
+    }
+
+    private static int remaining(int health, DamageProfile incoming, long attacks) {
+        return (int) Math.max(0, health - incoming.damageAfter(attacks));
+    }
+
+    private static int winner(boolean firstAlive, boolean secondAlive) {
+        if (firstAlive == secondAlive) {
+            return BattleResult.DRAW;
+        }
+        return firstAlive ? BattleResult.FIRST : BattleResult.SECOND;
+    }
+
+    /**
+     * A fresh character with the same stats, strategies and fallback policy, but no event bus.
+     */
+    static Character copy(Character character) {
+        return Character.builder()
+                .name(character.getName())
+                .type(character.getType())
+                .stats(character.getStats())
+                .attackStrategy(character.getAttackStrategy())
+                .defenseStrategy(character.getDefenseStrategy())
+                .fallbackPolicy(character.getFallbackPolicy())
+                .build();
+    }
+
+    /**
+     * Damage one side deals to the other, as consecutive phases of constant
+     * per-attack damage after defense. The last phase never ends.
+     */
+    private record DamageProfile(long[] lengths, int[] damage) {
+
+        static DamageProfile of(Character attacker, Character target) {
+            int attackPower = attacker.getStats().attackPower();
+            AttackStrategy strategy = attacker.getAttackStrategy();
+
+            if (strategy instanceof MeleeAttackStrategy melee) {
+                return constant(dealt(target, melee.calculateDamage(attacker, target)));
+            }
+            if (strategy instanceof RangedAttackStrategy) {
+                return ranged(target, (int) (attackPower * 0.8));
+            }
+            return magic(attacker, target, attackPower);
+        }
+
+        private static DamageProfile constant(int damage) {
+            return new DamageProfile(new long[]{NEVER}, new int[]{damage});
+        }
+
+        // Normal hits while the target is at or above 30% health, critical hits after
+        private static DamageProfile ranged(Character target, int rawDamage) {
+            int health = target.getStats().health();
+            double critThreshold = target.getStats().maxHealth() * 0.3;
+            int normal = dealt(target, rawDamage);
+            int critical = dealt(target, (int) (rawDamage * 1.5));
+
+            if (health < critThreshold) {
+                return constant(critical);
+            }
+            if (normal == 0) {
+                return constant(0);
+            }
+            // First hit index j with health - j * normal below the threshold
+            long normalHits = (long) Math.floor((health - critThreshold) / normal) + 1;
+            while (normalHits > 0 && health - (normalHits - 1) * normal < critThreshold) {
+                normalHits--;
+            }
+            while (health - normalHits * normal >= critThreshold) {
+                normalHits++;
+            }
+            return new DamageProfile(new long[]{normalHits, NEVER}, new int[]{normal, critical});
+        }
+
+        // One phase per affordable cast: mana bonus is mana/10 and each cast costs 10
+        private static DamageProfile magic(Character attacker, Character target, int attackPower) {
+            int casts = attacker.getStats().mana() / 10;
+            long[] lengths = new long[casts + 1];
+            int[] damage = new int[casts + 1];
+            for (int cast = 0; cast < casts; cast++) {
+                lengths[cast] = 1;
+                damage[cast] = dealt(target, attackPower + casts - cast);
+            }
+            int fallback = attacker.getFallbackPolicy() == FallbackAttackPolicy.BASIC_ATTACK ? attackPower / 2 : 0;
+            lengths[casts] = NEVER;
+            damage[casts] = dealt(target, fallback);
+            return new DamageProfile(lengths, damage);
+        }
+
+        private static int dealt(Character target, int rawDamage) {
+            return Math.max(0, target.defend(rawDamage));
+        }
+
+        /**
+         * Attacks needed to deal at least {@code health} damage, or {@link #NEVER}.
+         */
+        long attacksToDeal(int health) {
+            long attacks = 0;
+            long left = health;
+            for (int phase = 0; phase < lengths.length; phase++) {
+                if (damage[phase] > 0) {
+                    long needed = (left + damage[phase] - 1) / damage[phase];
+                    if (needed <= lengths[phase]) {
+                        return attacks + needed;
+                    }
+                    left -= lengths[phase] * damage[phase];
+                } else if (lengths[phase] == NEVER) {
+                    return NEVER;
+                }
+                attacks += lengths[phase];
+            }
+            return NEVER;
+        }
+
+        /**
+         * Total damage after the given number of attacks.
+         */
+        long damageAfter(long attacks) {
+            long total = 0;
+            for (int phase = 0; phase < lengths.length && attacks > 0; phase++) {
+                long hits = Math.min(attacks, lengths[phase]);
+                total += hits * damage[phase];
+                attacks -= hits;
+            }
+            return total;
+        }
+    }
+}
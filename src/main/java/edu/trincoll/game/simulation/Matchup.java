@@ -0,0 +1,43 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * One fight to simulate: two factory-built character types and a seed.
+ *
+ * <p>The seed makes every matchup reproducible no matter which worker runs it
+ * or in what order.</p>
+ *
+ * @param first  type of the first combatant
+ * @param second type of the second combatant
+ * @param seed   per-matchup seed
+ */
+public record Matchup(CharacterType first, CharacterType second, long seed) {
+    public Matchup {
+        Objects.requireNonNull(first, "First type cannot be null");
+        Objects.requireNonNull(second, "Second type cannot be null");
+    }
+
+    /**
+     * Generates every ordered pairing of character types {@code rounds} times,
+     * with seeds derived deterministically from {@code baseSeed}.
+     */
+    public static List<Matchup> roundRobin(int rounds, long baseSeed) {
+        CharacterType[] types = CharacterType.values();
+        SplittableRandom seeds = new SplittableRandom(baseSeed);
+        List<Matchup> matchups = new ArrayList<>(rounds * types.length * types.length);
+        for (int round = 0; round < rounds; round++) {
+            for (CharacterType first : types) {
+                for (CharacterType second : types) {
+                    matchups.add(new Matchup(first, second, seeds.nextLong()));
+                }
+            }
+        }
+        return matchups;
+    }
+}
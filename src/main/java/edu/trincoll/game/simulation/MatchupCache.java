@@ -0,0 +1,492 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.FallbackAttackPolicy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded, thread-safe memo of deterministic fight outcomes for matchmaking.
+ *
+ * <p>An outcome depends only on both sides' current stats, their strategies and
+ * fallback policies, their types (for type-specific modifiers) and the
+ * {@link SequenceType}. These are packed into three {@code long}s: one per
+ * side's stats, plus one holding two interned strategy fingerprints and the
+ * sequence. Entries live in primitive arrays indexed by an open-addressing
+ * table rather than boxed key objects.</p>
+ *
+ * <h2>Admission and Eviction (W-TinyLFU)</h2>
+ * <ul>
+ *   <li>New entries enter a small LRU <b>window</b> (1% of capacity).</li>
+ *   <li>Entries leaving the window compete with the <b>probation</b> LRU victim
+ *       of the main area; the one a 4-bit count-min sketch has seen more often
+ *       stays. Sketch counters are halved periodically so old popularity fades.</li>
+ *   <li>A hit in probation promotes the entry to the <b>protected</b> segment
+ *       (80% of the main area), whose LRU entries are demoted back.</li>
+ * </ul>
+ *
+ * <p>The cache is split into independently locked segments by key hash.
+ * Outcomes are computed outside the lock, so two threads missing the same key
+ * at once may both compute it. Stats that do not fit the packed layout
+ * (health above 4095, other stats above 1023) bypass the cache.</p>
+ *
+ * <p>Built-in strategies are fingerprinted by class, factory-style characters
+ * without any lookup; any other strategy or policy instance gets its own fingerprint and is kept reachable by the
+ * fingerprint table for the cache's lifetime.</p>
+ */
+public class MatchupCache {
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final long UNPACKABLE = Long.MIN_VALUE;
+    private static final int MAX_HEALTH_FIELD = (1 << 12) - 1;
+    private static final int MAX_STAT_FIELD = (1 << 10) - 1;
+    private static final int MAX_FINGERPRINTS = 1 << 28;
+    private static final int BUILT_IN_FINGERPRINTS = 3 * 2 * 2 * CharacterType.values().length;
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    private static final int MAX_SEGMENTS = 16;
+
+    private static final Set<Class<?>> STATELESS_STRATEGIES = Set.of(
+            MeleeAttackStrategy.class, RangedAttackStrategy.class, MagicAttackStrategy.class,
+            StandardDefenseStrategy.class, HeavyArmorDefenseStrategy.class);
+
+    private final FightSolver solver = new FightSolver();
+    private final BattleSimulator simulator = new BattleSimulator();
+    private final Segment[] segments;
+    private final Map<Fingerprint, Integer> fingerprints = new ConcurrentHashMap<>();
+    private final AtomicInteger nextFingerprint = new AtomicInteger();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypasses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * @param maximumSize maximum number of cached outcomes
+     * @throws IllegalArgumentException if maximumSize is not positive
+     */
+    public MatchupCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        int count = 1;
+        while (count < MAX_SEGMENTS && maximumSize / (count * 2) >= MIN_SEGMENT_CAPACITY) {
+            count *= 2;
+        }
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * Outcome of a deterministic fight in which {@code attacker} takes the
+     * opening turn. {@link BattleResult#FIRST} is the attacker. Neither
+     * character is modified.
+     */
+    public BattleResult outcome(Character attacker, Character defender, SequenceType sequence) {
+        long attackerKey = pack(attacker.getStats());
+        long defenderKey = pack(defender.getStats());
+        int attackerPrint = fingerprint(attacker);
+        int defenderPrint = fingerprint(defender);
+        if (attackerKey == UNPACKABLE || defenderKey == UNPACKABLE || attackerPrint < 0 || defenderPrint < 0) {
+            bypasses.increment();
+            return compute(attacker, defender, sequence);
+        }
+        long strategyKey = ((long) attackerPrint << 36) | ((long) defenderPrint << 8) | sequence.ordinal();
+
+        int hash = hash(attackerKey, defenderKey, strategyKey);
+        Segment segment = segments[(hash >>> 16) & (segments.length - 1)];
+        BattleResult cached = segment.get(attackerKey, defenderKey, strategyKey, hash);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        BattleResult computed = compute(attacker, defender, sequence);
+        return segment.put(attackerKey, defenderKey, strategyKey, hash, computed);
+    }
+
+    /**
+     * Snapshot of the cache counters.
+     */
+    public Metrics metrics() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new Metrics(hits.sum(), misses.sum(), bypasses.sum(), evictions.sum(), rejections.sum(), size);
+    }
+
+    private BattleResult compute(Character attacker, Character defender, SequenceType sequence) {
+        if (sequence == SequenceType.STANDARD) {
+            return solver.solve(attacker, defender, true);
+        }
+        return simulator.fight(FightSolver.copy(attacker), FightSolver.copy(defender), true, null, sequence);
+    }
+
+    // health 12 | maxHealth 12 | attack 10 | defense 10 | mana 10 | maxMana 10; never MIN_VALUE since maxHealth > 0
+    static long pack(CharacterStats stats) {
+        if (stats.maxHealth() > MAX_HEALTH_FIELD || stats.attackPower() > MAX_STAT_FIELD
+                || stats.defense() > MAX_STAT_FIELD || stats.maxMana() > MAX_STAT_FIELD) {
+            return UNPACKABLE;
+        }
+        return ((long) stats.health() << 52)
+                | ((long) stats.maxHealth() << 40)
+                | ((long) stats.attackPower() << 30)
+                | ((long) stats.defense() << 20)
+                | ((long) stats.mana() << 10)
+                | stats.maxMana();
+    }
+
+    private int fingerprint(Character character) {
+        int builtIn = builtInFingerprint(character);
+        if (builtIn >= 0) {
+            return builtIn;
+        }
+        Fingerprint key = new Fingerprint(
+                strategyKey(character.getAttackStrategy()),
+                strategyKey(character.getDefenseStrategy()),
+                character.getFallbackPolicy(),
+                character.getType());
+        Integer id = fingerprints.get(key);
+        if (id != null) {
+            return id;
+        }
+        if (BUILT_IN_FINGERPRINTS + nextFingerprint.get() >= MAX_FINGERPRINTS) {
+            return -1;
+        }
+        return fingerprints.computeIfAbsent(key, k -> BUILT_IN_FINGERPRINTS + nextFingerprint.getAndIncrement());
+    }
+
+    // Factory-style characters are numbered arithmetically: attack x defense x fallback x type
+    private static int builtInFingerprint(Character character) {
+        Class<?> attack = character.getAttackStrategy().getClass();
+        Class<?> defense = character.getDefenseStrategy().getClass();
+        FallbackAttackPolicy fallback = character.getFallbackPolicy();
+        int attackIndex = attack == MeleeAttackStrategy.class ? 0
+                : attack == RangedAttackStrategy.class ? 1
+                : attack == MagicAttackStrategy.class ? 2 : -1;
+        int defenseIndex = defense == StandardDefenseStrategy.class ? 0
+                : defense == HeavyArmorDefenseStrategy.class ? 1 : -1;
+        int fallbackIndex = fallback == FallbackAttackPolicy.FORFEIT ? 0
+                : fallback == FallbackAttackPolicy.BASIC_ATTACK ? 1 : -1;
+        if (attackIndex < 0 || defenseIndex < 0 || fallbackIndex < 0) {
+            return -1;
+        }
+        return ((attackIndex * 2 + defenseIndex) * 2 + fallbackIndex) * CharacterType.values().length
+                + character.getType().ordinal();
+    }
+
+    private static Object strategyKey(Object strategy) {
+        return STATELESS_STRATEGIES.contains(strategy.getClass()) ? strategy.getClass() : strategy;
+    }
+
+    private static int hash(long a, long b, long c) {
+        long h = a * 0x9E3779B97F4A7C15L;
+        h = (h ^ b) * 0xC2B2AE3D27D4EB4FL;
+        h = (h ^ c) * 0x165667B19E3779F9L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private record Fingerprint(Object attack, Object defense, FallbackAttackPolicy fallback, CharacterType type) {
+    }
+
+    /**
+     * Counters for sizing the cache.
+     *
+     * @param hits       lookups answered from the cache
+     * @param misses     lookups that computed and offered a new outcome
+     * @param bypasses   lookups whose stats did not fit the packed key
+     * @param evictions  entries removed to make room
+     * @param rejections new entries refused admission in favour of a more frequent one
+     * @param size       entries currently cached
+     */
+    public record Metrics(long hits, long misses, long bypasses, long evictions, long rejections, int size) {
+        /**
+         * Share of cacheable lookups that were hits, or 0 before any lookup.
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * One independently locked W-TinyLFU cache. Nodes are array slots linked
+     * into three LRU queues (head = least recent).
+     */
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final int capacity;
+        private final int windowMax;
+        private final int protectedMax;
+        private final FrequencySketch sketch;
+
+        private final long[] keys;
+        private final int[] hashes;
+        private final BattleResult[] values;
+        private final int[] prev;
+        private final int[] next;
+        private final byte[] queue;
+        private final int[] table;
+        private final int mask;
+
+        private final int[] head = {-1, -1, -1};
+        private final int[] tail = {-1, -1, -1};
+        private final int[] queueSize = new int[3];
+        private int allocated;
+        private int free = -1;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.windowMax = Math.max(1, capacity / 100);
+            this.protectedMax = (capacity - windowMax) * 4 / 5;
+            this.sketch = new FrequencySketch(capacity);
+            // One spare node: the window briefly holds an extra entry before admission
+            int nodes = capacity + 1;
+            this.keys = new long[nodes * 3];
+            this.hashes = new int[nodes];
+            this.values = new BattleResult[nodes];
+            this.prev = new int[nodes];
+            this.next = new int[nodes];
+            this.queue = new byte[nodes];
+            this.table = new int[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1];
+            this.mask = table.length - 1;
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return queueSize[WINDOW] + queueSize[PROBATION] + queueSize[PROTECTED];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        BattleResult get(long a, long b, long c, int hash) {
+            lock.lock();
+            try {
+                sketch.increment(hash);
+                int node = find(a, b, c, hash);
+                if (node < 0) {
+                    return null;
+                }
+                onHit(node);
+                return values[node];
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        BattleResult put(long a, long b, long c, int hash, BattleResult value) {
+            lock.lock();
+            try {
+                int existing = find(a, b, c, hash);
+                if (existing >= 0) {
+                    return values[existing];
+                }
+                int node = allocate();
+                keys[node * 3] = a;
+                keys[node * 3 + 1] = b;
+                keys[node * 3 + 2] = c;
+                hashes[node] = hash;
+                values[node] = value;
+                index(node);
+                link(WINDOW, node);
+                if (queueSize[WINDOW] > windowMax) {
+                    admitFromWindow();
+                }
+                return value;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void onHit(int node) {
+            switch (queue[node]) {
+                case WINDOW, PROTECTED -> {
+                    unlink(node);
+                    link(queue[node], node);
+                }
+                default -> {
+                    unlink(node);
+                    link(PROTECTED, node);
+                    if (queueSize[PROTECTED] > protectedMax) {
+                        int demoted = head[PROTECTED];
+                        unlink(demoted);
+                        link(PROBATION, demoted);
+                    }
+                }
+            }
+        }
+
+        private void admitFromWindow() {
+            int candidate = head[WINDOW];
+            unlink(candidate);
+            if (queueSize[PROBATION] + queueSize[PROTECTED] < capacity - windowMax) {
+                link(PROBATION, candidate);
+                return;
+            }
+            int victim = head[PROBATION] >= 0 ? head[PROBATION] : head[PROTECTED];
+            if (victim >= 0 && sketch.frequency(hashes[candidate]) > sketch.frequency(hashes[victim])) {
+                unlink(victim);
+                release(victim);
+                evictions.increment();
+                link(PROBATION, candidate);
+            } else {
+                release(candidate);
+                rejections.increment();
+                evictions.increment();
+            }
+        }
+
+        private int allocate() {
+            if (free >= 0) {
+                int node = free;
+                free = next[node];
+                return node;
+            }
+            return allocated++;
+        }
+
+        private void release(int node) {
+            unindex(node);
+            values[node] = null;
+            next[node] = free;
+            free = node;
+        }
+
+        private int find(long a, long b, long c, int hash) {
+            for (int slot = hash & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int node = table[slot] - 1;
+                if (keys[node * 3] == a && keys[node * 3 + 1] == b && keys[node * 3 + 2] == c) {
+                    return node;
+                }
+            }
+            return -1;
+        }
+
+        private void index(int node) {
+            int slot = hashes[node] & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = node + 1;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        private void unindex(int node) {
+            int gap = hashes[node] & mask;
+            while (table[gap] != node + 1) {
+                gap = (gap + 1) & mask;
+            }
+            for (int slot = (gap + 1) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+                int ideal = hashes[table[slot] - 1] & mask;
+                if (((slot - ideal) & mask) >= ((slot - gap) & mask)) {
+                    table[gap] = table[slot];
+                    gap = slot;
+                }
+            }
+            table[gap] = 0;
+        }
+
+        private void link(int q, int node) {
+            queue[node] = (byte) q;
+            prev[node] = tail[q];
+            next[node] = -1;
+            if (tail[q] >= 0) {
+                next[tail[q]] = node;
+            } else {
+                head[q] = node;
+            }
+            tail[q] = node;
+            queueSize[q]++;
+        }
+
+        private void unlink(int node) {
+            int q = queue[node];
+            if (prev[node] >= 0) {
+                next[prev[node]] = next[node];
+            } else {
+                head[q] = next[node];
+            }
+            if (next[node] >= 0) {
+                prev[next[node]] = prev[node];
+            } else {
+                tail[q] = prev[node];
+            }
+            queueSize[q]--;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters, sixteen per {@code long}, with
+     * periodic halving so the estimate favours recent popularity.
+     */
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = {
+                0x97CB3127L, 0xA6F3C7E5L, 0x8F0B4D29L, 0xC3A5C85CL};
+        private static final long HALF_MASK = 0x7777_7777_7777_7777L;
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int length = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+            this.table = new long[length];
+            this.mask = length - 1;
+            this.sampleSize = 10 * Math.max(16, capacity);
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int h = rehash(hash, i);
+                int index = h & mask;
+                int shift = ((h >>> 28) & 15) << 2;
+                if (((table[index] >>> shift) & 15) < 15) {
+                    table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & HALF_MASK;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(int hash) {
+            int min = 15;
+            for (int i = 0; i < SEEDS.length; i++) {
+                int h = rehash(hash, i);
+                min = Math.min(min, (int) ((table[h & mask] >>> (((h >>> 28) & 15) << 2)) & 15));
+            }
+            return min;
+        }
+
+        private static int rehash(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            h += h >>> 32;
+            return (int) h;
+        }
+    }
+}
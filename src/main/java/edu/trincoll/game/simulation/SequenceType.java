@@ -0,0 +1,32 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.CombatContext;
+import edu.trincoll.game.template.BattleSequence;
+import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
+
+/**
+ * The {@link BattleSequence} every turn of a simulated fight uses.
+ */
+public enum SequenceType {
+    STANDARD {
+        @Override
+        public BattleSequence create(Character attacker, Character defender, CombatContext context) {
+            return new StandardBattleSequence(attacker, defender, context);
+        }
+    },
+    POWER_ATTACK {
+        @Override
+        public BattleSequence create(Character attacker, Character defender, CombatContext context) {
+            return new PowerAttackSequence(attacker, defender, context);
+        }
+    };
+
+    /**
+     * Creates the sequence for one turn.
+     *
+     * @param context random rolls for the turn, or null for deterministic damage
+     */
+    public abstract BattleSequence create(Character attacker, Character defender, CombatContext context);
+}
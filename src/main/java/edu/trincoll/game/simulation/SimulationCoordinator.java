@@ -0,0 +1,410 @@
+package edu.trincoll.game.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coordinator side of a distributed arena simulation.
+ *
+ * <p>Splits a list of {@link Matchup}s into batches and hands them to connected
+ * {@link SimulationWorker}s over TCP. Workers pull work by sending credits, so
+ * a slow worker is never flooded (back-pressure) and a fast one simply asks
+ * more often.</p>
+ *
+ * <h2>Work Stealing</h2>
+ * <p>Once the queue is empty, an idle worker is given a copy of the oldest
+ * batch still running elsewhere. Whichever copy finishes first wins and the
+ * other result is ignored, so one straggler cannot hold up the whole run. If
+ * a worker disconnects, its unfinished batches go back to the front of the
+ * queue.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+ *     coordinator.start();
+ *     // launch workers against coordinator.getPort()
+ *     List<BattleResult> results = coordinator.run(
+ *             Matchup.roundRobin(1000, 42L), 256, 1, TimeUnit.MINUTES);
+ * }
+ * }</pre>
+ *
+ * <h2>Threading</h2>
+ * <p>Each connection has a reader thread and a writer thread. Scheduling
+ * decisions are made under the coordinator lock, but batches are only queued
+ * there; the writer thread encodes and sends them afterwards, so a worker with
+ * a full socket buffer never stalls the others.</p>
+ *
+ * <p>Results are returned in matchup order, and because every matchup carries
+ * its own seed they are identical regardless of how many workers took part.</p>
+ *
+ * @see BattleProtocol
+ */
+public class SimulationCoordinator implements AutoCloseable {
+    private static final int MAX_COPIES_PER_BATCH = 2;
+    // Queued after the last batch to make the writer send SHUTDOWN and stop
+    private static final Batch SHUTDOWN = new Batch(-1, 0, List.of());
+
+    private final ServerSocket server;
+    private final List<Connection> connections = new ArrayList<>();
+    private Thread acceptor;
+    private volatile boolean closed;
+
+    // Job state, guarded by this
+    private final Deque<Batch> queue = new ArrayDeque<>();
+    private final Map<Integer, InFlight> inFlight = new LinkedHashMap<>();
+    private BattleResult[] results;
+    private int remainingBatches;
+    private int nextBatchId;
+    private long batchesDispatched;
+    private long batchesStolen;
+
+    /**
+     * Binds to the given port on the loopback interface.
+     *
+     * @param port TCP port, or 0 to pick a free one
+     */
+    public SimulationCoordinator(int port) throws IOException {
+        this(port, InetAddress.getLoopbackAddress());
+    }
+
+    public SimulationCoordinator(int port, InetAddress bindAddress) throws IOException {
+        this.server = new ServerSocket(port, 50, bindAddress);
+    }
+
+    public int getPort() {
+        return server.getLocalPort();
+    }
+
+    /**
+     * Starts accepting worker connections in the background.
+     *
+     * @throws IllegalStateException if already started
+     */
+    public synchronized void start() {
+        if (acceptor != null) {
+            throw new IllegalStateException("Coordinator already started");
+        }
+        acceptor = new Thread(this::acceptLoop, "simulation-coordinator");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Blocks until at least {@code count} workers are connected.
+     *
+     * @throws TimeoutException if they do not connect in time
+     */
+    public synchronized void awaitWorkers(int count, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (connections.size() < count) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("Only " + connections.size() + " of " + count + " workers connected");
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+    }
+
+    /**
+     * Distributes the matchups to connected workers and waits for all results.
+     *
+     * @param batchSize matchups per batch, at most {@value BattleProtocol#MAX_FRAME_ITEMS}
+     * @return one result per matchup, in input order
+     * @throws IllegalArgumentException if the batch size is out of range
+     * @throws IllegalStateException if another run is in progress
+     * @throws TimeoutException if the run does not complete in time
+     */
+    public synchronized List<BattleResult> run(List<Matchup> matchups, int batchSize, long timeout, TimeUnit unit)
+            throws InterruptedException, TimeoutException {
+        if (batchSize <= 0 || batchSize > BattleProtocol.MAX_FRAME_ITEMS) {
+            throw new IllegalArgumentException(
+                    "Batch size must be between 1 and " + BattleProtocol.MAX_FRAME_ITEMS);
+        }
+        if (results != null) {
+            throw new IllegalStateException("A run is already in progress");
+        }
+
+        results = new BattleResult[matchups.size()];
+        for (int offset = 0; offset < matchups.size(); offset += batchSize) {
+            int end = Math.min(offset + batchSize, matchups.size());
+            queue.add(new Batch(nextBatchId++, offset, List.copyOf(matchups.subList(offset, end))));
+        }
+        remainingBatches = queue.size();
+
+        try {
+            dispatchAll();
+            long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (remainingBatches > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException(remainingBatches + " batches still outstanding");
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return Collections.unmodifiableList(Arrays.asList(results));
+        } finally {
+            results = null;
+            queue.clear();
+            inFlight.clear();
+            for (Connection connection : connections) {
+                connection.held.clear();
+            }
+        }
+    }
+
+    public synchronized int connectedWorkers() {
+        return connections.size();
+    }
+
+    public synchronized long getBatchesDispatched() {
+        return batchesDispatched;
+    }
+
+    /**
+     * @return batches handed to a second worker because the queue ran dry
+     */
+    public synchronized long getBatchesStolen() {
+        return batchesStolen;
+    }
+
+    /**
+     * Tells every worker to shut down and stops accepting connections.
+     */
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        server.close();
+        List<Connection> snapshot;
+        synchronized (this) {
+            snapshot = new ArrayList<>(connections);
+            for (Connection connection : snapshot) {
+                connection.outbox.add(SHUTDOWN);
+            }
+        }
+        for (Connection connection : snapshot) {
+            try {
+                connection.reader.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            connection.socket.close();
+        }
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                Connection connection = new Connection(socket);
+                synchronized (this) {
+                    connections.add(connection);
+                    notifyAll();
+                }
+                connection.reader.start();
+                connection.writer.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    // Transient accept failure; keep serving
+                    continue;
+                }
+            }
+        }
+    }
+
+    private void readLoop(Connection connection) {
+        try {
+            while (true) {
+                byte type = connection.in.readByte();
+                if (type == BattleProtocol.REQUEST) {
+                    synchronized (this) {
+                        connection.credits++;
+                        dispatch(connection);
+                    }
+                } else if (type == BattleProtocol.RESULTS) {
+                    int batchId = connection.in.readInt();
+                    BattleResult[] batchResults = BattleProtocol.readResultsBody(connection.in);
+                    synchronized (this) {
+                        complete(connection, batchId, batchResults);
+                    }
+                } else {
+                    throw new IOException("Unexpected frame type: " + type);
+                }
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                disconnect(connection);
+            }
+        }
+    }
+
+    // Runs without the coordinator lock, so a slow socket only blocks its own writer
+    private void writeLoop(Connection connection) {
+        try {
+            while (true) {
+                Batch batch = connection.outbox.take();
+                if (batch == SHUTDOWN) {
+                    connection.out.writeByte(BattleProtocol.SHUTDOWN);
+                    connection.out.flush();
+                    connection.socket.shutdownOutput();
+                    return;
+                }
+                BattleProtocol.writeBatch(connection.out, batch.id(), batch.matchups());
+                // Batches queued back to back share one flush
+                if (connection.outbox.isEmpty()) {
+                    connection.out.flush();
+                }
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                disconnect(connection);
+            }
+        } catch (InterruptedException e) {
+            // Disconnected; anything still queued was handed back to the queue
+        }
+    }
+
+    // Caller holds the lock
+    private void dispatchAll() {
+        for (Connection connection : connections) {
+            dispatch(connection);
+        }
+    }
+
+    // Caller holds the lock
+    private void dispatch(Connection connection) {
+        while (connection.credits > 0 && results != null) {
+            Batch batch = queue.poll();
+            if (batch != null) {
+                InFlight state = new InFlight(batch);
+                state.holders.add(connection);
+                inFlight.put(batch.id(), state);
+            } else {
+                batch = steal(connection);
+                if (batch == null) {
+                    return;
+                }
+            }
+            connection.held.add(batch.id());
+            connection.credits--;
+            connection.outbox.add(batch);
+            batchesDispatched++;
+        }
+    }
+
+    // Caller holds the lock
+    private Batch steal(Connection thief) {
+        for (InFlight candidate : inFlight.values()) {
+            if (!candidate.holders.contains(thief) && candidate.holders.size() < MAX_COPIES_PER_BATCH) {
+                candidate.holders.add(thief);
+                batchesStolen++;
+                return candidate.batch;
+            }
+        }
+        return null;
+    }
+
+    // Caller holds the lock
+    private void complete(Connection connection, int batchId, BattleResult[] batchResults) throws IOException {
+        InFlight finished = inFlight.get(batchId);
+        if (finished != null && batchResults.length != finished.batch.matchups().size()) {
+            throw new IOException("Batch " + batchId + " returned " + batchResults.length
+                    + " results for " + finished.batch.matchups().size() + " matchups");
+        }
+        connection.held.remove(batchId);
+        inFlight.remove(batchId);
+        if (finished == null || results == null) {
+            // Late duplicate of a stolen batch, or a batch from an earlier run
+            return;
+        }
+        for (Connection holder : finished.holders) {
+            holder.held.remove(batchId);
+        }
+        System.arraycopy(batchResults, 0, results, finished.batch.offset(), batchResults.length);
+        remainingBatches--;
+        if (remainingBatches == 0) {
+            notifyAll();
+        }
+    }
+
+    // Caller holds the lock
+    private void disconnect(Connection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        for (int batchId : connection.held) {
+            InFlight orphan = inFlight.get(batchId);
+            if (orphan == null) {
+                continue;
+            }
+            orphan.holders.remove(connection);
+            if (orphan.holders.isEmpty()) {
+                inFlight.remove(batchId);
+                queue.addFirst(orphan.batch);
+            }
+        }
+        connection.held.clear();
+        connection.writer.interrupt();
+        try {
+            connection.socket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        dispatchAll();
+    }
+
+    private record Batch(int id, int offset, List<Matchup> matchups) {
+    }
+
+    private static final class InFlight {
+        private final Batch batch;
+        private final Set<Connection> holders = new HashSet<>();
+
+        InFlight(Batch batch) {
+            this.batch = batch;
+        }
+    }
+
+    private final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+        private final Thread reader;
+        private final Thread writer;
+        private final BlockingQueue<Batch> outbox = new LinkedBlockingQueue<>();
+        // Guarded by the coordinator lock
+        private final Set<Integer> held = new HashSet<>();
+        private int credits;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            this.reader = new Thread(() -> readLoop(this), "simulation-worker-" + socket.getPort());
+            this.reader.setDaemon(true);
+            this.writer = new Thread(() -> writeLoop(this), "simulation-writer-" + socket.getPort());
+            this.writer.setDaemon(true);
+        }
+    }
+}
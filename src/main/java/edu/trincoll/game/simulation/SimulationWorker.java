@@ -0,0 +1,126 @@
+package edu.trincoll.game.simulation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.Socket;
+import java.net.SocketException;
+
+/**
+ * Worker side of a distributed arena simulation.
+ *
+ * <p>Connects to a {@link SimulationCoordinator}, pulls batches of matchups,
+ * runs them with {@link BattleSimulator} and streams the results back. The
+ * worker keeps {@code credits} requests outstanding so it always has the
+ * next batch queued while it is simulating the current one.</p>
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * java -cp build/classes/java/main edu.trincoll.game.simulation.SimulationWorker localhost 7000
+ * }</pre>
+ */
+public class SimulationWorker implements Runnable {
+    private static final int DEFAULT_CREDITS = 2;
+
+    private final String host;
+    private final int port;
+    private final int credits;
+    private final BattleSimulator simulator = new BattleSimulator();
+    private long matchupsSimulated;
+
+    public SimulationWorker(String host, int port) {
+        this(host, port, DEFAULT_CREDITS);
+    }
+
+    /**
+     * @param credits number of batches to request ahead of time
+     * @throws IllegalArgumentException if credits is not positive
+     */
+    public SimulationWorker(String host, int port, int credits) {
+        if (credits <= 0) {
+            throw new IllegalArgumentException("Credits must be positive");
+        }
+        this.host = host;
+        this.port = port;
+        this.credits = credits;
+    }
+
+    /**
+     * Processes batches until the coordinator sends SHUTDOWN or disconnects.
+     *
+     * @throws UncheckedIOException if the connection cannot be established
+     */
+    @Override
+    public void run() {
+        try {
+            work();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return number of matchups this worker has simulated
+     */
+    public long getMatchupsSimulated() {
+        return matchupsSimulated;
+    }
+
+    private void work() throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            try {
+                processBatches(in, out);
+            } catch (EOFException | SocketException e) {
+                // Coordinator went away - nothing left to do
+            }
+        }
+    }
+
+    private void processBatches(DataInputStream in, DataOutputStream out) throws IOException {
+        for (int i = 0; i < credits; i++) {
+            out.writeByte(BattleProtocol.REQUEST);
+        }
+        out.flush();
+
+        while (true) {
+            byte type = in.readByte();
+            if (type == BattleProtocol.SHUTDOWN) {
+                return;
+            }
+            if (type != BattleProtocol.BATCH) {
+                throw new IOException("Unexpected frame type: " + type);
+            }
+            int batchId = in.readInt();
+            Matchup[] matchups = BattleProtocol.readBatchBody(in);
+
+            BattleResult[] results = new BattleResult[matchups.length];
+            for (int i = 0; i < matchups.length; i++) {
+                results[i] = simulator.simulate(matchups[i]);
+            }
+            matchupsSimulated += matchups.length;
+
+            // Results and the next credit travel in one flush
+            BattleProtocol.writeResults(out, batchId, results);
+            out.writeByte(BattleProtocol.REQUEST);
+            out.flush();
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: SimulationWorker <host> <port> [credits]");
+            System.exit(1);
+        }
+        int credits = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CREDITS;
+        SimulationWorker worker = new SimulationWorker(args[0], Integer.parseInt(args[1]), credits);
+        worker.run();
+        System.out.println("Worker finished after " + worker.getMatchupsSimulated() + " matchups");
+    }
+}
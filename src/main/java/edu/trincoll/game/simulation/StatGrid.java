@@ -0,0 +1,112 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Grid of stat presets to try for one character type in a {@link BalanceSweep}.
+ *
+ * <p>Each dimension (health, attack, defense, mana) is a range; the grid is
+ * their cartesian product. Dimensions that are not set stay at the base
+ * preset's value.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * StatGrid warriors = StatGrid.builder(CharacterType.WARRIOR)
+ *     .health(130, 170, 10)
+ *     .attack(35, 45, 5)
+ *     .build(); // 5 x 3 = 15 presets
+ * }</pre>
+ *
+ * @param points every stat preset in the grid
+ */
+public record StatGrid(List<CharacterStats> points) {
+    public StatGrid {
+        if (points.isEmpty()) {
+            throw new IllegalArgumentException("Grid must contain at least one point");
+        }
+        points = List.copyOf(points);
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Starts a grid around the {@link CharacterFactory} preset for a type.
+     */
+    public static Builder builder(CharacterType type) {
+        return new Builder(CharacterFactory.createCharacter("Preset", type).getStats());
+    }
+
+    /**
+     * Starts a grid around explicit base stats.
+     */
+    public static Builder builder(CharacterStats base) {
+        return new Builder(Objects.requireNonNull(base, "Base stats cannot be null"));
+    }
+
+    public static class Builder {
+        private int[] health;
+        private int[] attack;
+        private int[] defense;
+        private int[] mana;
+
+        private Builder(CharacterStats base) {
+            this.health = new int[]{base.maxHealth()};
+            this.attack = new int[]{base.attackPower()};
+            this.defense = new int[]{base.defense()};
+            this.mana = new int[]{base.maxMana()};
+        }
+
+        public Builder health(int from, int to, int step) {
+            health = range(from, to, step);
+            return this;
+        }
+
+        public Builder attack(int from, int to, int step) {
+            attack = range(from, to, step);
+            return this;
+        }
+
+        public Builder defense(int from, int to, int step) {
+            defense = range(from, to, step);
+            return this;
+        }
+
+        public Builder mana(int from, int to, int step) {
+            mana = range(from, to, step);
+            return this;
+        }
+
+        public StatGrid build() {
+            List<CharacterStats> points = new ArrayList<>(health.length * attack.length * defense.length * mana.length);
+            for (int h : health) {
+                for (int a : attack) {
+                    for (int d : defense) {
+                        for (int m : mana) {
+                            points.add(CharacterStats.create(h, a, d, m));
+                        }
+                    }
+                }
+            }
+            return new StatGrid(points);
+        }
+
+        private static int[] range(int from, int to, int step) {
+            if (step <= 0 || to < from) {
+                throw new IllegalArgumentException("Invalid range: " + from + ".." + to + " step " + step);
+            }
+            int[] values = new int[(to - from) / step + 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = from + i * step;
+            }
+            return values;
+        }
+    }
+}
@@ -11,12 +11,36 @@ import edu.trincoll.game.model.Character;
  */
 @FunctionalInterface
 public interface AttackStrategy {
+    /**
+     * Result code returned instead of damage when the attacker cannot pay for
+     * the attack (e.g. not enough mana). Callers resolve it through the
+     * attacker's {@link FallbackAttackPolicy}. It lies outside any damage a
+     * formula produces in practice; every other negative result counts as
+     * zero damage.
+     */
+    int INSUFFICIENT_RESOURCE = Integer.MIN_VALUE;
+
     /**
      * Calculate damage dealt to the target.
      *
      * @param attacker The character performing the attack
      * @param target The character being attacked
-     * @return The amount of damage to apply (before defense calculation)
+     * @return The amount of damage to apply (before defense calculation),
+     *         or {@link #INSUFFICIENT_RESOURCE}; other negative values are
+     *         treated as zero
      */
     int calculateDamage(Character attacker, Character target);
+
+    /**
+     * Calculate damage using the context's random rolls for hits, misses and crits.
+     * Strategies without random elements keep the default, which ignores the context.
+     *
+     * @param attacker The character performing the attack
+     * @param target The character being attacked
+     * @param context Source of randomness for this match
+     * @return The amount of damage to apply (before defense calculation)
+     */
+    default int calculateDamage(Character attacker, Character target, CombatContext context) {
+        return calculateDamage(attacker, target);
+    }
 }
@@ -0,0 +1,76 @@
+package edu.trincoll.game.strategy;
+
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Per-match (or per-thread) source of randomness for stochastic combat.
+ *
+ * <p>Strategies receive a context through
+ * {@link AttackStrategy#calculateDamage(edu.trincoll.game.model.Character,
+ * edu.trincoll.game.model.Character, CombatContext)} and use it for hit, miss
+ * and critical-hit rolls. Each simulation owns its own generator, so parallel
+ * simulations never contend on a shared one, and a context created from a
+ * seed replays exactly the same rolls.</p>
+ *
+ * <p>A context is not thread-safe. Give each thread or match its own, using
+ * {@link #split()} to derive independent child contexts.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * CombatContext match = CombatContext.seeded(42L);
+ * int damage = archer.attack(enemy, match); // may miss or crit
+ * }</pre>
+ */
+public final class CombatContext {
+    private final RandomGenerator random;
+
+    private CombatContext(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Creates a reproducible context from a seed.
+     */
+    public static CombatContext seeded(long seed) {
+        return new CombatContext(new SplittableRandom(seed));
+    }
+
+    /**
+     * Wraps an existing generator. The caller must not share it across threads.
+     */
+    public static CombatContext of(RandomGenerator random) {
+        return new CombatContext(Objects.requireNonNull(random, "Random generator cannot be null"));
+    }
+
+    /**
+     * Derives an independent child context, e.g. one per parallel match.
+     * Splitting is itself deterministic, so a tree of contexts split from one
+     * seed is reproducible.
+     *
+     * @throws UnsupportedOperationException if the wrapped generator is not splittable
+     */
+    public CombatContext split() {
+        if (random instanceof RandomGenerator.SplittableGenerator splittable) {
+            return new CombatContext(splittable.split());
+        }
+        throw new UnsupportedOperationException("Generator is not splittable: " + random.getClass().getName());
+    }
+
+    /**
+     * Rolls against a probability in {@code [0, 1]}.
+     *
+     * @return true with the given probability
+     */
+    public boolean roll(double chance) {
+        return random.nextDouble() < chance;
+    }
+
+    /**
+     * The underlying generator, for strategies that need more than a simple roll.
+     */
+    public RandomGenerator random() {
+        return random;
+    }
+}
@@ -0,0 +1,31 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.model.Character;
+
+/**
+ * Decides what happens when a character's attack strategy reports
+ * {@link AttackStrategy#INSUFFICIENT_RESOURCE}, e.g. a mage out of mana.
+ *
+ * <p>Each character carries its own policy; callers such as
+ * {@code AttackCommand} and {@code BattleSequence} consult it instead of
+ * catching exceptions.</p>
+ */
+@FunctionalInterface
+public interface FallbackAttackPolicy {
+    /**
+     * The turn is lost: no damage is dealt.
+     */
+    FallbackAttackPolicy FORFEIT = (attacker, target) -> 0;
+
+    /**
+     * A plain weapon strike for half the attacker's attack power.
+     */
+    FallbackAttackPolicy BASIC_ATTACK = (attacker, target) -> attacker.getStats().attackPower() / 2;
+
+    /**
+     * @param attacker The character whose attack could not be paid for
+     * @param target The character being attacked
+     * @return The damage to apply instead (before defense calculation)
+     */
+    int fallbackDamage(Character attacker, Character target);
+}
@@ -1,6 +1,7 @@
 package edu.trincoll.game.strategy;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.ResourceStatus;
 
 /**
  * Magic attack strategy that uses mana to amplify damage.
@@ -8,10 +9,16 @@ import edu.trincoll.game.model.Character;
  *
  * <p><b>Damage Formula:</b> {@code baseDamage + (currentMana / 10)}</p>
  *
+ * <p>With less than 10 mana the attack returns
+ * {@link AttackStrategy#INSUFFICIENT_RESOURCE} instead of throwing, so
+ * mage-heavy simulations never pay for exception construction.</p>
+ *
  * @author Noella Uwayisenga
  * @see AttackStrategy
  */
 public class MagicAttackStrategy implements AttackStrategy {
+    static final int MANA_COST = 10;
+
     @Override
     public int calculateDamage(Character attacker, Character target) {
         // Base damage = attacker's attack power
@@ -23,8 +30,10 @@ public class MagicAttackStrategy implements AttackStrategy {
         // Total damage = base + mana bonus
         int totalDamage = baseDamage + manaBonus;
 
-        // Reduce attacker's mana by 10
-        attacker.useMana(10);
+        // Reduce attacker's mana by 10, reporting a shortfall without throwing
+        if (attacker.tryUseMana(MANA_COST) != ResourceStatus.OK) {
+            return INSUFFICIENT_RESOURCE;
+        }
 
         // Return total damage
         return totalDamage;
@@ -12,6 +12,7 @@ import edu.trincoll.game.model.Character;
  * <h2>Damage Calculation</h2>
  * <p>Formula: {@code damage = floor(attackPower × 1.2)}</p>
  * <p>Uses integer arithmetic for deterministic, reproducible results.</p>
+ * <p>With a {@link CombatContext}, each swing also has a 10% chance to crit for 1.5x.</p>
  *
  * <h2>Usage Example</h2>
  * <pre>{@code
@@ -26,6 +27,8 @@ import edu.trincoll.game.model.Character;
  * @see Character#attack(Character)
  */
 public class MeleeAttackStrategy implements AttackStrategy {
+    static final double CRIT_CHANCE = 0.1;
+
     /**
      * Calculates damage for a melee attack with 20% bonus.
      *
@@ -50,4 +53,10 @@ public class MeleeAttackStrategy implements AttackStrategy {
         // Return total as integer
         return totalDamage;
     }
+
+    @Override
+    public int calculateDamage(Character attacker, Character target, CombatContext context) {
+        int damage = calculateDamage(attacker, target);
+        return context.roll(CRIT_CHANCE) ? (int) (damage * 1.5) : damage;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,163 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Attack strategy with a stack of buffs, debuffs and elemental bonuses fused
+ * into a single evaluation step.
+ *
+ * <p>Every supported modifier is linear ({@code damage * factor + flat}), so
+ * any stack of them collapses into one multiplier and one flat bonus per
+ * target {@link CharacterType}. The builder folds the stack at build time;
+ * at call time the strategy does one base calculation, one table lookup and
+ * one multiply-add, whether one or fifty modifiers are stacked. Wrapping a
+ * {@code ModifiedAttackStrategy} again merges the tables instead of nesting,
+ * so the call chain never grows.</p>
+ *
+ * <p>Modifiers apply in the order they are added and the result is truncated
+ * to an integer once, at the end. Damage never drops below 0, and an
+ * {@link AttackStrategy#INSUFFICIENT_RESOURCE} result passes through unchanged.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * warrior.setAttackStrategy(ModifiedAttackStrategy.builder(new MeleeAttackStrategy())
+ *     .multiply(1.25)                        // battle cry buff
+ *     .add(5)                                // sharpened blade
+ *     .against(CharacterType.MAGE, 1.5)      // anti-magic rune
+ *     .build());
+ * }</pre>
+ *
+ * @see ModifiedDefenseStrategy
+ */
+public final class ModifiedAttackStrategy implements AttackStrategy {
+    private final AttackStrategy base;
+    private final double[] multiplierByType;
+    private final double[] flatByType;
+    private final int modifierCount;
+
+    private ModifiedAttackStrategy(AttackStrategy base, double[] multiplierByType, double[] flatByType,
+                                   int modifierCount) {
+        this.base = base;
+        this.multiplierByType = multiplierByType;
+        this.flatByType = flatByType;
+        this.modifierCount = modifierCount;
+    }
+
+    @Override
+    public int calculateDamage(Character attacker, Character target) {
+        return apply(base.calculateDamage(attacker, target), target);
+    }
+
+    @Override
+    public int calculateDamage(Character attacker, Character target, CombatContext context) {
+        return apply(base.calculateDamage(attacker, target, context), target);
+    }
+
+    private int apply(int damage, Character target) {
+        if (damage == INSUFFICIENT_RESOURCE) {
+            return damage;
+        }
+        int type = target.getType().ordinal();
+        return Math.max(0, (int) (damage * multiplierByType[type] + flatByType[type]));
+    }
+
+    /**
+     * The unmodified strategy this one wraps.
+     */
+    public AttackStrategy getBase() {
+        return base;
+    }
+
+    /**
+     * Number of modifiers folded into this strategy.
+     */
+    public int getModifierCount() {
+        return modifierCount;
+    }
+
+    /**
+     * Starts a modifier stack on top of {@code base}. If {@code base} is already
+     * a {@code ModifiedAttackStrategy}, its modifiers are carried over.
+     */
+    public static Builder builder(AttackStrategy base) {
+        return new Builder(Objects.requireNonNull(base, "Base strategy cannot be null"));
+    }
+
+    /**
+     * Folds modifiers into per-type multiplier and flat-bonus tables.
+     */
+    public static class Builder {
+        private final AttackStrategy base;
+        private final double[] multiplierByType;
+        private final double[] flatByType;
+        private int modifierCount;
+
+        private Builder(AttackStrategy base) {
+            if (base instanceof ModifiedAttackStrategy modified) {
+                this.base = modified.base;
+                this.multiplierByType = modified.multiplierByType.clone();
+                this.flatByType = modified.flatByType.clone();
+                this.modifierCount = modified.modifierCount;
+            } else {
+                this.base = base;
+                this.multiplierByType = new double[CharacterType.values().length];
+                this.flatByType = new double[CharacterType.values().length];
+                Arrays.fill(multiplierByType, 1.0);
+            }
+        }
+
+        /**
+         * Scales damage, e.g. {@code 1.2} for a 20% buff or {@code 0.8} for a 20% debuff.
+         *
+         * @throws IllegalArgumentException if factor is negative
+         */
+        public Builder multiply(double factor) {
+            requireNonNegative(factor);
+            for (int i = 0; i < multiplierByType.length; i++) {
+                multiplierByType[i] *= factor;
+                flatByType[i] *= factor;
+            }
+            modifierCount++;
+            return this;
+        }
+
+        /**
+         * Adds (or, if negative, subtracts) a flat amount of damage.
+         */
+        public Builder add(int amount) {
+            for (int i = 0; i < flatByType.length; i++) {
+                flatByType[i] += amount;
+            }
+            modifierCount++;
+            return this;
+        }
+
+        /**
+         * Scales damage only against targets of the given type (elemental bonus).
+         *
+         * @throws IllegalArgumentException if factor is negative
+         */
+        public Builder against(CharacterType type, double factor) {
+            Objects.requireNonNull(type, "Type cannot be null");
+            requireNonNegative(factor);
+            multiplierByType[type.ordinal()] *= factor;
+            flatByType[type.ordinal()] *= factor;
+            modifierCount++;
+            return this;
+        }
+
+        public ModifiedAttackStrategy build() {
+            return new ModifiedAttackStrategy(base, multiplierByType.clone(), flatByType.clone(), modifierCount);
+        }
+
+        private static void requireNonNegative(double factor) {
+            if (factor < 0) {
+                throw new IllegalArgumentException("Factor cannot be negative");
+            }
+        }
+    }
+}
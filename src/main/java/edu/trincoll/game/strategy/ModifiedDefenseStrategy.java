@@ -0,0 +1,115 @@
+package edu.trincoll.game.strategy;
+
+import edu.trincoll.game.model.Character;
+
+import java.util.Objects;
+
+/**
+ * Defense strategy with a stack of damage-taken buffs and debuffs fused into
+ * a single multiply-add.
+ *
+ * <p>Modifiers act on the damage that gets through the base defense, in the
+ * order they are added; the stack is folded into one multiplier and one flat
+ * adjustment at build time. Wrapping a {@code ModifiedDefenseStrategy} again
+ * merges the stacks. The result is truncated once and never drops below 0.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * mage.setDefenseStrategy(ModifiedDefenseStrategy.builder(new StandardDefenseStrategy())
+ *     .multiply(0.8)   // stone skin: take 20% less
+ *     .add(-5)         // mana shield absorbs 5
+ *     .build());
+ * }</pre>
+ *
+ * @see ModifiedAttackStrategy
+ */
+public final class ModifiedDefenseStrategy implements DefenseStrategy {
+    private final DefenseStrategy base;
+    private final double multiplier;
+    private final double flat;
+    private final int modifierCount;
+
+    private ModifiedDefenseStrategy(DefenseStrategy base, double multiplier, double flat, int modifierCount) {
+        this.base = base;
+        this.multiplier = multiplier;
+        this.flat = flat;
+        this.modifierCount = modifierCount;
+    }
+
+    @Override
+    public int calculateDamageReduction(Character defender, int incomingDamage) {
+        int damage = base.calculateDamageReduction(defender, incomingDamage);
+        return Math.max(0, (int) (damage * multiplier + flat));
+    }
+
+    /**
+     * The unmodified strategy this one wraps.
+     */
+    public DefenseStrategy getBase() {
+        return base;
+    }
+
+    /**
+     * Number of modifiers folded into this strategy.
+     */
+    public int getModifierCount() {
+        return modifierCount;
+    }
+
+    /**
+     * Starts a modifier stack on top of {@code base}. If {@code base} is already
+     * a {@code ModifiedDefenseStrategy}, its modifiers are carried over.
+     */
+    public static Builder builder(DefenseStrategy base) {
+        return new Builder(Objects.requireNonNull(base, "Base strategy cannot be null"));
+    }
+
+    /**
+     * Folds modifiers into a single multiplier and flat adjustment.
+     */
+    public static class Builder {
+        private final DefenseStrategy base;
+        private double multiplier = 1.0;
+        private double flat;
+        private int modifierCount;
+
+        private Builder(DefenseStrategy base) {
+            if (base instanceof ModifiedDefenseStrategy modified) {
+                this.base = modified.base;
+                this.multiplier = modified.multiplier;
+                this.flat = modified.flat;
+                this.modifierCount = modified.modifierCount;
+            } else {
+                this.base = base;
+            }
+        }
+
+        /**
+         * Scales damage taken, e.g. {@code 0.8} to take 20% less or {@code 1.2} for a vulnerability.
+         *
+         * @throws IllegalArgumentException if factor is negative
+         */
+        public Builder multiply(double factor) {
+            if (factor < 0) {
+                throw new IllegalArgumentException("Factor cannot be negative");
+            }
+            multiplier *= factor;
+            flat *= factor;
+            modifierCount++;
+            return this;
+        }
+
+        /**
+         * Adds a flat amount to damage taken; negative values absorb damage.
+         */
+        public Builder add(int amount) {
+            flat += amount;
+            modifierCount++;
+            return this;
+        }
+
+        public ModifiedDefenseStrategy build() {
+            return new ModifiedDefenseStrategy(base, multiplier, flat, modifierCount);
+        }
+    }
+}
@@ -8,10 +8,17 @@ import edu.trincoll.game.model.Character;
  *
  * <p><b>Critical Hit:</b> Finishes weakened enemies efficiently.</p>
  *
+ * <p><b>Stochastic Mode:</b> With a {@link CombatContext}, the flat 80% accuracy
+ * becomes a real 80% hit roll (a miss deals 0), and any hit has a further 10%
+ * chance to crit in addition to the low-HP crit.</p>
+ *
  * @author Noella Uwayisenga
  * @see AttackStrategy
  */
 public class RangedAttackStrategy implements AttackStrategy {
+    static final double HIT_CHANCE = 0.8;
+    static final double CRIT_CHANCE = 0.1;
+
     @Override
     public int calculateDamage(Character attacker, Character target) {
         // Base damage = attacker's attack power
@@ -33,4 +40,21 @@ public class RangedAttackStrategy implements AttackStrategy {
         // Return total as integer
         return damageWithAccuracy;
     }
+
+    @Override
+    public int calculateDamage(Character attacker, Character target, CombatContext context) {
+        if (!context.roll(HIT_CHANCE)) {
+            return 0;
+        }
+
+        int damage = attacker.getStats().attackPower();
+
+        // Low-HP targets are always crit; otherwise roll for it
+        int targetHealth = target.getStats().health();
+        int targetMaxHealth = target.getStats().maxHealth();
+        if (targetHealth < targetMaxHealth * 0.3 || context.roll(CRIT_CHANCE)) {
+            damage = (int) (damage * 1.5);
+        }
+        return damage;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,249 @@
+package edu.trincoll.game.strategy.formula;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Emits the class file for a compiled formula: a final class with a no-arg
+ * constructor and one method implementing the strategy interface.
+ *
+ * <p>Formula code is straight-line arithmetic with no branches, so the class
+ * needs no StackMapTable and the emitter stays small.</p>
+ */
+final class FormulaClassWriter {
+    private static final int CLASS_VERSION = 61;
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final String CHARACTER = "edu/trincoll/game/model/Character";
+    private static final String STATS = "edu/trincoll/game/model/CharacterStats";
+    private static final String COMPILER = "edu/trincoll/game/strategy/formula/FormulaCompiler";
+
+    // Opcodes
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ILOAD = 0x15;
+    private static final int ALOAD = 0x19;
+    private static final int LDC2_W = 0x14;
+    private static final int I2D = 0x87;
+    private static final int D2I = 0x8e;
+    private static final int DADD = 0x63;
+    private static final int DSUB = 0x67;
+    private static final int DMUL = 0x6b;
+    private static final int DNEG = 0x77;
+    private static final int IRETURN = 0xac;
+    private static final int RETURN = 0xb1;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKESTATIC = 0xb8;
+
+    private final ConstantPool pool = new ConstantPool();
+
+    /**
+     * @param className        internal name, e.g. {@code edu/trincoll/game/strategy/formula/Formula}
+     * @param interfaceName    internal name of the strategy interface
+     * @param methodName       interface method to implement
+     * @param methodDescriptor its descriptor; must return {@code int}
+     * @param incomingDamageSlot local slot of the {@code int} damage argument, or -1
+     * @param formula          body of the method
+     */
+    byte[] write(String className, String interfaceName, String methodName, String methodDescriptor,
+                 int incomingDamageSlot, FormulaNode formula) {
+        int thisClass = pool.classRef(className);
+        int superClass = pool.classRef("java/lang/Object");
+        int iface = pool.classRef(interfaceName);
+
+        byte[] constructor = constructorCode();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        emit(body, formula, incomingDamageSlot);
+        body.write(D2I);
+        body.write(IRETURN);
+
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int name = pool.utf8(methodName);
+        int descriptor = pool.utf8(methodDescriptor);
+        int code = pool.utf8("Code");
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(0xCAFEBABE);
+            out.writeShort(0);
+            out.writeShort(CLASS_VERSION);
+            pool.writeTo(out);
+            out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(1);
+            out.writeShort(iface);
+            out.writeShort(0); // fields
+            out.writeShort(2); // methods
+            writeMethod(out, initName, initDescriptor, code, 1, 1, constructor);
+            writeMethod(out, name, descriptor, code, Math.max(2, formula.stackDepth()), 3, body.toByteArray());
+            out.writeShort(0); // class attributes
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] constructorCode() {
+        ByteArrayOutputStream code = new ByteArrayOutputStream();
+        code.write(ALOAD_0);
+        writeInstruction(code, INVOKESPECIAL, pool.methodRef("java/lang/Object", "<init>", "()V"));
+        code.write(RETURN);
+        return code.toByteArray();
+    }
+
+    private void emit(ByteArrayOutputStream code, FormulaNode node, int incomingDamageSlot) {
+        switch (node) {
+            case FormulaNode.Constant constant ->
+                    writeInstruction(code, LDC2_W, pool.doubleConstant(constant.value()));
+            case FormulaNode.IncomingDamage ignored -> {
+                code.write(ILOAD);
+                code.write(incomingDamageSlot);
+                code.write(I2D);
+            }
+            case FormulaNode.Stat stat -> {
+                code.write(ALOAD);
+                code.write(stat.argument());
+                writeInstruction(code, INVOKEVIRTUAL,
+                        pool.methodRef(CHARACTER, "getStats", "()L" + STATS + ";"));
+                writeInstruction(code, INVOKEVIRTUAL, pool.methodRef(STATS, stat.accessor(), "()I"));
+                code.write(I2D);
+            }
+            case FormulaNode.Negate negate -> {
+                emit(code, negate.operand(), incomingDamageSlot);
+                code.write(DNEG);
+            }
+            case FormulaNode.Binary binary -> {
+                emit(code, binary.left(), incomingDamageSlot);
+                emit(code, binary.right(), incomingDamageSlot);
+                switch (binary.operator()) {
+                    case '+' -> code.write(DADD);
+                    case '-' -> code.write(DSUB);
+                    case '*' -> code.write(DMUL);
+                    // DDIV would turn x / 0 into an infinity that truncates to Integer.MAX_VALUE
+                    case '/' -> writeInstruction(code, INVOKESTATIC,
+                            pool.methodRef(COMPILER, "divide", "(DD)D"));
+                    default -> throw new IllegalStateException("Unknown operator " + binary.operator());
+                }
+            }
+            case FormulaNode.Call call -> {
+                for (FormulaNode argument : call.arguments()) {
+                    emit(code, argument, incomingDamageSlot);
+                }
+                String descriptor = "(" + "D".repeat(call.arguments().length) + ")D";
+                writeInstruction(code, INVOKESTATIC, pool.methodRef("java/lang/Math", call.function(), descriptor));
+            }
+        }
+    }
+
+    private static void writeInstruction(ByteArrayOutputStream code, int opcode, int index) {
+        code.write(opcode);
+        code.write(index >> 8);
+        code.write(index);
+    }
+
+    private static void writeMethod(DataOutputStream out, int name, int descriptor, int codeAttribute,
+                                    int maxStack, int maxLocals, byte[] code) throws IOException {
+        out.writeShort(ACC_PUBLIC);
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1);
+        out.writeShort(codeAttribute);
+        out.writeInt(2 + 2 + 4 + code.length + 2 + 2);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(code.length);
+        out.write(code);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // code attributes
+    }
+
+    /**
+     * Deduplicating constant pool.
+     */
+    private static final class ConstantPool {
+        private static final int UTF8 = 1;
+        private static final int DOUBLE = 6;
+        private static final int CLASS = 7;
+        private static final int METHOD_REF = 10;
+        private static final int NAME_AND_TYPE = 12;
+
+        private final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(entries);
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private int nextIndex = 1;
+
+        int utf8(String value) {
+            return intern("U" + value, 1, () -> {
+                out.writeByte(UTF8);
+                out.writeUTF(value);
+            });
+        }
+
+        int classRef(String internalName) {
+            int name = utf8(internalName);
+            return intern("C" + internalName, 1, () -> {
+                out.writeByte(CLASS);
+                out.writeShort(name);
+            });
+        }
+
+        int doubleConstant(double value) {
+            // Doubles occupy two constant pool slots
+            return intern("D" + Double.doubleToRawLongBits(value), 2, () -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(value);
+            });
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = intern("N" + name + descriptor, 1, () -> {
+                out.writeByte(NAME_AND_TYPE);
+                out.writeShort(nameIndex);
+                out.writeShort(descriptorIndex);
+            });
+            return intern("M" + owner + "." + name + descriptor, 1, () -> {
+                out.writeByte(METHOD_REF);
+                out.writeShort(ownerIndex);
+                out.writeShort(nameAndType);
+            });
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            target.writeShort(nextIndex);
+            entries.writeTo(target);
+        }
+
+        private int intern(String key, int slots, Entry entry) {
+            Integer existing = indexes.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            try {
+                entry.write();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int index = nextIndex;
+            nextIndex += slots;
+            indexes.put(key, index);
+            return index;
+        }
+
+        @FunctionalInterface
+        private interface Entry {
+            void write() throws IOException;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.trincoll.game.strategy.formula;
+
+/**
+ * Parsed damage formula. All arithmetic is done in {@code double}.
+ */
+sealed interface FormulaNode {
+
+    /**
+     * Operand stack slots needed to evaluate this node (a double takes two).
+     */
+    int stackDepth();
+
+    record Constant(double value) implements FormulaNode {
+        @Override
+        public int stackDepth() {
+            return 2;
+        }
+    }
+
+    /**
+     * Damage passed into a defense formula ({@code dmg}).
+     */
+    record IncomingDamage() implements FormulaNode {
+        @Override
+        public int stackDepth() {
+            return 2;
+        }
+    }
+
+    /**
+     * A stat of one of the method's {@code Character} arguments.
+     *
+     * @param argument local variable slot of the character (1 or 2)
+     * @param accessor {@code CharacterStats} accessor, e.g. {@code attackPower}
+     */
+    record Stat(int argument, String accessor) implements FormulaNode {
+        @Override
+        public int stackDepth() {
+            return 2;
+        }
+    }
+
+    record Negate(FormulaNode operand) implements FormulaNode {
+        @Override
+        public int stackDepth() {
+            return operand.stackDepth();
+        }
+    }
+
+    record Binary(char operator, FormulaNode left, FormulaNode right) implements FormulaNode {
+        @Override
+        public int stackDepth() {
+            return Math.max(left.stackDepth(), 2 + right.stackDepth());
+        }
+    }
+
+    /**
+     * Call to a {@code java.lang.Math} method taking and returning doubles.
+     */
+    record Call(String function, FormulaNode... arguments) implements FormulaNode {
+        @Override
+        public int stackDepth() {
+            int depth = 0;
+            for (int i = 0; i < arguments.length; i++) {
+                depth = Math.max(depth, 2 * i + arguments[i].stackDepth());
+            }
+            return Math.max(depth, 2);
+        }
+    }
+}
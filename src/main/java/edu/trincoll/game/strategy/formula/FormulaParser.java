@@ -0,0 +1,219 @@
+package edu.trincoll.game.strategy.formula;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Recursive-descent parser for damage formulas.
+ *
+ * <pre>
+ * expression := term (('+' | '-') term)*
+ * term       := unary (('*' | '/') unary)*
+ * unary      := '-' unary | primary
+ * primary    := number | variable | function '(' expression (',' expression)* ')' | '(' expression ')'
+ * </pre>
+ */
+final class FormulaParser {
+    static final Map<String, String> STAT_ACCESSORS = Map.of(
+            "hp", "health",
+            "maxhp", "maxHealth",
+            "atk", "attackPower",
+            "def", "defense",
+            "mana", "mana",
+            "maxmana", "maxMana"
+    );
+
+    private static final Map<String, Integer> FUNCTION_ARITY = Map.of(
+            "min", 2,
+            "max", 2,
+            "floor", 1
+    );
+
+    private final String source;
+    private final boolean defense;
+    private int position;
+
+    /**
+     * @param defense whether this is a defense formula ({@code dmg} allowed, no {@code target.*})
+     */
+    private FormulaParser(String source, boolean defense) {
+        this.source = source;
+        this.defense = defense;
+    }
+
+    static FormulaNode parse(String source, boolean defense) {
+        FormulaParser parser = new FormulaParser(source, defense);
+        FormulaNode node = parser.expression();
+        parser.skipWhitespace();
+        if (parser.position < source.length()) {
+            throw parser.error("Unexpected '" + source.charAt(parser.position) + "'");
+        }
+        return node;
+    }
+
+    /**
+     * Cache key for a formula: its tokens, identifiers lower-cased, joined by
+     * single spaces. Formulas differing only in spacing or case share a key,
+     * while {@code "1 2"} and {@code "12"} do not.
+     */
+    static String tokenKey(String source) {
+        StringBuilder key = new StringBuilder(source.length());
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int start = i++;
+            if (Character.isDigit(c) || c == '.') {
+                while (i < source.length() && (Character.isDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+            } else if (Character.isLetter(c)) {
+                while (i < source.length()
+                        && (Character.isLetterOrDigit(source.charAt(i)) || source.charAt(i) == '.')) {
+                    i++;
+                }
+            }
+            if (!key.isEmpty()) {
+                key.append(' ');
+            }
+            key.append(source.substring(start, i).toLowerCase(Locale.ROOT));
+        }
+        return key.toString();
+    }
+
+    private FormulaNode expression() {
+        FormulaNode node = term();
+        while (true) {
+            if (accept('+')) {
+                node = new FormulaNode.Binary('+', node, term());
+            } else if (accept('-')) {
+                node = new FormulaNode.Binary('-', node, term());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private FormulaNode term() {
+        FormulaNode node = unary();
+        while (true) {
+            if (accept('*')) {
+                node = new FormulaNode.Binary('*', node, unary());
+            } else if (accept('/')) {
+                node = new FormulaNode.Binary('/', node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private FormulaNode unary() {
+        if (accept('-')) {
+            return new FormulaNode.Negate(unary());
+        }
+        return primary();
+    }
+
+    private FormulaNode primary() {
+        skipWhitespace();
+        if (position >= source.length()) {
+            throw error("Unexpected end of formula");
+        }
+        if (accept('(')) {
+            FormulaNode node = expression();
+            expect(')');
+            return node;
+        }
+        char c = source.charAt(position);
+        if (Character.isDigit(c) || c == '.') {
+            return number();
+        }
+        if (Character.isLetter(c)) {
+            return identifier();
+        }
+        throw error("Unexpected '" + c + "'");
+    }
+
+    private FormulaNode number() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        try {
+            return new FormulaNode.Constant(Double.parseDouble(source.substring(start, position)));
+        } catch (NumberFormatException e) {
+            position = start;
+            throw error("Malformed number");
+        }
+    }
+
+    private FormulaNode identifier() {
+        int start = position;
+        while (position < source.length()
+                && (Character.isLetterOrDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+            position++;
+        }
+        String name = source.substring(start, position).toLowerCase(Locale.ROOT);
+
+        if (FUNCTION_ARITY.containsKey(name)) {
+            return call(name, FUNCTION_ARITY.get(name));
+        }
+        if (defense && name.equals("dmg")) {
+            return new FormulaNode.IncomingDamage();
+        }
+        int argument = 1;
+        String stat = name;
+        if (!defense && name.startsWith("target.")) {
+            argument = 2;
+            stat = name.substring("target.".length());
+        }
+        String accessor = STAT_ACCESSORS.get(stat);
+        if (accessor == null) {
+            position = start;
+            throw error("Unknown variable '" + name + "'");
+        }
+        return new FormulaNode.Stat(argument, accessor);
+    }
+
+    private FormulaNode call(String function, int arity) {
+        expect('(');
+        FormulaNode[] arguments = new FormulaNode[arity];
+        for (int i = 0; i < arity; i++) {
+            if (i > 0) {
+                expect(',');
+            }
+            arguments[i] = expression();
+        }
+        expect(')');
+        return new FormulaNode.Call(function, arguments);
+    }
+
+    private boolean accept(char expected) {
+        skipWhitespace();
+        if (position < source.length() && source.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) {
+        if (!accept(expected)) {
+            throw error("Expected '" + expected + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + position + " in formula: " + source);
+    }
+}
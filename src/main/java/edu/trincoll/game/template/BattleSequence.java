@@ -1,6 +1,9 @@
 package edu.trincoll.game.template;
 
+import edu.trincoll.game.event.CombatEventBus;
+import edu.trincoll.game.event.CombatEventType;
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.CombatContext;
 
 /**
  * Template Method pattern for battle sequences.
@@ -14,14 +17,23 @@ import edu.trincoll.game.model.Character;
  * 5. End turn
  *
  * Subclasses can override hook methods to customize behavior.
+ *
+ * An optional CombatContext supplies random rolls; without one, attacks use
+ * the deterministic strategy calculation.
  */
 public abstract class BattleSequence {
     protected final Character attacker;
     protected final Character defender;
+    protected final CombatContext context;
 
     public BattleSequence(Character attacker, Character defender) {
+        this(attacker, defender, null);
+    }
+
+    public BattleSequence(Character attacker, Character defender, CombatContext context) {
         this.attacker = attacker;
         this.defender = defender;
+        this.context = context;
     }
 
     /**
@@ -33,11 +45,18 @@ public abstract class BattleSequence {
      * @author Chris Burns
      */
     public final void executeTurn() {
+        CombatEventBus bus = attacker.getEventBus();
+        if (bus != null) {
+            bus.publish(CombatEventType.TURN_START, attacker, defender, 0, this);
+        }
         beginTurn();
         preAttackAction();
         performAttack();
         postAttackAction();
         endTurn();
+        if (bus != null) {
+            bus.publish(CombatEventType.TURN_END, attacker, defender, 0, this);
+        }
     }
 
     /**
@@ -1,6 +1,7 @@
 package edu.trincoll.game.template;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.CombatContext;
 
 /**
  * Power attack sequence with charge-up bonus and recoil damage.
@@ -15,6 +16,10 @@ public class PowerAttackSequence extends BattleSequence {
         super(attacker, defender);
     }
 
+    public PowerAttackSequence(Character attacker, Character defender, CombatContext context) {
+        super(attacker, defender, context);
+    }
+
     /**
      * TODO 5c: Implement preAttackAction()
      *
@@ -39,8 +44,8 @@ public class PowerAttackSequence extends BattleSequence {
      */
     @Override
     protected void performAttack() {
-        // Calculate base damage: attacker.attack(defender)
-        int baseDamage = attacker.attack(defender);
+        // Calculate base damage, applying the attacker's fallback policy if needed
+        int baseDamage = attacker.resolveAttack(defender, context);
 
         // Add the damage bonus calculated in preAttackAction
         int totalDamage = baseDamage + damageBonus;
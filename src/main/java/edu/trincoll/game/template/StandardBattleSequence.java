@@ -1,6 +1,7 @@
 package edu.trincoll.game.template;
 
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.CombatContext;
 
 /**
  * Standard battle sequence with simple direct attack.
@@ -14,6 +15,10 @@ public class StandardBattleSequence extends BattleSequence {
         super(attacker, defender);
     }
 
+    public StandardBattleSequence(Character attacker, Character defender, CombatContext context) {
+        super(attacker, defender, context);
+    }
+
     /**
      * TODO 5b: Implement performAttack()
      *
@@ -23,8 +28,8 @@ public class StandardBattleSequence extends BattleSequence {
      */
     @Override
     protected void performAttack() {
-        // Calculate damage: attacker.attack(defender)
-        int damage = attacker.attack(defender);
+        // Calculate damage, applying the attacker's fallback policy if needed
+        int damage = attacker.resolveAttack(defender, context);
 
         // Apply damage: defender.takeDamage(calculatedDamage)
         defender.takeDamage(damage);
@@ -0,0 +1,37 @@
+package edu.trincoll.game.world;
+
+/**
+ * Point-in-time throughput counters for one {@link ShardedWorld} shard.
+ *
+ * @param shardId          index of the shard
+ * @param commandsExecuted commands run through the shard's own invoker
+ * @param commandsFailed   commands that threw and were therefore not recorded in history
+ * @param crossShardSent   attacks whose damage was forwarded to another shard
+ * @param crossShardReceived forwarded hits applied by this shard
+ * @param mailboxFullRetries forwards that found the target mailbox full and had to be retried;
+ *                           hits queued behind them to keep their order are not counted
+ * @param elapsedNanos     time since the world was started
+ */
+public record ShardMetrics(
+    int shardId,
+    long commandsExecuted,
+    long commandsFailed,
+    long crossShardSent,
+    long crossShardReceived,
+    long mailboxFullRetries,
+    long elapsedNanos
+) {
+    /**
+     * Commands executed per second since the world was started.
+     */
+    public double commandsPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : commandsExecuted * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    /**
+     * Cross-shard messages (sent plus received) per second since the world was started.
+     */
+    public double crossShardPerSecond() {
+        return elapsedNanos == 0 ? 0.0 : (crossShardSent + crossShardReceived) * 1_000_000_000.0 / elapsedNanos;
+    }
+}
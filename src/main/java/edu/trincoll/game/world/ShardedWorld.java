@@ -0,0 +1,411 @@
+package edu.trincoll.game.world;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.model.Character;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A world split into shards, each owning a disjoint set of characters and
+ * running its own {@link CommandInvoker} on a dedicated thread.
+ *
+ * <p>{@link Character} is not thread-safe, so the world never lets two threads
+ * mutate the same character. Every character belongs to exactly one shard and
+ * only that shard's thread changes its stats.</p>
+ *
+ * <h2>Cross-Shard Attacks</h2>
+ * <p>When attacker and target live on the same shard, the attack is an ordinary
+ * {@link AttackCommand}. Otherwise the attacker's shard calculates the damage
+ * (which may spend attacker mana) and forwards the hit through a lock-free
+ * {@link SpscMailbox} to the target's shard, which applies it through its own
+ * invoker so it can be undone there. The damage calculation may read a slightly
+ * stale, but always consistent, {@code CharacterStats} snapshot of the remote
+ * target; stats are an immutable record, so a torn read is impossible.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * try (ShardedWorld world = new ShardedWorld(4)) {
+ *     world.assign(warrior);
+ *     world.assign(mage);
+ *     world.start();
+ *
+ *     world.attack(warrior, mage);
+ *     world.awaitQuiescence();
+ *     world.metrics().forEach(System.out::println);
+ * }
+ * }</pre>
+ *
+ * <p>Java cannot bind a thread to a specific core, so "pinning" here means one
+ * long-lived thread per shard; pair it with OS-level affinity if required.</p>
+ *
+ * @see SpscMailbox
+ * @see ShardMetrics
+ */
+public class ShardedWorld implements AutoCloseable {
+    private static final int DEFAULT_MAILBOX_CAPACITY = 1024;
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Shard[] shards;
+    private final Map<Character, Shard> owners = new IdentityHashMap<>();
+    private final AtomicLong pending = new AtomicLong();
+    private volatile boolean running;
+    private volatile long startNanos;
+    private int nextShard;
+
+    public ShardedWorld(int shardCount) {
+        this(shardCount, DEFAULT_MAILBOX_CAPACITY);
+    }
+
+    /**
+     * @param shardCount      number of shards (and threads)
+     * @param mailboxCapacity capacity of each shard-to-shard mailbox, at most 2<sup>30</sup>
+     * @throws IllegalArgumentException if either value is not positive or the capacity is too large
+     */
+    public ShardedWorld(int shardCount, int mailboxCapacity) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i, shardCount, mailboxCapacity);
+        }
+    }
+
+    /**
+     * Assigns a character to the next shard in round-robin order.
+     *
+     * @return the id of the owning shard
+     * @throws IllegalStateException if the world is already running
+     */
+    public int assign(Character character) {
+        int shardId = nextShard;
+        nextShard = (nextShard + 1) % shards.length;
+        assign(character, shardId);
+        return shardId;
+    }
+
+    /**
+     * Assigns a character to a specific shard. Ownership is fixed once the
+     * world starts, which is what lets shard threads read it without locking.
+     *
+     * @throws IllegalStateException if the world is already running
+     * @throws IllegalArgumentException if the character is already assigned or the shard id is invalid
+     */
+    public void assign(Character character, int shardId) {
+        Objects.requireNonNull(character, "Character cannot be null");
+        if (running) {
+            throw new IllegalStateException("Cannot assign characters while the world is running");
+        }
+        if (shardId < 0 || shardId >= shards.length) {
+            throw new IllegalArgumentException("No such shard: " + shardId);
+        }
+        if (owners.containsKey(character)) {
+            throw new IllegalArgumentException(character.getName() + " is already assigned");
+        }
+        owners.put(character, shards[shardId]);
+    }
+
+    /**
+     * @return the id of the shard owning the character
+     * @throws IllegalArgumentException if the character is not part of this world
+     */
+    public int shardOf(Character character) {
+        return ownerOf(character).id;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Starts one thread per shard.
+     *
+     * @throws IllegalStateException if already started
+     */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException("World already started");
+        }
+        startNanos = System.nanoTime();
+        running = true;
+        for (Shard shard : shards) {
+            shard.thread = new Thread(shard::runLoop, "world-shard-" + shard.id);
+            shard.thread.setDaemon(true);
+            shard.thread.start();
+        }
+    }
+
+    /**
+     * Queues an attack on the attacker's shard. Safe to call from any thread.
+     */
+    public void attack(Character attacker, Character target) {
+        Shard source = ownerOf(attacker);
+        Shard destination = ownerOf(target);
+        if (source == destination) {
+            enqueue(source, () -> source.execute(new AttackCommand(attacker, target)));
+        } else {
+            enqueue(source, () -> source.forwardHit(destination, attacker, target));
+        }
+    }
+
+    /**
+     * Queues an arbitrary command on the shard that owns {@code owner}. The
+     * command must only touch characters owned by that same shard.
+     */
+    public void submit(Character owner, GameCommand command) {
+        Objects.requireNonNull(command, "Command cannot be null");
+        Shard shard = ownerOf(owner);
+        enqueue(shard, () -> shard.execute(command));
+    }
+
+    /**
+     * Blocks until every submitted command, including forwarded hits, has been applied.
+     */
+    public void awaitQuiescence() throws InterruptedException {
+        while (pending.get() > 0) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+    }
+
+    /**
+     * Returns the invoker of a shard. Only inspect it once the world is
+     * quiescent or closed; it is owned by the shard thread.
+     */
+    public CommandInvoker invoker(int shardId) {
+        return shards[shardId].invoker;
+    }
+
+    /**
+     * Snapshot of per-shard throughput counters.
+     */
+    public List<ShardMetrics> metrics() {
+        long elapsed = startNanos == 0 ? 0 : System.nanoTime() - startNanos;
+        List<ShardMetrics> result = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            result.add(shard.snapshot(elapsed));
+        }
+        return result;
+    }
+
+    /**
+     * Total number of hits forwarded between shards.
+     */
+    public long crossShardTraffic() {
+        long total = 0;
+        for (Shard shard : shards) {
+            total += shard.crossShardSent.get();
+        }
+        return total;
+    }
+
+    /**
+     * Stops all shard threads. Queued work that has not run yet is discarded.
+     * If the calling thread is interrupted while waiting for the shards to
+     * exit, it stops waiting and keeps its interrupt status.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        for (Shard shard : shards) {
+            LockSupport.unpark(shard.thread);
+        }
+        try {
+            for (Shard shard : shards) {
+                shard.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Shard ownerOf(Character character) {
+        Shard shard = owners.get(character);
+        if (shard == null) {
+            throw new IllegalArgumentException("Character is not part of this world: "
+                    + (character == null ? null : character.getName()));
+        }
+        return shard;
+    }
+
+    private void enqueue(Shard shard, Runnable task) {
+        pending.incrementAndGet();
+        shard.ingress.add(task);
+    }
+
+    /**
+     * Damage already calculated on the attacker's shard, awaiting application.
+     */
+    private record RemoteHit(Character target, int damage) {
+    }
+
+    /**
+     * Applies a forwarded hit on the target's shard. Undo heals the damage,
+     * mirroring {@link AttackCommand#undo()}.
+     */
+    private record RemoteHitCommand(Character target, int damage) implements GameCommand {
+        @Override
+        public void execute() {
+            target.takeDamage(damage);
+        }
+
+        @Override
+        public void undo() {
+            target.heal(damage);
+        }
+
+        @Override
+        public String getDescription() {
+            return String.format("%s takes %d remote damage", target.getName(), damage);
+        }
+
+        @Override
+        public List<Character> getAffectedCharacters() {
+            return List.of(target);
+        }
+    }
+
+    private record Outgoing(Shard destination, RemoteHit hit) {
+    }
+
+    private final class Shard {
+        private final int id;
+        private final CommandInvoker invoker = new CommandInvoker();
+        private final Queue<Runnable> ingress = new ConcurrentLinkedQueue<>();
+        // inbound[s] is written only by shard s and read only by this shard
+        private final SpscMailbox<RemoteHit>[] inbound;
+        // Hits that found the destination mailbox full; retried on the next loop
+        private final ArrayDeque<Outgoing> overflow = new ArrayDeque<>();
+        private Thread thread;
+
+        // Written only by the shard thread, read by metrics()
+        private final AtomicLong executed = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final AtomicLong crossShardSent = new AtomicLong();
+        private final AtomicLong crossShardReceived = new AtomicLong();
+        private final AtomicLong mailboxFullRetries = new AtomicLong();
+
+        Shard(int id, int shardCount, int mailboxCapacity) {
+            this.id = id;
+            @SuppressWarnings("unchecked")
+            SpscMailbox<RemoteHit>[] mailboxes = (SpscMailbox<RemoteHit>[]) new SpscMailbox<?>[shardCount];
+            this.inbound = mailboxes;
+            for (int i = 0; i < shardCount; i++) {
+                if (i != id) {
+                    inbound[i] = new SpscMailbox<>(mailboxCapacity);
+                }
+            }
+        }
+
+        void runLoop() {
+            int idleSpins = 0;
+            while (running) {
+                boolean didWork = flushOverflow();
+                didWork |= drainMailboxes();
+                didWork |= drainIngress();
+
+                if (didWork) {
+                    idleSpins = 0;
+                } else if (++idleSpins < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(PARK_NANOS);
+                }
+            }
+        }
+
+        void execute(GameCommand command) {
+            try {
+                invoker.executeCommand(command);
+                executed.lazySet(executed.get() + 1);
+            } catch (RuntimeException e) {
+                failed.lazySet(failed.get() + 1);
+            }
+        }
+
+        void forwardHit(Shard destination, Character attacker, Character target) {
+            int damage;
+            try {
+                damage = attacker.resolveAttack(target, null);
+            } catch (RuntimeException e) {
+                failed.lazySet(failed.get() + 1);
+                return;
+            }
+            RemoteHit hit = new RemoteHit(target, damage);
+            // Count the hit as pending before this task's own completion is recorded
+            pending.incrementAndGet();
+            crossShardSent.lazySet(crossShardSent.get() + 1);
+            if (!overflow.isEmpty()) {
+                // Keep per-destination order: once anything overflowed, queue behind it
+                overflow.add(new Outgoing(destination, hit));
+            } else if (!destination.inbound[id].offer(hit)) {
+                mailboxFullRetries.lazySet(mailboxFullRetries.get() + 1);
+                overflow.add(new Outgoing(destination, hit));
+            }
+        }
+
+        private boolean flushOverflow() {
+            boolean didWork = false;
+            while (!overflow.isEmpty()) {
+                Outgoing next = overflow.peek();
+                if (!next.destination().inbound[id].offer(next.hit())) {
+                    break;
+                }
+                overflow.poll();
+                didWork = true;
+            }
+            return didWork;
+        }
+
+        private boolean drainMailboxes() {
+            boolean didWork = false;
+            for (SpscMailbox<RemoteHit> mailbox : inbound) {
+                if (mailbox == null) {
+                    continue;
+                }
+                RemoteHit hit;
+                while ((hit = mailbox.poll()) != null) {
+                    execute(new RemoteHitCommand(hit.target(), hit.damage()));
+                    crossShardReceived.lazySet(crossShardReceived.get() + 1);
+                    pending.decrementAndGet();
+                    didWork = true;
+                }
+            }
+            return didWork;
+        }
+
+        private boolean drainIngress() {
+            boolean didWork = false;
+            Runnable task;
+            while ((task = ingress.poll()) != null) {
+                task.run();
+                pending.decrementAndGet();
+                didWork = true;
+            }
+            return didWork;
+        }
+
+        ShardMetrics snapshot(long elapsedNanos) {
+            return new ShardMetrics(id, executed.get(), failed.get(), crossShardSent.get(),
+                    crossShardReceived.get(), mailboxFullRetries.get(), elapsedNanos);
+        }
+    }
+}
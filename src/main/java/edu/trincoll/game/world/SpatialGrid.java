@@ -0,0 +1,355 @@
+package edu.trincoll.game.world;
+
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.Position;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Uniform-grid spatial index over characters and their teams, for target
+ * selection in large arenas.
+ *
+ * <p>The arena is cut into square cells of a fixed size; only occupied cells
+ * exist. Moving a character through {@link #move(Character, Position)} costs
+ * O(1): it is swap-removed from its old cell only when it crosses a cell
+ * border. Queries visit just the cells overlapping the search area, so with a
+ * cell size close to the typical attack range, a nearest-enemy query for every
+ * character in a tick is close to O(n) rather than O(n²).</p>
+ *
+ * <p>Dead characters are skipped by every query. {@link #removeDead()} drops
+ * them from the index in one pass.</p>
+ *
+ * <p>Like {@link Character}, the grid is not thread-safe.</p>
+ *
+ * @see TargetSelection
+ */
+public class SpatialGrid {
+    private final double cellSize;
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Character, Entry> entries = new IdentityHashMap<>();
+    private int minCellX = Integer.MAX_VALUE;
+    private int maxCellX = Integer.MIN_VALUE;
+    private int minCellY = Integer.MAX_VALUE;
+    private int maxCellY = Integer.MIN_VALUE;
+
+    /**
+     * @param cellSize edge length of a cell in world units; pick roughly the usual query range
+     * @throws IllegalArgumentException if cellSize is not positive and finite
+     */
+    public SpatialGrid(double cellSize) {
+        if (!(cellSize > 0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Indexes a character at its current position.
+     *
+     * @throws IllegalArgumentException if the character is already indexed
+     */
+    public void insert(Character character, int team) {
+        Objects.requireNonNull(character, "Character cannot be null");
+        if (entries.containsKey(character)) {
+            throw new IllegalArgumentException(character.getName() + " is already indexed");
+        }
+        Entry entry = new Entry(character, team);
+        entries.put(character, entry);
+        place(entry, character.getPosition());
+    }
+
+    /**
+     * Moves a character and updates its cell if it crossed a border.
+     *
+     * @throws IllegalArgumentException if the character is not indexed
+     */
+    public void move(Character character, Position position) {
+        Entry entry = entryOf(character);
+        character.setPosition(position);
+        long key = cellKey(cellX(position.x()), cellY(position.y()));
+        if (key != entry.cellKey) {
+            entry.cell.remove(entry);
+            if (entry.cell.size == 0) {
+                cells.remove(entry.cellKey);
+            }
+            place(entry, position);
+        }
+    }
+
+    /**
+     * @return whether the character was indexed
+     */
+    public boolean remove(Character character) {
+        Entry entry = entries.remove(character);
+        if (entry == null) {
+            return false;
+        }
+        entry.cell.remove(entry);
+        if (entry.cell.size == 0) {
+            cells.remove(entry.cellKey);
+        }
+        return true;
+    }
+
+    /**
+     * Removes every dead character.
+     *
+     * @return number of characters removed
+     */
+    public int removeDead() {
+        List<Character> dead = new ArrayList<>();
+        for (Character character : entries.keySet()) {
+            if (character.isDead()) {
+                dead.add(character);
+            }
+        }
+        dead.forEach(this::remove);
+        return dead.size();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean contains(Character character) {
+        return entries.containsKey(character);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the character is not indexed
+     */
+    public int teamOf(Character character) {
+        return entryOf(character).team;
+    }
+
+    /**
+     * Living characters in the index, in no particular order.
+     */
+    public List<Character> livingCharacters() {
+        List<Character> living = new ArrayList<>(entries.size());
+        for (Character character : entries.keySet()) {
+            if (character.isAlive()) {
+                living.add(character);
+            }
+        }
+        return living;
+    }
+
+    /**
+     * Closest living character on another team within {@code range}, or null.
+     * Searches outward ring by ring and stops once no closer cell remains.
+     */
+    public Character nearestEnemy(Character character, double range) {
+        Entry self = entryOf(character);
+        Position origin = character.getPosition();
+        int centerX = cellX(origin.x());
+        int centerY = cellY(origin.y());
+        int maxRing = ringsToCover(centerX, centerY, range);
+
+        Character best = null;
+        double bestDistance = range * range;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell in this ring is at least (ring - 1) * cellSize away
+            double ringStart = (ring - 1) * cellSize;
+            if (best != null && ringStart > 0 && ringStart * ringStart > bestDistance) {
+                break;
+            }
+            for (int dx = -ring; dx <= ring; dx++) {
+                boolean edgeColumn = dx == -ring || dx == ring;
+                for (int dy = -ring; dy <= ring; dy += edgeColumn ? 1 : 2 * ring) {
+                    Cell cell = cells.get(cellKey(centerX + dx, centerY + dy));
+                    if (cell == null) {
+                        continue;
+                    }
+                    for (int i = 0; i < cell.size; i++) {
+                        Entry other = cell.entries[i];
+                        if (other.team == self.team || other.character.isDead()) {
+                            continue;
+                        }
+                        double distance = origin.distanceSquaredTo(other.character.getPosition());
+                        if (distance <= bestDistance) {
+                            best = other.character;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Living character on another team within {@code range} with the least
+     * health (closest first on ties), or null.
+     */
+    public Character weakestEnemyInRange(Character character, double range) {
+        Entry self = entryOf(character);
+        Position origin = character.getPosition();
+        double rangeSquared = range * range;
+        Character best = null;
+        int bestHealth = Integer.MAX_VALUE;
+        double bestDistance = Double.MAX_VALUE;
+        int toX = toCellX(origin, range);
+        int toY = toCellY(origin, range);
+        for (int x = fromCellX(origin, range); x <= toX; x++) {
+            for (int y = fromCellY(origin, range); y <= toY; y++) {
+                Cell cell = cells.get(cellKey(x, y));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    Entry other = cell.entries[i];
+                    int health = other.character.getStats().health();
+                    if (other.team == self.team || health == 0 || health > bestHealth) {
+                        continue;
+                    }
+                    double distance = origin.distanceSquaredTo(other.character.getPosition());
+                    if (distance <= rangeSquared && (health < bestHealth || distance < bestDistance)) {
+                        best = other.character;
+                        bestHealth = health;
+                        bestDistance = distance;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Living characters on other teams than {@code team} within {@code radius}
+     * of {@code center}, e.g. for area-of-effect attacks.
+     */
+    public List<Character> enemiesWithin(Position center, double radius, int team) {
+        List<Character> found = new ArrayList<>();
+        forEachWithin(center, radius, other -> {
+            if (entries.get(other).team != team) {
+                found.add(other);
+            }
+        });
+        return found;
+    }
+
+    /**
+     * Visits every living indexed character within {@code radius} of {@code center}.
+     */
+    public void forEachWithin(Position center, double radius, Consumer<Character> action) {
+        double radiusSquared = radius * radius;
+        int toX = toCellX(center, radius);
+        int toY = toCellY(center, radius);
+        for (int x = fromCellX(center, radius); x <= toX; x++) {
+            for (int y = fromCellY(center, radius); y <= toY; y++) {
+                Cell cell = cells.get(cellKey(x, y));
+                if (cell == null) {
+                    continue;
+                }
+                for (int i = 0; i < cell.size; i++) {
+                    Character other = cell.entries[i].character;
+                    if (other.isAlive() && center.distanceSquaredTo(other.getPosition()) <= radiusSquared) {
+                        action.accept(other);
+                    }
+                }
+            }
+        }
+    }
+
+    private Entry entryOf(Character character) {
+        Entry entry = entries.get(character);
+        if (entry == null) {
+            throw new IllegalArgumentException(character.getName() + " is not indexed");
+        }
+        return entry;
+    }
+
+    private void place(Entry entry, Position position) {
+        int x = cellX(position.x());
+        int y = cellY(position.y());
+        entry.cellKey = cellKey(x, y);
+        entry.cell = cells.computeIfAbsent(entry.cellKey, k -> new Cell());
+        entry.cell.add(entry);
+        minCellX = Math.min(minCellX, x);
+        maxCellX = Math.max(maxCellX, x);
+        minCellY = Math.min(minCellY, y);
+        maxCellY = Math.max(maxCellY, y);
+    }
+
+    // Rings needed to reach range, capped at the occupied bounds
+    private int ringsToCover(int centerX, int centerY, double range) {
+        int bounds = Math.max(
+                Math.max(Math.abs(maxCellX - centerX), Math.abs(centerX - minCellX)),
+                Math.max(Math.abs(maxCellY - centerY), Math.abs(centerY - minCellY)));
+        double rangeRings = Math.ceil(range / cellSize);
+        return (int) Math.min(bounds, rangeRings);
+    }
+
+    // Cell ranges covering a square around a point, clipped to the occupied bounds
+    private int fromCellX(Position center, double radius) {
+        return Math.max(cellX(center.x() - radius), minCellX);
+    }
+
+    private int toCellX(Position center, double radius) {
+        return Math.min(cellX(center.x() + radius), maxCellX);
+    }
+
+    private int fromCellY(Position center, double radius) {
+        return Math.max(cellY(center.y() - radius), minCellY);
+    }
+
+    private int toCellY(Position center, double radius) {
+        return Math.min(cellY(center.y() + radius), maxCellY);
+    }
+
+    private int cellX(double x) {
+        return (int) Math.floor(x / cellSize);
+    }
+
+    private int cellY(double y) {
+        return (int) Math.floor(y / cellSize);
+    }
+
+    private static long cellKey(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFF_FFFFL);
+    }
+
+    private static final class Entry {
+        final Character character;
+        final int team;
+        long cellKey;
+        Cell cell;
+        int index;
+
+        Entry(Character character, int team) {
+            this.character = character;
+            this.team = team;
+        }
+    }
+
+    /**
+     * Characters in one cell, with O(1) swap-removal.
+     */
+    private static final class Cell {
+        Entry[] entries = new Entry[4];
+        int size;
+
+        void add(Entry entry) {
+            if (size == entries.length) {
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            entry.index = size;
+            entries[size++] = entry;
+        }
+
+        void remove(Entry entry) {
+            Entry last = entries[--size];
+            entries[entry.index] = last;
+            last.index = entry.index;
+            entries[size] = null;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package edu.trincoll.game.world;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free single-producer/single-consumer ring buffer.
+ *
+ * <p>Used for shard-to-shard traffic in {@link ShardedWorld}. Exactly one
+ * thread may call {@link #offer(Object)} and exactly one (other) thread may
+ * call {@link #poll()}. Under that contract no locks or CAS loops are needed:
+ * the producer owns {@code tail}, the consumer owns {@code head}, and ordered
+ * stores ({@code lazySet}) publish slot contents before the index moves.</p>
+ *
+ * @param <T> the message type
+ */
+final class SpscMailbox<T> {
+    private final Object[] slots;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    // Producer-local cache of head, avoids reading the shared counter on every offer
+    private long cachedHead;
+
+    /** Largest capacity: the largest power of two an {@code int} can hold. */
+    static final int MAX_CAPACITY = 1 << 30;
+
+    /**
+     * @param capacity requested capacity, rounded up to the next power of two
+     * @throws IllegalArgumentException if capacity is not positive or exceeds {@link #MAX_CAPACITY}
+     */
+    SpscMailbox(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        int size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+        this.slots = new Object[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Producer side. Returns {@code false} instead of blocking when full.
+     */
+    boolean offer(T message) {
+        long t = tail.get();
+        if (t - cachedHead >= slots.length) {
+            cachedHead = head.get();
+            if (t - cachedHead >= slots.length) {
+                return false;
+            }
+        }
+        slots[(int) (t & mask)] = message;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    /**
+     * Consumer side. Returns {@code null} when empty.
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+        long h = head.get();
+        if (h >= tail.get()) {
+            return null;
+        }
+        int index = (int) (h & mask);
+        T message = (T) slots[index];
+        slots[index] = null;
+        head.lazySet(h + 1);
+        return message;
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+}
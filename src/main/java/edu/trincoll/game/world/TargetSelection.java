@@ -0,0 +1,75 @@
+package edu.trincoll.game.world;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds {@link AttackCommand}s from {@link SpatialGrid} queries, so callers
+ * no longer pick every target by hand.
+ *
+ * <p>Each helper returns commands without executing them; hand them to a
+ * {@code CommandInvoker} to apply (and later undo) them.</p>
+ *
+ * <h2>Usage Example</h2>
+ * <pre>{@code
+ * TargetSelection targeting = new TargetSelection(grid);
+ * for (AttackCommand attack : targeting.planNearestEnemyAttacks(RANGE)) {
+ *     invoker.executeCommand(attack);
+ * }
+ * }</pre>
+ */
+public class TargetSelection {
+    private final SpatialGrid grid;
+
+    public TargetSelection(SpatialGrid grid) {
+        this.grid = grid;
+    }
+
+    /**
+     * Attack on the closest enemy within range, or null if there is none.
+     */
+    public AttackCommand attackNearestEnemy(Character attacker, double range) {
+        Character target = grid.nearestEnemy(attacker, range);
+        return target == null ? null : new AttackCommand(attacker, target);
+    }
+
+    /**
+     * Attack on the enemy with the least health within range, or null if there is none.
+     */
+    public AttackCommand attackWeakestEnemyInRange(Character attacker, double range) {
+        Character target = grid.weakestEnemyInRange(attacker, range);
+        return target == null ? null : new AttackCommand(attacker, target);
+    }
+
+    /**
+     * One attack per enemy of the attacker within {@code radius} of {@code center}.
+     */
+    public List<AttackCommand> attackEnemiesWithin(Character attacker, Position center, double radius) {
+        List<Character> targets = grid.enemiesWithin(center, radius, grid.teamOf(attacker));
+        List<AttackCommand> attacks = new ArrayList<>(targets.size());
+        for (Character target : targets) {
+            attacks.add(new AttackCommand(attacker, target));
+        }
+        return attacks;
+    }
+
+    /**
+     * Plans one tick: every living indexed character attacks its nearest
+     * enemy within range, chosen against the positions at planning time.
+     */
+    public List<AttackCommand> planNearestEnemyAttacks(double range) {
+        List<Character> attackers = grid.livingCharacters();
+        List<AttackCommand> attacks = new ArrayList<>(attackers.size());
+        for (Character attacker : attackers) {
+            AttackCommand attack = attackNearestEnemy(attacker, range);
+            if (attack != null) {
+                attacks.add(attack);
+            }
+        }
+        return attacks;
+    }
+}
@@ -5,9 +5,13 @@ import edu.trincoll.game.command.CommandInvoker;
 import edu.trincoll.game.command.HealCommand;
 import edu.trincoll.game.factory.CharacterFactory;
 import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.ResourceStatus;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.FallbackAttackPolicy;
 import edu.trincoll.game.strategy.MagicAttackStrategy;
 import edu.trincoll.game.strategy.RangedAttackStrategy;
 import edu.trincoll.game.template.PowerAttackSequence;
+import edu.trincoll.game.template.StandardBattleSequence;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.*;
@@ -28,7 +32,7 @@ class AdditionalTests {
     // ============================================
 
     @Test
-    void testMagicAttackThrowsExceptionWhenInsufficientMana() {
+    void testMagicAttackReportsInsufficientManaWithoutThrowing() {
         Character mage = CharacterFactory.createMage("LowManaMage");
         Character enemy = CharacterFactory.createWarrior("Tank");
 
@@ -37,12 +41,66 @@ class AdditionalTests {
             mage.useMana(10);
         }
 
-        // Should throw exception when trying to attack with < 10 mana
-        assertThatThrownBy(() -> mage.attack(enemy))
+        // Attacking with < 10 mana reports a result code instead of throwing
+        assertThat(mage.attack(enemy)).isEqualTo(AttackStrategy.INSUFFICIENT_RESOURCE);
+        assertThat(mage.getStats().mana()).isEqualTo(0);
+    }
+
+    @Test
+    void testNegativeStrategyDamageIsZeroNotFallback() {
+        Character warrior = CharacterFactory.createWarrior("Weakling");
+        Character enemy = CharacterFactory.createRogue("Target");
+        warrior.setAttackStrategy((attacker, target) -> -1);
+        warrior.setFallbackPolicy(FallbackAttackPolicy.BASIC_ATTACK);
+
+        // -1 is ordinary (clamped) damage, not the insufficient-resource code
+        assertThat(warrior.resolveAttack(enemy, null)).isZero();
+        assertThat(AttackStrategy.INSUFFICIENT_RESOURCE).isEqualTo(Integer.MIN_VALUE);
+    }
+
+    @Test
+    void testUseManaStillThrowsWhenInsufficient() {
+        Character mage = CharacterFactory.createMage("LowManaMage");
+
+        assertThat(mage.tryUseMana(1000)).isEqualTo(ResourceStatus.INSUFFICIENT_MANA);
+        assertThat(mage.getStats().mana()).isEqualTo(100);
+        assertThatThrownBy(() -> mage.useMana(1000))
                 .isInstanceOf(IllegalStateException.class)
                 .hasMessageContaining("Not enough mana");
     }
 
+    @Test
+    void testOutOfManaAttackCommandUsesFallbackPolicy() {
+        Character mage = CharacterFactory.createMage("DrainedMage");
+        Character enemy = CharacterFactory.createRogue("Target");
+        mage.setFallbackPolicy(FallbackAttackPolicy.BASIC_ATTACK);
+        while (mage.getStats().mana() >= 10) {
+            mage.useMana(10);
+        }
+
+        AttackCommand command = new AttackCommand(mage, enemy);
+        command.execute();
+
+        // Staff strike: 60 / 2 = 30, minus standard defense 20 / 2 = 10
+        assertThat(enemy.getStats().health()).isEqualTo(90 - 20);
+
+        command.undo();
+        assertThat(enemy.getStats().health()).isEqualTo(90);
+    }
+
+    @Test
+    void testOutOfManaBattleSequenceForfeitsByDefault() {
+        Character mage = CharacterFactory.createMage("DrainedMage");
+        Character enemy = CharacterFactory.createRogue("Target");
+        while (mage.getStats().mana() >= 10) {
+            mage.useMana(10);
+        }
+
+        new StandardBattleSequence(mage, enemy).executeTurn();
+
+        assertThat(enemy.getStats().health()).isEqualTo(90);
+    }
+
     @Test
     void testRangedAttackCriticalHitAtExact30Percent() {
         Character archer = CharacterFactory.createArcher("PrecisionArcher");
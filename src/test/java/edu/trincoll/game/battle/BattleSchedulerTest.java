@@ -0,0 +1,159 @@
+package edu.trincoll.game.battle;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.template.PowerAttackSequence;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Battle Scheduler Tests")
+class BattleSchedulerTest {
+
+    private static List<String> nextActors(BattleScheduler scheduler, int turns) {
+        List<String> order = new ArrayList<>();
+        for (int i = 0; i < turns; i++) {
+            order.add(scheduler.peekNext().getName());
+            scheduler.executeNextTurn();
+        }
+        return order;
+    }
+
+    @Nested
+    @DisplayName("Turn Order")
+    class TurnOrderTests {
+
+        @Test
+        @DisplayName("Higher initiative acts more often; ties go to the earlier combatant")
+        void testInitiativeOrder() {
+            BattleScheduler scheduler = new BattleScheduler();
+            scheduler.add(CharacterFactory.createWarrior("Slow"), 0, 50);
+            scheduler.add(CharacterFactory.createWarrior("Fast"), 1, 100);
+
+            assertThat(nextActors(scheduler, 6))
+                .containsExactly("Fast", "Slow", "Fast", "Fast", "Slow", "Fast");
+        }
+
+        @Test
+        @DisplayName("Initiative change reschedules the next turn")
+        void testSetInitiative() {
+            BattleScheduler scheduler = new BattleScheduler();
+            Character slow = CharacterFactory.createWarrior("Slow");
+            scheduler.add(slow, 0, 10);
+            scheduler.add(CharacterFactory.createWarrior("Fast"), 1, 100);
+
+            assertThat(scheduler.peekNext().getName()).isEqualTo("Fast");
+
+            scheduler.setInitiative(slow, 1_000);
+
+            assertThat(scheduler.peekNext()).isSameAs(slow);
+        }
+
+        @Test
+        @DisplayName("Turns dispatch through the combatant's battle sequence")
+        void testSequenceDispatch() {
+            BattleScheduler scheduler = new BattleScheduler();
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            Character defender = CharacterFactory.createWarrior("Defender");
+            scheduler.add(attacker, 0, 100, PowerAttackSequence::new);
+            scheduler.add(defender, 1, 1);
+
+            scheduler.executeNextTurn();
+
+            // Power attacks cost the attacker 10% max health in recoil
+            assertThat(attacker.getStats().health()).isEqualTo(attacker.getStats().maxHealth() - 15);
+            assertThat(defender.getStats().health()).isLessThan(defender.getStats().maxHealth());
+        }
+    }
+
+    @Nested
+    @DisplayName("Removal")
+    class RemovalTests {
+
+        @Test
+        @DisplayName("Killed defenders leave the schedule")
+        void testKilledDefenderRemoved() {
+            BattleScheduler scheduler = new BattleScheduler();
+            Character mage = CharacterFactory.createMage("Mage");
+            Character victim = CharacterFactory.createArcher("Victim");
+            victim.setHealth(1);
+            scheduler.add(mage, 0, 100);
+            scheduler.add(victim, 1, 1);
+
+            scheduler.executeNextTurn();
+
+            assertThat(scheduler.size()).isEqualTo(1);
+            assertThat(scheduler.livingMembers(1)).isEmpty();
+            assertThat(scheduler.getLivingTeamCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Bulk removal drops every dead combatant and keeps order")
+        void testRemoveDead() {
+            BattleScheduler scheduler = new BattleScheduler();
+            List<Character> team = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                Character character = CharacterFactory.createRogue("Rogue" + i);
+                team.add(character);
+                scheduler.add(character, i % 2, 1 + i);
+            }
+            for (int i = 0; i < 100; i += 3) {
+                team.get(i).setHealth(0);
+            }
+
+            assertThat(scheduler.removeDead()).isEqualTo(34);
+            assertThat(scheduler.size()).isEqualTo(66);
+            assertThat(scheduler.peekNext().getName()).isEqualTo("Rogue98");
+        }
+    }
+
+    @Nested
+    @DisplayName("Battles")
+    class BattleTests {
+
+        @Test
+        @DisplayName("Battle runs until one team is left")
+        void testRunBattle() {
+            BattleScheduler scheduler = new BattleScheduler();
+            for (int i = 0; i < 5; i++) {
+                scheduler.add(CharacterFactory.createWarrior("Blue" + i), 0, 100);
+                scheduler.add(CharacterFactory.createArcher("Red" + i), 1, 100);
+            }
+
+            int winner = scheduler.runBattle(10_000);
+
+            assertThat(winner).isIn(0, 1);
+            assertThat(scheduler.getLivingTeamCount()).isEqualTo(1);
+            assertThat(scheduler.livingMembers(winner)).allMatch(Character::isAlive);
+            assertThat(scheduler.livingMembers(1 - winner)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Large battles complete without rebuilding the queue")
+        void testLargeBattle() {
+            BattleScheduler scheduler = new BattleScheduler();
+            for (int i = 0; i < 10_000; i++) {
+                scheduler.add(CharacterFactory.createRogue("R" + i), i % 2, 50 + i % 100);
+            }
+
+            int winner = scheduler.runBattle(Integer.MAX_VALUE);
+
+            assertThat(winner).isNotEqualTo(BattleScheduler.NO_WINNER);
+            assertThat(scheduler.getTurnsExecuted()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Invalid initiative is rejected")
+        void testInvalidInitiative() {
+            BattleScheduler scheduler = new BattleScheduler();
+
+            assertThatThrownBy(() -> scheduler.add(CharacterFactory.createMage("Mage"), 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package edu.trincoll.game.battle;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.HealthListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Priority Index Tests")
+class PriorityIndexTest {
+
+    @Nested
+    @DisplayName("Health Listeners")
+    class HealthListenerTests {
+
+        @Test
+        @DisplayName("Listeners see damage, healing and direct health changes")
+        void testListenerNotified() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            List<String> changes = new ArrayList<>();
+            HealthListener listener = (character, before, after) -> changes.add(before + "->" + after);
+            warrior.addHealthListener(listener);
+
+            warrior.takeDamage(50);
+            warrior.heal(10);
+            warrior.setHealth(150);
+            warrior.heal(10);
+
+            assertThat(changes).containsExactly("150->130", "130->140", "140->150");
+
+            assertThat(warrior.removeHealthListener(listener)).isTrue();
+            warrior.takeDamage(50);
+            assertThat(changes).hasSize(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Most Injured")
+    class MostInjuredTests {
+
+        @Test
+        @DisplayName("Tracks the ally with the lowest health fraction as health changes")
+        void testMostInjured() {
+            PriorityIndex allies = PriorityIndex.mostInjured();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            Character archer = CharacterFactory.createArcher("Archer");
+            allies.add(warrior);
+            allies.add(mage);
+            allies.add(archer);
+
+            mage.setHealth(40);
+            assertThat(allies.peek()).isSameAs(mage);
+
+            archer.setHealth(20);
+            assertThat(allies.peek()).isSameAs(archer);
+
+            archer.heal(100);
+            assertThat(allies.peek()).isSameAs(mage);
+        }
+
+        @Test
+        @DisplayName("Dead characters leave the index and return when revived")
+        void testDeathAndRevival() {
+            PriorityIndex allies = PriorityIndex.mostInjured();
+            Character attacker = CharacterFactory.createWarrior("Attacker");
+            Character victim = CharacterFactory.createMage("Victim");
+            Character bystander = CharacterFactory.createRogue("Bystander");
+            allies.add(victim);
+            allies.add(bystander);
+            victim.setHealth(1);
+
+            AttackCommand attack = new AttackCommand(attacker, victim);
+            attack.execute();
+
+            assertThat(allies.size()).isEqualTo(1);
+            assertThat(allies.peek()).isSameAs(bystander);
+
+            attack.undo();
+
+            assertThat(allies.size()).isEqualTo(2);
+            assertThat(allies.peek()).isSameAs(victim);
+        }
+
+        @Test
+        @DisplayName("Removed characters are no longer tracked")
+        void testRemove() {
+            PriorityIndex allies = PriorityIndex.mostInjured();
+            Character mage = CharacterFactory.createMage("Mage");
+            allies.add(mage);
+
+            assertThat(allies.remove(mage)).isTrue();
+            mage.setHealth(1);
+
+            assertThat(allies.peek()).isNull();
+            assertThat(allies.contains(mage)).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Highest Threat")
+    class HighestThreatTests {
+
+        @Test
+        @DisplayName("Threat is attack power scaled by remaining health")
+        void testHighestThreat() {
+            PriorityIndex enemies = PriorityIndex.highestThreat();
+            Character mage = CharacterFactory.createMage("Mage");
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            enemies.add(mage);
+            enemies.add(warrior);
+
+            assertThat(enemies.peek()).isSameAs(mage);
+
+            mage.setHealth(20);
+
+            assertThat(enemies.peek()).isSameAs(warrior);
+        }
+    }
+
+    @Test
+    @DisplayName("Queries stay correct across many random updates")
+    void testRandomUpdates() {
+        PriorityIndex index = PriorityIndex.mostInjured();
+        List<Character> all = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            Character character = CharacterFactory.createRogue("Rogue" + i);
+            all.add(character);
+            index.add(character);
+        }
+        Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            Character character = all.get(random.nextInt(all.size()));
+            character.setHealth(random.nextInt(character.getStats().maxHealth() + 1));
+        }
+
+        double expected = all.stream()
+            .filter(Character::isAlive)
+            .mapToDouble(PriorityIndex::healthFraction)
+            .min().orElseThrow();
+        assertThat(PriorityIndex.healthFraction(index.peek())).isEqualTo(expected);
+    }
+}
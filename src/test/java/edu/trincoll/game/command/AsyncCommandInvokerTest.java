@@ -0,0 +1,187 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Async Command Invoker Tests")
+class AsyncCommandInvokerTest {
+
+    /**
+     * Records execution order; only ever run on the writer thread.
+     */
+    private record Step(List<Integer> log, int value) implements GameCommand {
+        @Override
+        public void execute() {
+            log.add(value);
+        }
+
+        @Override
+        public void undo() {
+            log.remove(log.size() - 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "Step " + value;
+        }
+    }
+
+    @Nested
+    @DisplayName("Execution")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("Futures complete with the executed command")
+        void testFutureResult() throws Exception {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            CommandInvoker invoker = new CommandInvoker();
+            try (AsyncCommandInvoker async = new AsyncCommandInvoker(invoker)) {
+                async.start();
+                AttackCommand attack = async.submit(new AttackCommand(warrior, mage)).get(5, TimeUnit.SECONDS);
+
+                assertThat(mage.getStats().health()).isLessThan(80);
+                assertThat(attack.getDescription()).contains("Warrior");
+            }
+            assertThat(invoker.getCommandHistory()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Each producer's commands run in submission order")
+        void testManyProducers() throws Exception {
+            List<Integer> log = new ArrayList<>();
+            int producers = 4;
+            int perProducer = 10_000;
+            AsyncCommandInvoker async = new AsyncCommandInvoker(new CommandInvoker(), 64);
+            async.start();
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                threads.add(Thread.ofPlatform().start(() -> {
+                    for (int i = 0; i < perProducer; i++) {
+                        async.submit(new Step(log, producer * perProducer + i));
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            // Close runs everything already queued before stopping the writer
+            async.close();
+
+            assertThat(async.getExecutedCount()).isEqualTo((long) producers * perProducer);
+            assertThat(log).hasSize(producers * perProducer);
+            int[] next = new int[producers];
+            for (int value : log) {
+                int producer = value / perProducer;
+                assertThat(value % perProducer).isEqualTo(next[producer]++);
+            }
+        }
+
+        @Test
+        @DisplayName("Failed commands complete their future exceptionally and stay out of history")
+        void testFailure() throws Exception {
+            CommandInvoker invoker = new CommandInvoker();
+            try (AsyncCommandInvoker async = new AsyncCommandInvoker(invoker)) {
+                async.start();
+                CompletableFuture<GameCommand> future = async.submit(new GameCommand() {
+                    @Override
+                    public void execute() {
+                        throw new IllegalStateException("boom");
+                    }
+
+                    @Override
+                    public void undo() {
+                    }
+
+                    @Override
+                    public String getDescription() {
+                        return "Failing command";
+                    }
+                });
+
+                assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                        .isInstanceOf(ExecutionException.class)
+                        .hasCauseInstanceOf(IllegalStateException.class);
+                assertThat(async.getFailedCount()).isEqualTo(1);
+            }
+            assertThat(invoker.getCommandHistory()).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Lifecycle")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Commands queued before start run once started; close drains the queue")
+        void testQueueBeforeStart() throws Exception {
+            List<Integer> log = new ArrayList<>();
+            AsyncCommandInvoker async = new AsyncCommandInvoker(new CommandInvoker());
+            CompletableFuture<Step> first = async.submit(new Step(log, 1));
+            async.submit(new Step(log, 2));
+            async.start();
+            CompletableFuture<Step> third = async.submit(new Step(log, 3));
+            async.close();
+
+            assertThat(first).isCompleted();
+            assertThat(third).isCompleted();
+            assertThat(log).containsExactly(1, 2, 3);
+        }
+
+        @Test
+        @DisplayName("Submissions after close, or to an invoker never started, are rejected")
+        void testRejection() throws Exception {
+            List<Integer> log = new ArrayList<>();
+            AsyncCommandInvoker neverStarted = new AsyncCommandInvoker(new CommandInvoker());
+            CompletableFuture<Step> queued = neverStarted.submit(new Step(log, 1));
+            neverStarted.close();
+
+            assertThat(queued).isCompletedExceptionally();
+            assertThat(neverStarted.submit(new Step(log, 2))).isCompletedExceptionally();
+            assertThatThrownBy(() -> neverStarted.submit(new Step(log, 3)).join())
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+            assertThat(log).isEmpty();
+        }
+
+        @Test
+        @DisplayName("An interrupted close keeps the interrupt and the writer still drains")
+        void testInterruptedClose() throws Exception {
+            List<Integer> log = new ArrayList<>();
+            AsyncCommandInvoker async = new AsyncCommandInvoker(new CommandInvoker());
+            async.start();
+            CompletableFuture<Step> queued = async.submit(new Step(log, 1));
+
+            Thread.currentThread().interrupt();
+            async.close();
+
+            assertThat(Thread.interrupted()).isTrue();
+            assertThat(queued.get(5, TimeUnit.SECONDS).value()).isEqualTo(1);
+            assertThatThrownBy(() -> async.submit(new Step(log, 2)).join())
+                    .hasCauseInstanceOf(RejectedExecutionException.class);
+        }
+
+        @Test
+        @DisplayName("Invalid arguments and double start are rejected")
+        void testValidation() throws Exception {
+            assertThatThrownBy(() -> new AsyncCommandInvoker(new CommandInvoker(), 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            try (AsyncCommandInvoker async = new AsyncCommandInvoker(new CommandInvoker())) {
+                async.start();
+                assertThatThrownBy(async::start).isInstanceOf(IllegalStateException.class);
+            }
+        }
+    }
+}
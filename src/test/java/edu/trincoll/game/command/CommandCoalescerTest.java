@@ -0,0 +1,219 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Command Coalescer Tests")
+class CommandCoalescerTest {
+
+    private CommandCoalescer coalescer;
+    private Character warrior;
+    private Character mage;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new CommandCoalescer();
+        warrior = CharacterFactory.createWarrior("Warrior");
+        mage = CharacterFactory.createMage("Mage");
+        mage.setHealth(20);
+    }
+
+    @Nested
+    @DisplayName("Heal Merging")
+    class HealTests {
+
+        @Test
+        @DisplayName("Consecutive heals on one target merge into a single heal")
+        void testMerge() {
+            List<GameCommand> result = coalescer.coalesce(List.of(
+                    new HealCommand(mage, 10),
+                    new HealCommand(mage, 15),
+                    new HealCommand(mage, 5)));
+
+            assertThat(result).hasSize(1);
+            HealCommand heal = (HealCommand) result.get(0);
+            assertThat(heal.getTarget()).isSameAs(mage);
+            assertThat(heal.getAmount()).isEqualTo(30);
+            assertThat(coalescer.getMergedHealCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Merged amounts are capped at max health and undo exactly")
+        void testCapAndUndo() {
+            CommandInvoker invoker = new CommandInvoker();
+            coalescer.executeAll(List.of(
+                    new HealCommand(mage, 50),
+                    new HealCommand(mage, 70)), invoker);
+
+            assertThat(((HealCommand) invoker.getCommandHistory().get(0)).getAmount()).isEqualTo(80);
+            assertThat(mage.getStats().health()).isEqualTo(80);
+
+            invoker.undoLastCommand();
+            assertThat(mage.getStats().health()).isEqualTo(20);
+        }
+
+        @Test
+        @DisplayName("An attack on the target in between keeps the heals apart")
+        void testOrderPreserved() {
+            List<GameCommand> result = coalescer.coalesce(List.of(
+                    new HealCommand(mage, 10),
+                    new AttackCommand(warrior, mage),
+                    new HealCommand(mage, 10)));
+
+            assertThat(result).hasSize(3);
+            assertThat(coalescer.getMergedHealCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Dropping")
+    class DropTests {
+
+        @Test
+        @DisplayName("Commands involving dead characters are dropped")
+        void testDead() {
+            Character corpse = CharacterFactory.createArcher("Corpse");
+            corpse.setHealth(0);
+
+            List<GameCommand> result = coalescer.coalesce(List.of(
+                    new HealCommand(corpse, 10),
+                    new AttackCommand(warrior, corpse),
+                    new AttackCommand(corpse, warrior),
+                    new HealCommand(warrior, 10)));
+
+            assertThat(result).hasSize(1);
+            assertThat(coalescer.getDroppedDeadCount()).isEqualTo(3);
+        }
+
+        @Test
+        @DisplayName("Repeated attacks on the same target and resubmitted commands are collapsed")
+        void testDuplicates() {
+            HealCommand heal = new HealCommand(warrior, 5);
+            List<GameCommand> result = coalescer.coalesce(List.of(
+                    new AttackCommand(warrior, mage),
+                    new AttackCommand(warrior, mage),
+                    new AttackCommand(mage, warrior),
+                    heal,
+                    heal));
+
+            assertThat(result).hasSize(3);
+            assertThat(coalescer.getDroppedDuplicateCount()).isEqualTo(2);
+            assertThat(coalescer.getReduction()).isCloseTo(0.4, within(1e-9));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compared With Serial Execution")
+    class SerialTests {
+
+        // Warrior, mage, archer (dead), rogue
+        private Character[] party() {
+            Character[] party = {
+                    CharacterFactory.createWarrior("Warrior"),
+                    CharacterFactory.createMage("Mage"),
+                    CharacterFactory.createArcher("Archer"),
+                    CharacterFactory.createRogue("Rogue")
+            };
+            party[1].setHealth(20);
+            party[2].setHealth(0);
+            return party;
+        }
+
+        private List<GameCommand> batch(Character[] party, boolean withDrops) {
+            Character warrior = party[0];
+            Character mage = party[1];
+            Character archer = party[2];
+            Character rogue = party[3];
+            List<GameCommand> batch = new ArrayList<>(List.of(
+                    new HealCommand(mage, 10),
+                    new HealCommand(mage, 15),
+                    new AttackCommand(rogue, warrior)));
+            if (withDrops) {
+                batch.add(new HealCommand(archer, 30));
+                batch.add(new AttackCommand(rogue, warrior));
+            }
+            return batch;
+        }
+
+        private int[] health(Character[] party) {
+            return Arrays.stream(party).mapToInt(character -> character.getStats().health()).toArray();
+        }
+
+        private int[] serial(boolean withDrops) {
+            Character[] party = party();
+            CommandInvoker invoker = new CommandInvoker();
+            batch(party, withDrops).forEach(invoker::executeCommand);
+            return health(party);
+        }
+
+        private int[] coalesced(boolean withDrops) {
+            Character[] party = party();
+            new CommandCoalescer().executeAll(batch(party, withDrops), new CommandInvoker());
+            return health(party);
+        }
+
+        @Test
+        @DisplayName("Merged heals leave the same state as running every heal")
+        void testMergeMatches() {
+            assertThat(coalesced(false)).containsExactly(serial(false));
+        }
+
+        @Test
+        @DisplayName("Dropped heals and repeated attacks change exactly their targets")
+        void testDropsDiffer() {
+            int[] serial = serial(true);
+            int[] coalesced = coalesced(true);
+
+            // A heal revives the dead archer only when run serially
+            assertThat(serial[2]).isEqualTo(30);
+            assertThat(coalesced[2]).isZero();
+            // The rogue's second attack on the warrior only lands serially
+            assertThat(serial[0]).isLessThan(coalesced[0]);
+            assertThat(coalesced[0]).isEqualTo(coalesced(false)[0]);
+            // Nobody else is affected
+            assertThat(coalesced[1]).isEqualTo(serial[1]);
+            assertThat(coalesced[3]).isEqualTo(serial[3]);
+        }
+
+        @Test
+        @DisplayName("A resubmitted command runs twice only when run serially")
+        void testResubmittedCommand() {
+            Character[] serialParty = party();
+            HealCommand serialHeal = new HealCommand(serialParty[1], 10);
+            CommandInvoker invoker = new CommandInvoker();
+            invoker.executeCommand(serialHeal);
+            invoker.executeCommand(serialHeal);
+
+            Character[] coalescedParty = party();
+            HealCommand coalescedHeal = new HealCommand(coalescedParty[1], 10);
+            new CommandCoalescer().executeAll(List.of(coalescedHeal, coalescedHeal), new CommandInvoker());
+
+            assertThat(serialParty[1].getStats().health()).isEqualTo(40);
+            assertThat(coalescedParty[1].getStats().health()).isEqualTo(30);
+        }
+
+        @Test
+        @DisplayName("Attacks by the dead land only when run serially")
+        void testDeadAttacker() {
+            Character[] serialParty = party();
+            new AttackCommand(serialParty[2], serialParty[0]).execute();
+
+            Character[] coalescedParty = party();
+            new CommandCoalescer().executeAll(
+                    List.of(new AttackCommand(coalescedParty[2], coalescedParty[0])), new CommandInvoker());
+
+            assertThat(serialParty[0].getStats().health()).isLessThan(150);
+            assertThat(coalescedParty[0].getStats().health()).isEqualTo(150);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Command Description Tests")
+class CommandDescriptionTest {
+
+    private Character warrior;
+    private Character mage;
+
+    @BeforeEach
+    void setUp() {
+        warrior = CharacterFactory.createWarrior("Zoë");
+        mage = CharacterFactory.createMage("Mage");
+    }
+
+    private static String written(GameCommand command) {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        command.writeDescription(buffer);
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Templates")
+    class TemplateTests {
+
+        @Test
+        @DisplayName("Descriptions read the same as before")
+        void testDescriptions() {
+            assertThat(new AttackCommand(warrior, mage).getDescription()).isEqualTo("Zoë attacks Mage");
+            assertThat(new HealCommand(mage, 25).getDescription()).isEqualTo("Heal Mage for 25 HP");
+        }
+
+        @Test
+        @DisplayName("Appending reuses the caller's buffer")
+        void testAppend() {
+            StringBuilder line = new StringBuilder("#1 ");
+            new HealCommand(mage, -7).appendDescription(line);
+
+            assertThat(line.toString()).isEqualTo("#1 Heal Mage for -7 HP");
+        }
+
+        @Test
+        @DisplayName("Byte output is UTF-8 and matches the string form")
+        void testBytes() {
+            AttackCommand attack = new AttackCommand(warrior, mage);
+            assertThat(written(attack)).isEqualTo(attack.getDescription());
+
+            for (int amount : new int[] {0, 9, 10, -10, 1_000_000_000, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+                HealCommand heal = new HealCommand(warrior, amount);
+                assertThat(written(heal)).isEqualTo(heal.getDescription());
+            }
+        }
+
+        @Test
+        @DisplayName("Writing into a full buffer fails")
+        void testOverflow() {
+            assertThatThrownBy(() -> new AttackCommand(warrior, mage).writeDescription(ByteBuffer.allocate(4)))
+                    .isInstanceOf(BufferOverflowException.class);
+        }
+
+        @Test
+        @DisplayName("Patterns need exactly two slots")
+        void testCompile() {
+            assertThatThrownBy(() -> DescriptionTemplate.compile("{} attacks"))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> DescriptionTemplate.compile("{} {} {}"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Defaults")
+    class DefaultTests {
+
+        @Test
+        @DisplayName("Other commands fall back to getDescription")
+        void testDefaults() {
+            GameCommand custom = new GameCommand() {
+                @Override
+                public void execute() {
+                }
+
+                @Override
+                public void undo() {
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Custom é";
+                }
+            };
+            StringBuilder line = new StringBuilder();
+            custom.appendDescription(line);
+
+            assertThat(line.toString()).isEqualTo("Custom é");
+            assertThat(written(custom)).isEqualTo("Custom é");
+        }
+    }
+}
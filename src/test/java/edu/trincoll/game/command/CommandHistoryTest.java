@@ -0,0 +1,353 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.effect.StatusEffectEngine;
+import edu.trincoll.game.effect.StatusEffectType;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Command History Tests")
+class CommandHistoryTest {
+
+    private Character hero;
+
+    @BeforeEach
+    void setUp() {
+        hero = CharacterFactory.createWarrior("Hero");
+        hero.setHealth(50);
+    }
+
+    @Nested
+    @DisplayName("Redo")
+    class RedoTests {
+
+        @Test
+        @DisplayName("Undone commands can be redone in order")
+        void testRedo() {
+            CommandInvoker invoker = new CommandInvoker();
+            HealCommand first = new HealCommand(hero, 10);
+            HealCommand second = new HealCommand(hero, 20);
+            invoker.executeCommand(first);
+            invoker.executeCommand(second);
+
+            invoker.undoLastCommand();
+            invoker.undoLastCommand();
+            assertThat(hero.getStats().health()).isEqualTo(50);
+            assertThat(invoker.hasCommandsToRedo()).isTrue();
+
+            assertThat(invoker.redoCommand()).isTrue();
+            assertThat(invoker.redoCommand()).isTrue();
+            assertThat(invoker.redoCommand()).isFalse();
+            assertThat(hero.getStats().health()).isEqualTo(80);
+            assertThat(invoker.getCommandHistory()).containsExactly(first, second);
+        }
+
+        @Test
+        @DisplayName("Executing after an undo starts a branch without losing the old one")
+        void testBranching() {
+            CommandInvoker invoker = new CommandInvoker();
+            HealCommand original = new HealCommand(hero, 10);
+            HealCommand alternative = new HealCommand(hero, 30);
+            invoker.executeCommand(original);
+            invoker.undoLastCommand();
+            invoker.executeCommand(alternative);
+
+            assertThat(hero.getStats().health()).isEqualTo(80);
+            assertThat(invoker.hasCommandsToRedo()).isFalse();
+
+            invoker.undoLastCommand();
+            assertThat(invoker.getBranchCount()).isEqualTo(2);
+
+            // Redo follows the most recently visited branch until another is selected
+            invoker.redoCommand();
+            assertThat(invoker.getCommandHistory()).containsExactly(alternative);
+
+            invoker.undoLastCommand();
+            invoker.selectBranch(0);
+            invoker.redoCommand();
+            assertThat(invoker.getCommandHistory()).containsExactly(original);
+            assertThat(hero.getStats().health()).isEqualTo(60);
+
+            assertThatThrownBy(() -> invoker.selectBranch(0))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Checkpoints")
+    class CheckpointTests {
+
+        @Test
+        @DisplayName("Multi-step undo through a checkpoint matches step-by-step undo")
+        void testUndoCommands() {
+            Character villain = CharacterFactory.createMage("Villain");
+            Character twinHero = CharacterFactory.createWarrior("Hero");
+            Character twinVillain = CharacterFactory.createMage("Villain");
+            twinHero.setHealth(50);
+            CommandInvoker invoker = new CommandInvoker(null, 10, CommandInvoker.UNBOUNDED);
+            CommandInvoker twin = new CommandInvoker(null, 10, CommandInvoker.UNBOUNDED);
+            for (int i = 1; i <= 100; i++) {
+                if (i % 3 == 0) {
+                    invoker.executeCommand(new AttackCommand(villain, hero));
+                    twin.executeCommand(new AttackCommand(twinVillain, twinHero));
+                } else {
+                    invoker.executeCommand(new HealCommand(hero, 1));
+                    twin.executeCommand(new HealCommand(twinHero, 1));
+                }
+            }
+
+            assertThat(invoker.undoCommands(37)).isEqualTo(37);
+            for (int i = 0; i < 37; i++) {
+                twin.undoLastCommand();
+            }
+            assertThat(invoker.getCommandHistory()).hasSize(63);
+            assertThat(hero.getStats()).isEqualTo(twinHero.getStats());
+            assertThat(villain.getStats()).isEqualTo(twinVillain.getStats());
+
+            assertThat(invoker.undoCommands(1_000)).isEqualTo(63);
+            while (twin.hasCommandsToUndo()) {
+                twin.undoLastCommand();
+            }
+            assertThat(hero.getStats()).isEqualTo(twinHero.getStats());
+            assertThat(villain.getStats()).isEqualTo(twinVillain.getStats());
+            assertThat(invoker.hasCommandsToUndo()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Multi-step undo runs each command's own undo")
+        void testUndoCommandsCallsUndo() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker();
+            invoker.executeCommand(engine.applyCommand(hero, StatusEffectType.STUN, 0, 100));
+            assertThat(engine.isStunned(hero)).isTrue();
+
+            invoker.undoCommands(1);
+
+            assertThat(engine.isStunned(hero)).isFalse();
+            assertThat(engine.getActiveEffectCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Invalid limits are rejected")
+        void testValidation() {
+            assertThatThrownBy(() -> new CommandInvoker(null, 0, 10))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CommandInvoker(null, 10, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new CommandInvoker().undoCommands(-1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Time Travel")
+    class TimeTravelTests {
+
+        @Test
+        @DisplayName("Rewinding and fast-forwarding restore the recorded stats without executing commands")
+        void testSeek() {
+            Character villain = CharacterFactory.createMage("Villain");
+            CommandInvoker invoker = new CommandInvoker(null, 16, CommandInvoker.UNBOUNDED);
+            int[] heroHealth = new int[201];
+            int[] villainMana = new int[201];
+            heroHealth[0] = 50;
+            villainMana[0] = 100;
+            for (int i = 1; i <= 200; i++) {
+                if (i % 2 == 0) {
+                    invoker.executeCommand(new AttackCommand(villain, hero));
+                } else {
+                    invoker.executeCommand(new HealCommand(hero, 7));
+                }
+                heroHealth[i] = hero.getStats().health();
+                villainMana[i] = villain.getStats().mana();
+            }
+
+            for (int index : new int[]{3, 150, 0, 199, 17, 200}) {
+                if (index <= invoker.getCurrentIndex()) {
+                    invoker.rewindTo(index);
+                } else {
+                    invoker.fastForwardTo(index);
+                }
+                assertThat(invoker.getCurrentIndex()).isEqualTo(index);
+                assertThat(hero.getStats().health()).isEqualTo(heroHealth[index]);
+                assertThat(villain.getStats().mana()).isEqualTo(villainMana[index]);
+            }
+        }
+
+        @Test
+        @DisplayName("Seeks stay on the current line and keep commands redoable")
+        void testSeekBounds() {
+            CommandInvoker invoker = new CommandInvoker();
+            for (int i = 0; i < 5; i++) {
+                invoker.executeCommand(new HealCommand(hero, 5));
+            }
+            invoker.rewindTo(2);
+
+            assertThat(invoker.getTimelineLength()).isEqualTo(5);
+            assertThat(invoker.getCommandHistory()).hasSize(2);
+            assertThat(invoker.hasCommandsToRedo()).isTrue();
+            assertThatThrownBy(() -> invoker.rewindTo(3))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+            assertThatThrownBy(() -> invoker.fastForwardTo(6))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+
+            invoker.executeCommand(new HealCommand(hero, 1));
+            assertThat(invoker.getTimelineLength()).isEqualTo(3);
+            assertThat(hero.getStats().health()).isEqualTo(61);
+        }
+
+        @Test
+        @DisplayName("Seeking across a command that declares no characters undoes and redoes it")
+        void testSeekAcrossUntracked() {
+            CommandInvoker invoker = new CommandInvoker(null, 2, CommandInvoker.UNBOUNDED);
+            int[] calls = new int[2];
+            GameCommand untracked = new GameCommand() {
+                @Override
+                public void execute() {
+                    calls[0]++;
+                    hero.setHealth(hero.getStats().health() - 10);
+                }
+
+                @Override
+                public void undo() {
+                    calls[1]++;
+                    hero.setHealth(hero.getStats().health() + 10);
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Untracked";
+                }
+            };
+            invoker.executeCommand(new HealCommand(hero, 5));
+            invoker.executeCommand(untracked);
+            invoker.executeCommand(new HealCommand(hero, 5));
+            invoker.executeCommand(new HealCommand(hero, 5));
+            assertThat(hero.getStats().health()).isEqualTo(55);
+
+            invoker.rewindTo(3);
+            assertThat(hero.getStats().health()).isEqualTo(50);
+            assertThat(calls).containsExactly(1, 0);
+
+            invoker.rewindTo(0);
+            assertThat(hero.getStats().health()).isEqualTo(50);
+            assertThat(calls).containsExactly(1, 1);
+
+            invoker.fastForwardTo(4);
+            assertThat(hero.getStats().health()).isEqualTo(55);
+            assertThat(calls).containsExactly(2, 1);
+            assertThat(invoker.getCurrentIndex()).isEqualTo(4);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Cold branches are evicted before current history")
+        void testBranchEviction() {
+            CommandInvoker invoker = new CommandInvoker(null, 10, 8);
+            for (int i = 0; i < 4; i++) {
+                invoker.executeCommand(new HealCommand(hero, 1));
+            }
+            invoker.undoCommands(4);
+            for (int i = 0; i < 5; i++) {
+                invoker.executeCommand(new HealCommand(hero, 2));
+            }
+
+            assertThat(invoker.getRetainedCommandCount()).isLessThanOrEqualTo(8);
+            assertThat(invoker.getCommandHistory()).hasSize(5);
+            assertThat(hero.getStats().health()).isEqualTo(60);
+        }
+
+        @Test
+        @DisplayName("Oldest history is dropped once only the current line remains")
+        void testHistoryTrimming() {
+            CommandInvoker invoker = new CommandInvoker(null, 10, 100);
+            for (int i = 0; i < 250; i++) {
+                invoker.executeCommand(new HealCommand(hero, 0));
+            }
+
+            assertThat(invoker.getRetainedCommandCount()).isLessThanOrEqualTo(100);
+            assertThat(invoker.getCommandHistory()).hasSize(invoker.getRetainedCommandCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("History Views")
+    class ViewTests {
+
+        @Test
+        @DisplayName("The view is live and follows execute, undo and rewind")
+        void testLiveView() {
+            CommandInvoker invoker = new CommandInvoker();
+            List<GameCommand> view = invoker.historyView();
+            HealCommand first = new HealCommand(hero, 10);
+            HealCommand second = new HealCommand(hero, 20);
+
+            invoker.executeCommand(first);
+            invoker.executeCommand(second);
+            assertThat(view).containsExactly(first, second);
+
+            invoker.undoLastCommand();
+            assertThat(view).containsExactly(first);
+
+            invoker.rewindTo(0);
+            assertThat(view).isEmpty();
+        }
+
+        @Test
+        @DisplayName("The view is read-only")
+        void testReadOnly() {
+            CommandInvoker invoker = new CommandInvoker();
+            invoker.executeCommand(new HealCommand(hero, 10));
+
+            assertThatThrownBy(() -> invoker.historyView().add(new HealCommand(hero, 5)))
+                    .isInstanceOf(UnsupportedOperationException.class);
+            assertThatThrownBy(() -> invoker.historyView().remove(0))
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+
+        @Test
+        @DisplayName("Pages cover the requested range and reject bad ones")
+        void testPagination() {
+            CommandInvoker invoker = new CommandInvoker();
+            List<HealCommand> heals = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                HealCommand heal = new HealCommand(hero, 1);
+                heals.add(heal);
+                invoker.executeCommand(heal);
+            }
+
+            assertThat(invoker.history(3, 6)).containsExactlyElementsOf(heals.subList(3, 6));
+            assertThat(invoker.history(10, 10)).isEmpty();
+            assertThatThrownBy(() -> invoker.history(5, 11))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+
+        @Test
+        @DisplayName("The view stays consistent after eviction and matches the stream")
+        void testEvictionAndStream() {
+            CommandInvoker invoker = new CommandInvoker(null, 10, 100);
+            HealCommand last = null;
+            for (int i = 0; i < 150; i++) {
+                last = new HealCommand(hero, 1);
+                invoker.executeCommand(last);
+            }
+
+            List<GameCommand> view = invoker.historyView();
+            assertThat(view).hasSize(invoker.getCurrentIndex());
+            assertThat(view.get(view.size() - 1)).isSameAs(last);
+            assertThat(invoker.historyStream().toList()).isEqualTo(invoker.getCommandHistory());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Compact Command Invoker Tests")
+class CompactCommandInvokerTest {
+
+    private CompactCommandInvoker invoker;
+    private Character warrior;
+    private Character mage;
+
+    @BeforeEach
+    void setUp() {
+        invoker = new CompactCommandInvoker();
+        warrior = CharacterFactory.createWarrior("Warrior");
+        mage = CharacterFactory.createMage("Mage");
+    }
+
+    @Nested
+    @DisplayName("Packed Entries")
+    class PackedTests {
+
+        @Test
+        @DisplayName("Attacks and heals are packed rather than kept as objects")
+        void testPacked() {
+            invoker.executeCommand(new AttackCommand(warrior, mage));
+            invoker.executeCommand(new HealCommand(mage, 10));
+
+            assertThat(invoker.size()).isEqualTo(2);
+            assertThat(invoker.getUnpackedCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Undo restores health exactly as the commands would")
+        void testUndo() {
+            invoker.executeCommand(new AttackCommand(warrior, mage));
+            int afterAttack = mage.getStats().health();
+            invoker.executeCommand(new HealCommand(mage, 500));
+            assertThat(mage.getStats().health()).isEqualTo(80);
+
+            invoker.undoLastCommand();
+            assertThat(mage.getStats().health()).isEqualTo(afterAttack);
+
+            invoker.undoLastCommand();
+            assertThat(mage.getStats().health()).isEqualTo(80);
+            assertThat(invoker.hasCommandsToUndo()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Negative heals round-trip through the signed fields")
+        void testNegativeHeal() {
+            invoker.executeCommand(new HealCommand(warrior, -40));
+            assertThat(warrior.getStats().health()).isEqualTo(110);
+
+            invoker.undoLastCommand();
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+        }
+
+        @Test
+        @DisplayName("History rebuilds equivalent commands in order")
+        void testHistory() {
+            AttackCommand attack = new AttackCommand(warrior, mage);
+            HealCommand heal = new HealCommand(mage, 10);
+            invoker.executeCommand(attack);
+            invoker.executeCommand(heal);
+
+            List<GameCommand> history = invoker.getCommandHistory();
+            assertThat(history).hasSize(2);
+            assertThat(history.get(0).getDescription()).isEqualTo(attack.getDescription());
+            assertThat(history.get(1).getDescription()).isEqualTo(heal.getDescription());
+            assertThat(((AttackCommand) history.get(0)).getTarget()).isSameAs(mage);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fallback Entries")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("Other commands are kept as objects and undone in order")
+        void testObjects() {
+            GameCommand custom = new GameCommand() {
+                @Override
+                public void execute() {
+                    warrior.setHealth(1);
+                }
+
+                @Override
+                public void undo() {
+                    warrior.setHealth(150);
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Custom";
+                }
+            };
+            invoker.executeCommand(new HealCommand(mage, 5));
+            invoker.executeCommand(custom);
+            invoker.executeCommand(new AttackCommand(mage, warrior));
+
+            assertThat(invoker.getUnpackedCount()).isEqualTo(1);
+            assertThat(invoker.getCommandHistory().get(1)).isSameAs(custom);
+
+            invoker.undoLastCommand();
+            invoker.undoLastCommand();
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            assertThat(invoker.getUnpackedCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("A command that throws is not recorded")
+        void testThrowing() {
+            assertThatThrownBy(() -> invoker.executeCommand(new HealCommand(mage, 5) {
+                @Override
+                public void execute() {
+                    throw new IllegalStateException("boom");
+                }
+            })).isInstanceOf(IllegalStateException.class);
+
+            assertThat(invoker.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Clearing drops history and unpacked commands")
+        void testClear() {
+            invoker.executeCommand(new AttackCommand(warrior, mage));
+            invoker.clearHistory();
+
+            assertThat(invoker.size()).isZero();
+            assertThat(invoker.getCommandHistory()).isEmpty();
+            invoker.undoLastCommand();
+            assertThat(mage.getStats().health()).isLessThan(80);
+        }
+    }
+}
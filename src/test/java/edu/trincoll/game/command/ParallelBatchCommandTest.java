@@ -0,0 +1,257 @@
+package edu.trincoll.game.command;
+
+import edu.trincoll.game.effect.StatusEffectEngine;
+import edu.trincoll.game.effect.StatusEffectType;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Parallel Batch Command Tests")
+class ParallelBatchCommandTest {
+
+    private static Character[] roster(int size) {
+        Character[] characters = new Character[size];
+        for (int i = 0; i < size; i++) {
+            characters[i] = i % 2 == 0
+                    ? CharacterFactory.createWarrior("Fighter" + i)
+                    : CharacterFactory.createMage("Fighter" + i);
+        }
+        return characters;
+    }
+
+    @Nested
+    @DisplayName("Serial Equivalence")
+    class EquivalenceTests {
+
+        @Test
+        @DisplayName("Final state matches serial execution in submission order")
+        void testMatchesSerial() {
+            Character[] parallel = roster(200);
+            Character[] serial = roster(200);
+            List<GameCommand> batch = new ArrayList<>();
+            List<GameCommand> sequence = new ArrayList<>();
+            Random random = new Random(42);
+            for (int i = 0; i < 5_000; i++) {
+                int a = random.nextInt(200);
+                int b = random.nextInt(200);
+                if (random.nextInt(3) == 0) {
+                    int amount = random.nextInt(30);
+                    batch.add(new HealCommand(parallel[a], amount));
+                    sequence.add(new HealCommand(serial[a], amount));
+                } else {
+                    batch.add(new AttackCommand(parallel[a], parallel[b]));
+                    sequence.add(new AttackCommand(serial[a], serial[b]));
+                }
+            }
+
+            ParallelBatchCommand command = new ParallelBatchCommand(batch, new ForkJoinPool(4), 8);
+            command.execute();
+            sequence.forEach(GameCommand::execute);
+
+            for (int i = 0; i < 200; i++) {
+                assertThat(parallel[i].getStats()).isEqualTo(serial[i].getStats());
+            }
+            assertThat(command.getRoundCount()).isLessThan(5_000);
+        }
+
+        @Test
+        @DisplayName("Status effect commands run alone rather than racing on their engine")
+        void testEffectCommands() {
+            int targets = 128;
+            Character[] fighters = roster(targets);
+            StatusEffectEngine engine = new StatusEffectEngine();
+            List<GameCommand> batch = new ArrayList<>();
+            for (Character fighter : fighters) {
+                batch.add(engine.applyCommand(fighter, StatusEffectType.POISON, 3, 10));
+            }
+            batch.add(engine.tickCommand());
+
+            ParallelBatchCommand command = new ParallelBatchCommand(batch, new ForkJoinPool(4), 1);
+            command.execute();
+
+            assertThat(command.getRoundCount()).isEqualTo(targets + 1);
+            assertThat(command.getFailedCommands()).isEmpty();
+            assertThat(engine.getActiveEffectCount()).isEqualTo(targets);
+            for (int i = 0; i < targets; i++) {
+                assertThat(engine.getTickDelta(fighters[i])).isEqualTo(-3);
+                assertThat(fighters[i].getStats().health()).isEqualTo(fighters[i].getStats().maxHealth() - 3);
+            }
+
+            command.undo();
+            assertThat(engine.getActiveEffectCount()).isZero();
+            assertThat(engine.getCurrentTick()).isZero();
+        }
+
+        @Test
+        @DisplayName("Disjoint commands share one round; conflicting ones are ordered")
+        void testRounds() {
+            Character[] fighters = roster(6);
+            ParallelBatchCommand disjoint = new ParallelBatchCommand(List.of(
+                    new AttackCommand(fighters[0], fighters[1]),
+                    new AttackCommand(fighters[2], fighters[3]),
+                    new AttackCommand(fighters[4], fighters[5])));
+            disjoint.execute();
+            assertThat(disjoint.getRoundCount()).isEqualTo(1);
+
+            ParallelBatchCommand chain = new ParallelBatchCommand(List.of(
+                    new AttackCommand(fighters[0], fighters[1]),
+                    new AttackCommand(fighters[1], fighters[2]),
+                    new AttackCommand(fighters[4], fighters[5])));
+            chain.execute();
+            assertThat(chain.getRoundCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Commands without declared characters run alone")
+        void testBarrier() {
+            Character[] fighters = roster(4);
+            List<String> order = new ArrayList<>();
+            GameCommand marker = new GameCommand() {
+                @Override
+                public void execute() {
+                    order.add("marker at " + fighters[1].getStats().health());
+                }
+
+                @Override
+                public void undo() {
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Marker";
+                }
+            };
+            ParallelBatchCommand batch = new ParallelBatchCommand(List.of(
+                    new AttackCommand(fighters[0], fighters[1]),
+                    marker,
+                    new AttackCommand(fighters[2], fighters[3])));
+            batch.execute();
+
+            assertThat(batch.getRoundCount()).isEqualTo(3);
+            assertThat(order).containsExactly("marker at " + fighters[1].getStats().health());
+        }
+    }
+
+    @Nested
+    @DisplayName("Undo and Failures")
+    class UndoTests {
+
+        @Test
+        @DisplayName("A batch executed through the invoker undoes as one step")
+        void testUndo() {
+            Character[] fighters = roster(4);
+            CommandInvoker invoker = new CommandInvoker();
+            invoker.executeCommand(new ParallelBatchCommand(List.of(
+                    new HealCommand(fighters[0], 10),
+                    new AttackCommand(fighters[2], fighters[3]))));
+            assertThat(fighters[3].getStats().health()).isLessThan(fighters[3].getStats().maxHealth());
+
+            invoker.undoLastCommand();
+            for (Character fighter : fighters) {
+                assertThat(fighter.getStats().health()).isEqualTo(fighter.getStats().maxHealth());
+            }
+        }
+
+        @Test
+        @DisplayName("Failures are recorded without stopping the batch")
+        void testFailure() {
+            Character[] fighters = roster(2);
+            GameCommand failing = new GameCommand() {
+                @Override
+                public void execute() {
+                    throw new IllegalStateException("boom");
+                }
+
+                @Override
+                public void undo() {
+                    throw new AssertionError("Failed commands must not be undone");
+                }
+
+                @Override
+                public String getDescription() {
+                    return "Failing";
+                }
+
+                @Override
+                public List<Character> getAffectedCharacters() {
+                    return List.of(fighters[0]);
+                }
+            };
+            ParallelBatchCommand batch = new ParallelBatchCommand(List.of(
+                    failing, new AttackCommand(fighters[0], fighters[1])));
+            batch.execute();
+
+            assertThat(batch.getFailedCommands()).containsExactly(failing);
+            assertThat(fighters[1].getStats().health()).isLessThan(80);
+            assertThatCode(batch::undo).doesNotThrowAnyException();
+        }
+
+        @Test
+        @DisplayName("Invalid arguments are rejected")
+        void testValidation() {
+            assertThatThrownBy(() -> new ParallelBatchCommand(List.of(), ForkJoinPool.commonPool(), 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            List<GameCommand> withNull = new ArrayList<>();
+            withNull.add(null);
+            assertThatThrownBy(() -> new ParallelBatchCommand(withNull))
+                    .isInstanceOf(NullPointerException.class);
+        }
+    }
+
+    @Nested
+    @Tag("benchmark")
+    @DisplayName("Benchmarks")
+    class BenchmarkTests {
+
+        @Test
+        @DisplayName("Throughput of disjoint attacks by pool size")
+        void testThroughput() {
+            int pairs = 50_000;
+            int repetitions = 40;
+            Character[] fighters = roster(2 * pairs);
+            List<GameCommand> attacks = new ArrayList<>(pairs);
+            for (int i = 0; i < pairs; i++) {
+                attacks.add(new AttackCommand(fighters[2 * i], fighters[2 * i + 1]));
+            }
+
+            double baseline = 0;
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads : new int[] {1, 2, 4, cores}) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                ParallelBatchCommand batch = new ParallelBatchCommand(attacks, pool,
+                        ParallelBatchCommand.DEFAULT_MIN_PARALLEL_ROUND);
+                // Warm up, then time execute/undo pairs so stats return to where they started
+                for (int i = 0; i < 5; i++) {
+                    batch.execute();
+                    batch.undo();
+                }
+                long start = System.nanoTime();
+                for (int i = 0; i < repetitions; i++) {
+                    batch.execute();
+                    batch.undo();
+                }
+                double perSecond = 2.0 * pairs * repetitions / ((System.nanoTime() - start) / 1e9);
+                pool.shutdown();
+                if (baseline == 0) {
+                    baseline = perSecond;
+                }
+                System.out.printf("%d threads: %.2f M commands/s (%.2fx)%n",
+                        threads, perSecond / 1e6, perSecond / baseline);
+                assertThat(batch.getRoundCount()).isEqualTo(1);
+            }
+            for (Character fighter : fighters) {
+                assertThat(fighter.getStats().health()).isEqualTo(fighter.getStats().maxHealth());
+            }
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package edu.trincoll.game.effect;
+
+import edu.trincoll.game.battle.BattleScheduler;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.command.GameCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Status Effect Engine Tests")
+class StatusEffectEngineTest {
+
+    @Nested
+    @DisplayName("Periodic Effects")
+    class PeriodicTests {
+
+        @Test
+        @DisplayName("Poison deals its magnitude every tick for its duration, ignoring defense")
+        void testPoison() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            engine.apply(warrior, StatusEffectType.POISON, 5, 3);
+
+            for (int i = 0; i < 5; i++) {
+                engine.tick();
+            }
+
+            assertThat(warrior.getStats().health()).isEqualTo(135);
+            assertThat(engine.getActiveEffectCount()).isZero();
+            assertThat(engine.getTickDelta(warrior)).isZero();
+        }
+
+        @Test
+        @DisplayName("Effects on one character combine into a single net delta")
+        void testNetDelta() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            warrior.setHealth(100);
+            engine.apply(warrior, StatusEffectType.POISON, 4, 10);
+            engine.apply(warrior, StatusEffectType.BURN, 3, 2);
+            engine.apply(warrior, StatusEffectType.REGENERATION, 5, 10);
+
+            assertThat(engine.getTickDelta(warrior)).isEqualTo(-2);
+            engine.tick();
+            engine.tick();
+            assertThat(warrior.getStats().health()).isEqualTo(96);
+            assertThat(engine.getTickDelta(warrior)).isEqualTo(1);
+            engine.tick();
+            assertThat(warrior.getStats().health()).isEqualTo(97);
+        }
+
+        @Test
+        @DisplayName("Dead characters are not healed by regeneration")
+        void testDeadStayDead() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character mage = CharacterFactory.createMage("Mage");
+            mage.setHealth(3);
+            engine.apply(mage, StatusEffectType.POISON, 10, 1);
+            engine.apply(mage, StatusEffectType.REGENERATION, 5, 5);
+
+            engine.tick();
+            assertThat(mage.isDead()).isTrue();
+            engine.tick();
+            assertThat(mage.isDead()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Long effects expire on the right tick across wheel levels")
+        void testLongDurations() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            int[] durations = {63, 64, 65, 4095, 4096, 4097, 300_000};
+            long[] handles = new long[durations.length];
+            for (int i = 0; i < durations.length; i++) {
+                handles[i] = engine.apply(warrior, StatusEffectType.STUN, 0, durations[i]);
+            }
+
+            int expired = 0;
+            for (int tick = 1; tick <= 300_000; tick++) {
+                engine.tick();
+                while (expired < durations.length && durations[expired] == tick) {
+                    expired++;
+                }
+                assertThat(engine.getActiveEffectCount()).isEqualTo(durations.length - expired);
+            }
+            assertThat(engine.isStunned(warrior)).isFalse();
+            assertThat(engine.cancel(handles[0])).isFalse();
+        }
+    }
+
+    @Nested
+    @DisplayName("Cancellation")
+    class CancelTests {
+
+        @Test
+        @DisplayName("Cancelling removes the effect once; stale handles are rejected")
+        void testCancel() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            long poison = engine.apply(warrior, StatusEffectType.POISON, 10, 100);
+            engine.tick();
+
+            assertThat(engine.cancel(poison)).isTrue();
+            assertThat(engine.cancel(poison)).isFalse();
+
+            long stun = engine.apply(warrior, StatusEffectType.STUN, 0, 5);
+            assertThat(engine.cancel(poison)).isFalse();
+            assertThat(engine.isStunned(warrior)).isTrue();
+
+            engine.tick();
+            assertThat(warrior.getStats().health()).isEqualTo(140);
+            assertThat(engine.cancel(stun)).isTrue();
+            assertThat(engine.isStunned(warrior)).isFalse();
+        }
+
+        @Test
+        @DisplayName("Invalid durations and magnitudes are rejected")
+        void testValidation() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+
+            assertThatThrownBy(() -> engine.apply(warrior, StatusEffectType.POISON, 1, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> engine.apply(warrior, StatusEffectType.POISON, 1, StatusEffectEngine.MAX_DURATION + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> engine.apply(warrior, StatusEffectType.BURN, -1, 5))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> engine.apply(warrior, StatusEffectType.ATTACK_MODIFIER, 0, 5))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Modifiers")
+    class ModifierTests {
+
+        @Test
+        @DisplayName("Attack modifiers stack and the original strategy returns when they expire")
+        void testAttackModifier() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            AttackStrategy original = warrior.getAttackStrategy();
+            int baseDamage = original.calculateDamage(warrior, mage);
+
+            engine.apply(warrior, StatusEffectType.ATTACK_MODIFIER, 2.0, 1);
+            engine.apply(warrior, StatusEffectType.ATTACK_MODIFIER, 1.5, 3);
+            assertThat(warrior.getAttackStrategy().calculateDamage(warrior, mage)).isEqualTo(baseDamage * 3);
+
+            engine.tick();
+            assertThat(warrior.getAttackStrategy().calculateDamage(warrior, mage))
+                    .isEqualTo((int) (baseDamage * 1.5));
+
+            engine.tick();
+            engine.tick();
+            assertThat(warrior.getAttackStrategy()).isSameAs(original);
+        }
+
+        @Test
+        @DisplayName("Defense modifiers scale damage taken")
+        void testDefenseModifier() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character mage = CharacterFactory.createMage("Mage");
+            DefenseStrategy original = mage.getDefenseStrategy();
+            long weakness = engine.apply(mage, StatusEffectType.DEFENSE_MODIFIER, 2.0, 10);
+
+            mage.takeDamage(20);
+            int doubled = 80 - mage.getStats().health();
+
+            engine.cancel(weakness);
+            assertThat(mage.getDefenseStrategy()).isSameAs(original);
+            mage.setHealth(80);
+            mage.takeDamage(20);
+            assertThat(doubled).isEqualTo(2 * (80 - mage.getStats().health()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Undo")
+    class UndoTests {
+
+        @Test
+        @DisplayName("Undoing a tick restores the health it changed")
+        void testUndoTick() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character mage = CharacterFactory.createMage("Mage");
+            mage.setHealth(50);
+            engine.apply(warrior, StatusEffectType.POISON, 7, 10);
+            engine.apply(mage, StatusEffectType.REGENERATION, 4, 10);
+
+            invoker.executeCommand(engine.tickCommand());
+            invoker.executeCommand(engine.tickCommand());
+            assertThat(warrior.getStats().health()).isEqualTo(136);
+            assertThat(mage.getStats().health()).isEqualTo(58);
+
+            invoker.undoLastCommand();
+            invoker.undoLastCommand();
+            assertThat(warrior.getStats().health()).isEqualTo(150);
+            assertThat(mage.getStats().health()).isEqualTo(50);
+        }
+
+        @Test
+        @DisplayName("Undo and redo of ticks leave timers, effects and modifiers as one pass would")
+        void testUndoRedoRoundTrip() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            AttackStrategy original = warrior.getAttackStrategy();
+            engine.apply(warrior, StatusEffectType.POISON, 7, 2);
+            engine.apply(warrior, StatusEffectType.ATTACK_MODIFIER, 2.0, 1);
+
+            invoker.executeCommand(engine.tickCommand());
+            invoker.executeCommand(engine.tickCommand());
+            for (int cycle = 0; cycle < 5; cycle++) {
+                invoker.undoLastCommand();
+                invoker.undoLastCommand();
+                assertThat(engine.getCurrentTick()).isZero();
+                assertThat(engine.getActiveEffectCount()).isEqualTo(2);
+                assertThat(engine.getTickDelta(warrior)).isEqualTo(-7);
+                assertThat(warrior.getAttackStrategy()).isNotSameAs(original);
+                assertThat(warrior.getStats().health()).isEqualTo(150);
+
+                invoker.redoCommand();
+                invoker.redoCommand();
+            }
+
+            assertThat(engine.getCurrentTick()).isEqualTo(2);
+            assertThat(engine.getActiveEffectCount()).isZero();
+            assertThat(warrior.getAttackStrategy()).isSameAs(original);
+            assertThat(warrior.getStats().health()).isEqualTo(136);
+        }
+
+        @Test
+        @DisplayName("Undone ticks across wheel boundaries replay the same expiries")
+        void testUndoAcrossWheels() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            StatusEffectEngine reference = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            Character twin = CharacterFactory.createWarrior("Twin");
+            for (int duration : new int[] {1, 63, 64, 65, 128, 4095, 4096, 4097}) {
+                engine.apply(warrior, StatusEffectType.REGENERATION, 1, duration);
+                reference.apply(twin, StatusEffectType.REGENERATION, 1, duration);
+            }
+            warrior.setHealth(1);
+            twin.setHealth(1);
+
+            for (int tick = 1; tick <= 4200; tick++) {
+                invoker.executeCommand(engine.tickCommand());
+                reference.tick();
+                if (tick % 61 == 0) {
+                    invoker.undoCommands(70);
+                    for (int i = 0; i < 70; i++) {
+                        invoker.redoCommand();
+                    }
+                }
+                assertThat(engine.getActiveEffectCount()).isEqualTo(reference.getActiveEffectCount());
+            }
+            assertThat(warrior.getStats().health()).isEqualTo(twin.getStats().health());
+
+            invoker.undoCommands(4200);
+            assertThat(engine.getCurrentTick()).isZero();
+            assertThat(engine.getActiveEffectCount()).isEqualTo(8);
+            assertThat(warrior.getStats().health()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Ticks are undone newest first")
+        void testUndoOutOfOrder() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            GameCommand tick = engine.tickCommand();
+            tick.execute();
+            engine.tick();
+
+            assertThatThrownBy(tick::undo).isInstanceOf(IllegalStateException.class);
+            assertThat(engine.getCurrentTick()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Undoing an application cancels the effect")
+        void testUndoApply() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+
+            invoker.executeCommand(engine.applyCommand(warrior, StatusEffectType.STUN, 0, 5));
+            assertThat(engine.isStunned(warrior)).isTrue();
+
+            invoker.undoLastCommand();
+            assertThat(engine.isStunned(warrior)).isFalse();
+            assertThat(engine.getActiveEffectCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Commands declare no characters, since they change shared engine state")
+        void testAffectedCharacters() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            engine.apply(warrior, StatusEffectType.POISON, 5, 10);
+
+            assertThat(engine.tickCommand().getAffectedCharacters()).isEmpty();
+            assertThat(engine.applyCommand(warrior, StatusEffectType.BURN, 3, 2).getAffectedCharacters())
+                    .isEmpty();
+        }
+
+        @Test
+        @DisplayName("Ticks rewind and fast-forward with the rest of the history")
+        void testTimeTravelThroughTicks() {
+            StatusEffectEngine engine = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker(null, 2, CommandInvoker.UNBOUNDED);
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            engine.apply(warrior, StatusEffectType.POISON, 7, 3);
+
+            for (int i = 0; i < 5; i++) {
+                invoker.executeCommand(engine.tickCommand());
+            }
+            assertThat(warrior.getStats().health()).isEqualTo(129);
+
+            invoker.rewindTo(1);
+            assertThat(warrior.getStats().health()).isEqualTo(143);
+            invoker.fastForwardTo(5);
+            assertThat(warrior.getStats().health()).isEqualTo(129);
+        }
+    }
+
+    @Nested
+    @Tag("benchmark")
+    @DisplayName("Benchmarks")
+    class BenchmarkTests {
+
+        @Test
+        @DisplayName("One million effects expire through recorded ticks and undo back")
+        void testMillionEffects() {
+            int characterCount = 100_000;
+            int effectCount = 1_000_000;
+            int maxDuration = 10_000;
+            StatusEffectEngine engine = new StatusEffectEngine();
+            CommandInvoker invoker = new CommandInvoker();
+            Character[] characters = new Character[characterCount];
+            for (int i = 0; i < characterCount; i++) {
+                characters[i] = CharacterFactory.createWarrior("W" + i);
+            }
+            Random random = new Random(42);
+            StatusEffectType[] types = {StatusEffectType.POISON, StatusEffectType.BURN,
+                    StatusEffectType.REGENERATION, StatusEffectType.STUN};
+
+            long start = System.nanoTime();
+            for (int i = 0; i < effectCount; i++) {
+                engine.apply(characters[random.nextInt(characterCount)], types[random.nextInt(types.length)],
+                        random.nextInt(3), 1 + random.nextInt(maxDuration));
+            }
+            long applied = System.nanoTime();
+            for (int tick = 0; tick < maxDuration; tick++) {
+                invoker.executeCommand(engine.tickCommand());
+            }
+            long ticked = System.nanoTime();
+            invoker.undoCommands(maxDuration);
+            long undone = System.nanoTime();
+
+            System.out.printf("apply %.0f ns/effect, tick %.3f ms/tick, undo %.3f ms/tick%n",
+                    (double) (applied - start) / effectCount,
+                    (ticked - applied) / 1e6 / maxDuration,
+                    (undone - ticked) / 1e6 / maxDuration);
+            assertThat(engine.getCurrentTick()).isZero();
+            assertThat(engine.getActiveEffectCount()).isEqualTo(effectCount);
+        }
+    }
+
+    @Test
+    @DisplayName("A scheduler action filter makes stunned combatants lose their turns")
+    void testStunSkipsTurns() {
+        StatusEffectEngine engine = new StatusEffectEngine();
+        Character warrior = CharacterFactory.createWarrior("Warrior");
+        Character mage = CharacterFactory.createMage("Mage");
+        BattleScheduler battle = new BattleScheduler();
+        battle.add(warrior, 0, 100);
+        battle.add(mage, 1, 100);
+        battle.setActionFilter(character -> !engine.isStunned(character));
+        engine.apply(warrior, StatusEffectType.STUN, 0, 1);
+
+        assertThat(battle.executeNextTurn()).isTrue();
+        assertThat(mage.getStats().health()).isEqualTo(80);
+        assertThat(battle.getTurnsExecuted()).isEqualTo(1);
+
+        engine.tick();
+        battle.executeNextTurn();
+        battle.executeNextTurn();
+        assertThat(mage.getStats().health()).isLessThan(80);
+    }
+}
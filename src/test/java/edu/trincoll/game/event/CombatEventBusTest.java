@@ -0,0 +1,229 @@
+package edu.trincoll.game.event;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.command.CommandInvoker;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.RangedAttackStrategy;
+import edu.trincoll.game.template.StandardBattleSequence;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Combat Event Bus Tests")
+class CombatEventBusTest {
+
+    private CombatEventBus bus;
+    private List<CombatEventType> received;
+    private CombatEventBus.Subscription subscription;
+
+    @BeforeEach
+    void setUp() {
+        bus = new CombatEventBus(64);
+        received = new CopyOnWriteArrayList<>();
+        subscription = bus.subscribe(event -> received.add(event.getType()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.close();
+    }
+
+    private List<CombatEventType> drain() throws InterruptedException {
+        assertThat(subscription.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        return received;
+    }
+
+    @Nested
+    @DisplayName("Event Sources")
+    class EventSourceTests {
+
+        private Character warrior;
+        private Character mage;
+
+        @BeforeEach
+        void setUp() {
+            warrior = CharacterFactory.createWarrior("Conan");
+            mage = CharacterFactory.createMage("Gandalf");
+            warrior.setEventBus(bus);
+            mage.setEventBus(bus);
+        }
+
+        @Test
+        @DisplayName("Attack command publishes attack and damage events")
+        void testAttackEvents() throws InterruptedException {
+            new AttackCommand(warrior, mage).execute();
+
+            assertThat(drain()).containsExactly(CombatEventType.ATTACK, CombatEventType.DAMAGE_TAKEN);
+        }
+
+        @Test
+        @DisplayName("Lethal damage publishes a death event")
+        void testDeathEvent() throws InterruptedException {
+            mage.setHealth(1);
+
+            mage.takeDamage(100);
+
+            assertThat(drain()).containsExactly(
+                    CombatEventType.DAMAGE_TAKEN, CombatEventType.DAMAGE_TAKEN, CombatEventType.DEATH);
+        }
+
+        @Test
+        @DisplayName("Undo and strategy changes are published")
+        void testUndoAndStrategyChange() throws InterruptedException {
+            CommandInvoker invoker = new CommandInvoker(bus);
+            invoker.executeCommand(new AttackCommand(warrior, mage));
+            invoker.undoLastCommand();
+            warrior.setAttackStrategy(new RangedAttackStrategy());
+
+            assertThat(drain()).containsExactly(
+                    CombatEventType.ATTACK, CombatEventType.DAMAGE_TAKEN,
+                    CombatEventType.HEAL, CombatEventType.UNDO, CombatEventType.STRATEGY_CHANGE);
+        }
+
+        @Test
+        @DisplayName("Battle sequences publish turn boundaries")
+        void testTurnEvents() throws InterruptedException {
+            new StandardBattleSequence(warrior, mage).executeTurn();
+
+            assertThat(drain()).containsExactly(
+                    CombatEventType.TURN_START, CombatEventType.DAMAGE_TAKEN, CombatEventType.TURN_END);
+        }
+
+        @Test
+        @DisplayName("Characters without a bus publish nothing")
+        void testNoBus() throws InterruptedException {
+            warrior.setEventBus(null);
+            mage.setEventBus(null);
+
+            new AttackCommand(warrior, mage).execute();
+
+            assertThat(drain()).isEmpty();
+            assertThat(bus.getPublishedCount()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Delivery")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Slow sinks drop events instead of stalling publishers")
+        void testSlowSinkDrops() throws InterruptedException {
+            AtomicLong seen = new AtomicLong();
+            CombatEventBus.Subscription slow = bus.subscribe(event -> {
+                seen.incrementAndGet();
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            });
+
+            for (int i = 0; i < 10_000; i++) {
+                bus.publish(CombatEventType.HEAL, null, null, 1, null);
+            }
+            assertThat(slow.awaitDrained(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(slow.getDroppedCount()).isPositive();
+            assertThat(slow.getDeliveredCount() + slow.getDroppedCount()).isEqualTo(10_000);
+            assertThat(seen.get()).isEqualTo(slow.getDeliveredCount());
+        }
+
+        @Test
+        @DisplayName("Sampling subscribers receive every n-th event")
+        void testSampling() throws InterruptedException {
+            CombatEventBus.Subscription sampled = bus.subscribe(event -> { }, 10);
+
+            for (int i = 0; i < 50; i++) {
+                bus.publish(CombatEventType.HEAL, null, null, 1, null);
+            }
+            assertThat(sampled.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(sampled.getDeliveredCount()).isEqualTo(5);
+        }
+
+        @Test
+        @DisplayName("Draining reports whether the subscriber caught up in time")
+        void testAwaitDrainedTimeout() throws InterruptedException {
+            CountDownLatch release = new CountDownLatch(1);
+            CombatEventBus.Subscription blocked = bus.subscribe(event -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+
+            bus.publish(CombatEventType.HEAL, null, null, 1, null);
+            assertThat(blocked.awaitDrained(50, TimeUnit.MILLISECONDS)).isFalse();
+
+            release.countDown();
+            assertThat(blocked.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(blocked.getDeliveredCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Capacity rounds up to a power of two")
+        void testCapacity() {
+            assertThat(new CombatEventBus(100).getCapacity()).isEqualTo(128);
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrency")
+    class ConcurrencyTests {
+
+        @Test
+        @DisplayName("Concurrent publishers never deliver torn events")
+        void testConsistentEvents() throws InterruptedException {
+            CombatEventBus small = new CombatEventBus(8);
+            Character[] actors = {
+                    CharacterFactory.createWarrior("A0"), CharacterFactory.createMage("A1"),
+                    CharacterFactory.createArcher("A2"), CharacterFactory.createRogue("A3")};
+            CombatEventType[] types = CombatEventType.values();
+            AtomicLong torn = new AtomicLong();
+            // Every field is derived from the amount, so a mix of two events is detectable
+            CombatEventBus.Subscription checker = small.subscribe(event -> {
+                int amount = event.getAmount();
+                if (event.getType() != types[amount % types.length]
+                        || event.getActor() != actors[amount % actors.length]
+                        || event.getTarget() != actors[(amount + 1) % actors.length]
+                        || !Integer.valueOf(amount).equals(event.getDetail())) {
+                    torn.incrementAndGet();
+                }
+            });
+
+            int publishers = 4;
+            int perPublisher = 200_000;
+            Thread[] threads = new Thread[publishers];
+            for (int t = 0; t < publishers; t++) {
+                int offset = t * perPublisher;
+                threads[t] = new Thread(() -> {
+                    for (int i = offset; i < offset + perPublisher; i++) {
+                        small.publish(types[i % types.length], actors[i % actors.length],
+                                actors[(i + 1) % actors.length], i, i);
+                    }
+                });
+                threads[t].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertThat(checker.awaitDrained(10, TimeUnit.SECONDS)).isTrue();
+            small.close();
+
+            assertThat(checker.getDeliveredCount() + checker.getDroppedCount())
+                    .isEqualTo((long) publishers * perPublisher);
+            assertThat(checker.getDeliveredCount()).isPositive();
+            assertThat(torn.get()).isZero();
+        }
+    }
+}
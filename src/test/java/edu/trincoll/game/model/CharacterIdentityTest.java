@@ -0,0 +1,110 @@
+package edu.trincoll.game.model;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Character Identity Tests")
+class CharacterIdentityTest {
+
+    @Nested
+    @DisplayName("Ids and Equality")
+    class EqualityTests {
+
+        @Test
+        @DisplayName("Every character gets a distinct, fixed id")
+        void testIds() {
+            Character first = CharacterFactory.createWarrior("Twin");
+            Character second = CharacterFactory.createWarrior("Twin");
+
+            assertThat(first.getId()).isNotEqualTo(second.getId());
+            first.setHealth(1);
+            assertThat(first.getId()).isEqualTo(first.getId());
+        }
+
+        @Test
+        @DisplayName("Equality still depends on name and type only")
+        void testEquality() {
+            Character first = CharacterFactory.createWarrior("Twin");
+            Character second = CharacterFactory.createWarrior("Twin");
+            second.setHealth(10);
+
+            assertThat(first).isEqualTo(second);
+            assertThat(first.hashCode()).isEqualTo(second.hashCode());
+            assertThat(first).isNotEqualTo(CharacterFactory.createMage("Twin"));
+            assertThat(first).isNotEqualTo(CharacterFactory.createWarrior("Other"));
+        }
+    }
+
+    @Nested
+    @DisplayName("Character Int Map")
+    class MapTests {
+
+        @Test
+        @DisplayName("Keys are compared by identity")
+        void testIdentityKeys() {
+            CharacterIntMap map = new CharacterIntMap();
+            Character first = CharacterFactory.createWarrior("Twin");
+            Character second = CharacterFactory.createWarrior("Twin");
+
+            assertThat(map.put(first, 1)).isEqualTo(CharacterIntMap.NO_VALUE);
+            assertThat(map.put(second, 2)).isEqualTo(CharacterIntMap.NO_VALUE);
+            assertThat(map.put(first, 3)).isEqualTo(1);
+
+            assertThat(map.size()).isEqualTo(2);
+            assertThat(map.get(first)).isEqualTo(3);
+            assertThat(map.get(second)).isEqualTo(2);
+            assertThat(map.get(null)).isEqualTo(CharacterIntMap.NO_VALUE);
+        }
+
+        @Test
+        @DisplayName("Random puts and removes match IdentityHashMap")
+        void testAgainstIdentityHashMap() {
+            List<Character> pool = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                pool.add(CharacterFactory.createMage("Mage" + i));
+            }
+            CharacterIntMap map = new CharacterIntMap(4);
+            Map<Character, Integer> expected = new IdentityHashMap<>();
+            Random random = new Random(42);
+
+            for (int step = 0; step < 20_000; step++) {
+                Character character = pool.get(random.nextInt(pool.size()));
+                if (random.nextBoolean()) {
+                    int value = random.nextInt(1000);
+                    Integer previous = expected.put(character, value);
+                    assertThat(map.put(character, value)).isEqualTo(previous == null ? -1 : previous);
+                } else {
+                    Integer previous = expected.remove(character);
+                    assertThat(map.remove(character)).isEqualTo(previous == null ? -1 : previous);
+                }
+                assertThat(map.size()).isEqualTo(expected.size());
+            }
+            for (Character character : pool) {
+                Integer value = expected.get(character);
+                assertThat(map.get(character)).isEqualTo(value == null ? -1 : value);
+                assertThat(map.containsKey(character)).isEqualTo(value != null);
+            }
+
+            map.clear();
+            assertThat(map.isEmpty()).isTrue();
+            assertThat(map.containsKey(pool.get(0))).isFalse();
+        }
+
+        @Test
+        @DisplayName("Negative expected sizes are rejected")
+        void testInvalidSize() {
+            assertThatThrownBy(() -> new CharacterIntMap(-1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package edu.trincoll.game.model;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Character Rendering Tests")
+class CharacterRenderingTest {
+
+    private static String written(Character character) {
+        ByteBuffer buffer = ByteBuffer.allocate(128);
+        character.writeTo(buffer);
+        return new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Character Text")
+    class CharacterTests {
+
+        @Test
+        @DisplayName("toString keeps its original format")
+        void testToString() {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+            warrior.setHealth(95);
+
+            assertThat(warrior.toString()).isEqualTo("Conan (WARRIOR) - HP: 95/150, ATK: 40, DEF: 30");
+        }
+
+        @Test
+        @DisplayName("appendTo adds to the caller's builder")
+        void testAppendTo() {
+            StringBuilder out = new StringBuilder("> ");
+            CharacterFactory.createMage("Merlin").appendTo(out);
+
+            assertThat(out.toString()).isEqualTo("> Merlin (MAGE) - HP: 80/80, ATK: 60, DEF: 10");
+        }
+
+        @Test
+        @DisplayName("writeTo matches toString for every type and non-ASCII names")
+        void testWriteTo() {
+            List<Character> characters = List.of(
+                    CharacterFactory.createWarrior("Björn"),
+                    CharacterFactory.createMage("魔法使い"),
+                    CharacterFactory.createArcher("Robin"),
+                    CharacterFactory.createRogue("Shade"));
+            characters.get(0).setHealth(0);
+
+            for (Character character : characters) {
+                assertThat(written(character)).isEqualTo(character.toString());
+            }
+        }
+
+        @Test
+        @DisplayName("writeTo fails when the buffer is too small")
+        void testOverflow() {
+            assertThatThrownBy(() -> CharacterFactory.createWarrior("Conan").writeTo(ByteBuffer.allocate(8)))
+                    .isInstanceOf(BufferOverflowException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Decimal Writer")
+    class DecimalWriterTests {
+
+        @Test
+        @DisplayName("Integers are written like Integer.toString")
+        void testDigits() {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            for (int value : new int[] {0, 7, -7, 10, 99, -100, 123_456, Integer.MAX_VALUE, Integer.MIN_VALUE}) {
+                buffer.clear();
+                DecimalWriter.write(buffer, value);
+                String text = new String(buffer.array(), 0, buffer.position(), StandardCharsets.US_ASCII);
+                assertThat(text).isEqualTo(Integer.toString(value));
+            }
+        }
+    }
+}
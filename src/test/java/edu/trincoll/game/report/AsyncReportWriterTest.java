@@ -0,0 +1,147 @@
+package edu.trincoll.game.report;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.simulation.BattleResult;
+import edu.trincoll.game.simulation.Matchup;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Async Report Writer Tests")
+class AsyncReportWriterTest {
+
+    private static String render(ReportFormat format, Consumer<AsyncReportWriter> body)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (AsyncReportWriter writer = AsyncReportWriter.toStream(out, format)) {
+            body.accept(writer);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("Text Format")
+    class TextFormatTests {
+
+        @Test
+        @DisplayName("Character lines match Character.toString()")
+        void testCharacterLine() throws IOException {
+            Character warrior = CharacterFactory.createWarrior("Conan");
+
+            String output = render(ReportFormat.TEXT, writer -> writer.writeCharacter(warrior));
+
+            assertThat(output).isEqualTo(warrior + "\n");
+        }
+
+        @Test
+        @DisplayName("Match lines name the winner")
+        void testMatchLine() throws IOException {
+            Matchup matchup = new Matchup(CharacterType.WARRIOR, CharacterType.MAGE, 0L);
+            BattleResult result = new BattleResult(BattleResult.FIRST, 4, 71, 0);
+
+            String output = render(ReportFormat.TEXT, writer -> writer.writeMatch(matchup, result));
+
+            assertThat(output).isEqualTo("WARRIOR vs MAGE: WARRIOR wins after 4 turns (HP 71/0)\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON Format")
+    class JsonFormatTests {
+
+        @Test
+        @DisplayName("Character names are escaped")
+        void testEscaping() throws IOException {
+            Character odd = CharacterFactory.createMage("Quote\"Back\\slashé");
+
+            String output = render(ReportFormat.JSON, writer -> writer.writeCharacter(odd));
+
+            assertThat(output).startsWith("{\"name\":\"Quote\\\"Back\\\\slashé\",\"type\":\"MAGE\"")
+                    .endsWith("\"mana\":100,\"maxMana\":100}\n");
+        }
+
+        @Test
+        @DisplayName("Draws are reported as DRAW")
+        void testDraw() throws IOException {
+            Matchup matchup = new Matchup(CharacterType.MAGE, CharacterType.MAGE, 5L);
+            BattleResult result = new BattleResult(BattleResult.DRAW, 1000, 10, 10);
+
+            String output = render(ReportFormat.JSON, writer -> writer.writeMatch(matchup, result));
+
+            assertThat(output).isEqualTo("{\"first\":\"MAGE\",\"second\":\"MAGE\",\"seed\":5,"
+                    + "\"winner\":\"DRAW\",\"turns\":1000,\"firstHp\":10,\"secondHp\":10}\n");
+        }
+    }
+
+    @Nested
+    @DisplayName("Batching")
+    class BatchingTests {
+
+        @Test
+        @DisplayName("Records stay in order across many small buffers")
+        void testOrderAcrossBuffers() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (AsyncReportWriter writer = new AsyncReportWriter(Channels.newChannel(out), ReportFormat.TEXT, 1024, 2)) {
+                for (int i = 0; i < 5_000; i++) {
+                    writer.writeCharacter(CharacterFactory.createRogue("R" + i));
+                }
+                assertThat(writer.getRecordsWritten()).isEqualTo(5_000);
+            }
+
+            String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+            assertThat(lines).hasSize(5_000);
+            assertThat(lines[0]).startsWith("R0 ");
+            assertThat(lines[4_999]).startsWith("R4999 ");
+        }
+
+        @Test
+        @DisplayName("Flush makes everything written so far visible")
+        void testFlush() throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (AsyncReportWriter writer = AsyncReportWriter.toStream(out, ReportFormat.TEXT)) {
+                writer.writeCharacter(CharacterFactory.createArcher("Legolas"));
+                writer.flush();
+
+                assertThat(out.toString(StandardCharsets.UTF_8)).startsWith("Legolas (ARCHER)");
+            }
+        }
+
+        @Test
+        @DisplayName("Channel failures surface to the caller")
+        void testFailure() {
+            WritableByteChannel broken = new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer src) throws IOException {
+                    throw new IOException("disk full");
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            AsyncReportWriter writer = new AsyncReportWriter(broken, ReportFormat.TEXT, 1024, 2);
+            writer.writeCharacter(CharacterFactory.createWarrior("Conan"));
+
+            assertThatThrownBy(writer::flush).isInstanceOf(UncheckedIOException.class);
+            assertThatThrownBy(writer::close).isInstanceOf(IOException.class).hasMessage("disk full");
+        }
+    }
+}
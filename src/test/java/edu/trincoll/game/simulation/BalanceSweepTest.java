@@ -0,0 +1,101 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Balance Sweep Tests")
+class BalanceSweepTest {
+
+    private static Map<CharacterType, StatGrid> grids() {
+        Map<CharacterType, StatGrid> grids = new EnumMap<>(CharacterType.class);
+        grids.put(CharacterType.WARRIOR, StatGrid.builder(CharacterType.WARRIOR).health(100, 200, 25).build());
+        grids.put(CharacterType.MAGE, StatGrid.builder(CharacterType.MAGE).attack(40, 70, 10).build());
+        grids.put(CharacterType.ROGUE, StatGrid.builder(CharacterType.ROGUE).health(70, 110, 20).build());
+        return grids;
+    }
+
+    @Nested
+    @DisplayName("Stat Grid")
+    class StatGridTests {
+
+        @Test
+        @DisplayName("Grid is the cartesian product of all ranges")
+        void testCartesianProduct() {
+            StatGrid grid = StatGrid.builder(CharacterType.WARRIOR)
+                .health(100, 200, 50)
+                .attack(30, 40, 10)
+                .build();
+
+            assertThat(grid.size()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Invalid range is rejected")
+        void testInvalidRange() {
+            assertThatThrownBy(() -> StatGrid.builder(CharacterType.MAGE).health(100, 50, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sweep")
+    class SweepTests {
+
+        @Test
+        @DisplayName("Every configuration is either evaluated or pruned")
+        void testSearchSpaceCovered() {
+            BalanceSweep.Result result = new BalanceSweep().run(grids(), 3);
+
+            assertThat(result.totalConfigurations()).isEqualTo(5L * 4 * 3);
+            assertThat(result.evaluatedConfigurations() + result.prunedConfigurations())
+                .isEqualTo(result.totalConfigurations());
+        }
+
+        @Test
+        @DisplayName("Best configurations are sorted and carry a full win-rate matrix")
+        void testBestConfigurations() {
+            BalanceSweep.Result result = new BalanceSweep().run(grids(), 3);
+
+            assertThat(result.best()).hasSize(3);
+            assertThat(result.best().get(0).imbalance())
+                .isLessThanOrEqualTo(result.best().get(2).imbalance());
+
+            BalanceSweep.Configuration best = result.best().get(0);
+            int types = CharacterType.values().length;
+            assertThat(best.stats()).hasSize(types);
+            assertThat(best.winRates()).hasNumberOfRows(types);
+            for (int a = 0; a < types; a++) {
+                for (int b = 0; b < types; b++) {
+                    assertThat(best.winRates()[a][b] + best.winRates()[b][a]).isEqualTo(1.0);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Second run reuses every pair result")
+        void testPairReuse() {
+            BalanceSweep sweep = new BalanceSweep();
+            BalanceSweep.Result first = sweep.run(grids(), 3);
+            BalanceSweep.Result second = sweep.run(grids(), 3);
+
+            assertThat(first.pairsSimulated()).isPositive();
+            assertThat(second.pairsSimulated()).isZero();
+            assertThat(second.pairsReused()).isEqualTo(first.pairsSimulated());
+            assertThat(second.best().get(0).stats()).isEqualTo(first.best().get(0).stats());
+        }
+
+        @Test
+        @DisplayName("Top-K must be positive")
+        void testInvalidTopK() {
+            assertThatThrownBy(() -> new BalanceSweep().run(grids(), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.model.CharacterType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+@DisplayName("Distributed Simulation Tests")
+class DistributedSimulationTest {
+
+    @Nested
+    @DisplayName("Battle Simulator")
+    class SimulatorTests {
+
+        @Test
+        @DisplayName("Warrior beats rogue in a mirror of factory stats")
+        void testWarriorVersusRogue() {
+            BattleResult result = new BattleSimulator()
+                    .simulate(new Matchup(CharacterType.WARRIOR, CharacterType.ROGUE, 0L));
+
+            assertThat(result.winner()).isEqualTo(BattleResult.FIRST);
+            assertThat(result.secondRemainingHealth()).isZero();
+        }
+
+        @Test
+        @DisplayName("Same seed produces the same result")
+        void testDeterministic() {
+            Matchup matchup = new Matchup(CharacterType.MAGE, CharacterType.ARCHER, 7L);
+            BattleSimulator simulator = new BattleSimulator();
+
+            assertThat(simulator.simulate(matchup)).isEqualTo(simulator.simulate(matchup));
+        }
+
+        @Test
+        @DisplayName("Round robin covers every ordered pairing per round")
+        void testRoundRobin() {
+            List<Matchup> matchups = Matchup.roundRobin(3, 42L);
+
+            assertThat(matchups).hasSize(3 * 4 * 4);
+            assertThat(Matchup.roundRobin(3, 42L)).isEqualTo(matchups);
+        }
+    }
+
+    @Nested
+    @DisplayName("Wire Protocol")
+    class ProtocolTests {
+
+        @Test
+        @DisplayName("Batches round-trip through the binary encoding")
+        void testBatchRoundTrip() throws IOException {
+            List<Matchup> matchups = Matchup.roundRobin(1, 1L);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BattleProtocol.writeBatch(new DataOutputStream(bytes), 9, matchups);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            assertThat(in.readByte()).isEqualTo(BattleProtocol.BATCH);
+            assertThat(in.readInt()).isEqualTo(9);
+            assertThat(BattleProtocol.readBatchBody(in)).containsExactlyElementsOf(matchups);
+        }
+
+        @Test
+        @DisplayName("Results round-trip through the binary encoding")
+        void testResultsRoundTrip() throws IOException {
+            BattleResult[] results = {
+                    new BattleResult(BattleResult.FIRST, 5, 12, 0),
+                    new BattleResult(BattleResult.DRAW, 1000, 40, 40)
+            };
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BattleProtocol.writeResults(new DataOutputStream(bytes), 3, results);
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            assertThat(in.readByte()).isEqualTo(BattleProtocol.RESULTS);
+            assertThat(in.readInt()).isEqualTo(3);
+            assertThat(BattleProtocol.readResultsBody(in)).containsExactly(results);
+        }
+
+        @Test
+        @DisplayName("Corrupt counts and character types are rejected")
+        void testCorruptFrames() throws IOException {
+            assertThatThrownBy(() -> BattleProtocol.readBatchBody(frame(-1)))
+                    .isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> BattleProtocol.readBatchBody(frame(BattleProtocol.MAX_FRAME_ITEMS + 1)))
+                    .isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> BattleProtocol.readResultsBody(frame(Integer.MIN_VALUE)))
+                    .isInstanceOf(IOException.class);
+
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(1);
+            out.writeByte(CharacterType.values().length);
+            out.writeByte(0);
+            out.writeLong(0L);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+            assertThatThrownBy(() -> BattleProtocol.readBatchBody(in))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("character type");
+        }
+
+        private DataInputStream frame(int count) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            new DataOutputStream(bytes).writeInt(count);
+            return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Coordinator and Workers")
+    class CoordinatorTests {
+
+        @Test
+        @DisplayName("Results match local simulation regardless of worker count")
+        void testResultsMatchLocalSimulation() throws Exception {
+            List<Matchup> matchups = Matchup.roundRobin(50, 42L);
+            BattleSimulator simulator = new BattleSimulator();
+            List<BattleResult> expected = matchups.stream().map(simulator::simulate).toList();
+
+            try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+                coordinator.start();
+                List<Thread> workers = new ArrayList<>();
+                for (int i = 0; i < 3; i++) {
+                    Thread worker = new Thread(new SimulationWorker("localhost", coordinator.getPort()));
+                    worker.start();
+                    workers.add(worker);
+                }
+                coordinator.awaitWorkers(3, 10, TimeUnit.SECONDS);
+
+                List<BattleResult> results = coordinator.run(matchups, 16, 30, TimeUnit.SECONDS);
+
+                assertThat(results).isEqualTo(expected);
+                assertThat(coordinator.getBatchesDispatched()).isGreaterThanOrEqualTo(50);
+            }
+        }
+
+        @Test
+        @DisplayName("Coordinator can run several jobs over the same workers")
+        void testMultipleRuns() throws Exception {
+            try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+                coordinator.start();
+                new Thread(new SimulationWorker("localhost", coordinator.getPort())).start();
+                coordinator.awaitWorkers(1, 10, TimeUnit.SECONDS);
+
+                assertThat(coordinator.run(Matchup.roundRobin(2, 1L), 4, 30, TimeUnit.SECONDS)).hasSize(32);
+                assertThat(coordinator.run(Matchup.roundRobin(1, 2L), 4, 30, TimeUnit.SECONDS)).hasSize(16);
+            }
+        }
+
+        @Test
+        @DisplayName("A worker that stops reading does not stall the others")
+        void testStalledWorker() {
+            // 64 batches of 16,000 matchups is about 10 MB, far more than the socket buffers hold
+            List<Matchup> matchups = Matchup.roundRobin(64_000, 5L);
+
+            assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+                try (SimulationCoordinator coordinator = new SimulationCoordinator(0);
+                     Socket stalled = new Socket()) {
+                    coordinator.start();
+                    stalled.setReceiveBufferSize(4096);
+                    stalled.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort()));
+                    for (int i = 0; i < 64; i++) {
+                        stalled.getOutputStream().write(BattleProtocol.REQUEST);
+                    }
+                    coordinator.awaitWorkers(1, 10, TimeUnit.SECONDS);
+
+                    CompletableFuture<List<BattleResult>> run = CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return coordinator.run(matchups, 16_000, 50, TimeUnit.SECONDS);
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    });
+                    while (coordinator.getBatchesDispatched() < 64) {
+                        Thread.sleep(10);
+                    }
+                    new Thread(new SimulationWorker("localhost", coordinator.getPort())).start();
+
+                    assertThat(run.get()).hasSize(matchups.size()).doesNotContainNull();
+                    assertThat(coordinator.getBatchesStolen()).isEqualTo(64);
+                }
+            });
+        }
+
+        @Test
+        @DisplayName("A worker that returns the wrong number of results is disconnected")
+        void testMalformedResults() throws Exception {
+            List<Matchup> matchups = Matchup.roundRobin(4, 3L);
+            BattleSimulator simulator = new BattleSimulator();
+
+            List<BattleResult> expected = matchups.stream().map(simulator::simulate).toList();
+
+            try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+                coordinator.start();
+                Socket faulty = new Socket(InetAddress.getLoopbackAddress(), coordinator.getPort());
+                DataOutputStream out = new DataOutputStream(faulty.getOutputStream());
+                DataInputStream in = new DataInputStream(new BufferedInputStream(faulty.getInputStream()));
+                out.writeByte(BattleProtocol.REQUEST);
+                coordinator.awaitWorkers(1, 10, TimeUnit.SECONDS);
+
+                CompletableFuture<List<BattleResult>> run = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return coordinator.run(matchups, 16, 30, TimeUnit.SECONDS);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+                assertThat(in.readByte()).isEqualTo(BattleProtocol.BATCH);
+                int batchId = in.readInt();
+                BattleProtocol.readBatchBody(in);
+                BattleProtocol.writeResults(out, batchId, new BattleResult[0]);
+
+                // The coordinator hangs up and hands the batch to the next worker
+                assertThat(in.read()).isEqualTo(-1);
+                faulty.close();
+                new Thread(new SimulationWorker("localhost", coordinator.getPort())).start();
+
+                assertThat(run.get(30, TimeUnit.SECONDS)).isEqualTo(expected);
+            }
+        }
+
+        @Test
+        @DisplayName("Separate worker JVMs on localhost complete a run")
+        void testWorkerProcesses() throws Exception {
+            List<Matchup> matchups = Matchup.roundRobin(20, 99L);
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            String classpath = System.getProperty("java.class.path");
+
+            try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+                coordinator.start();
+                List<Process> processes = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    processes.add(new ProcessBuilder(java, "-cp", classpath,
+                            SimulationWorker.class.getName(), "localhost", String.valueOf(coordinator.getPort()))
+                            .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                            .redirectError(ProcessBuilder.Redirect.INHERIT)
+                            .start());
+                }
+                try {
+                    coordinator.awaitWorkers(2, 30, TimeUnit.SECONDS);
+                    List<BattleResult> results = coordinator.run(matchups, 8, 60, TimeUnit.SECONDS);
+
+                    assertThat(results).hasSize(matchups.size()).doesNotContainNull();
+                } finally {
+                    coordinator.close();
+                    for (Process process : processes) {
+                        if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                            process.destroyForcibly();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Nested
+    @Tag("benchmark")
+    @DisplayName("Benchmarks")
+    class BenchmarkTests {
+
+        @Test
+        @DisplayName("Aggregate throughput by worker count")
+        void testWorkerScaling() throws Exception {
+            List<Matchup> matchups = Matchup.roundRobin(250_000, 11L);
+            List<BattleResult> baselineResults = null;
+            double baseline = 0;
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int workers : new int[] {1, 2, 4, cores}) {
+                try (SimulationCoordinator coordinator = new SimulationCoordinator(0)) {
+                    coordinator.start();
+                    for (int i = 0; i < workers; i++) {
+                        new Thread(new SimulationWorker("localhost", coordinator.getPort())).start();
+                    }
+                    coordinator.awaitWorkers(workers, 10, TimeUnit.SECONDS);
+                    // Warm up the workers and the coordinator before timing
+                    coordinator.run(matchups.subList(0, 200_000), 4096, 60, TimeUnit.SECONDS);
+
+                    long start = System.nanoTime();
+                    List<BattleResult> results = coordinator.run(matchups, 4096, 5, TimeUnit.MINUTES);
+                    double perSecond = matchups.size() / ((System.nanoTime() - start) / 1e9);
+                    if (baselineResults == null) {
+                        baselineResults = results;
+                        baseline = perSecond;
+                    }
+                    System.out.printf("%d workers: %.2f M matchups/s (%.2fx)%n",
+                            workers, perSecond / 1e6, perSecond / baseline);
+                    assertThat(results).isEqualTo(baselineResults);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.FallbackAttackPolicy;
+import edu.trincoll.game.strategy.ModifiedAttackStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Fight Solver Tests")
+class FightSolverTest {
+
+    private final FightSolver solver = new FightSolver();
+    private final BattleSimulator simulator = new BattleSimulator();
+
+    private static Character build(CharacterType type, CharacterStats stats, FallbackAttackPolicy fallback) {
+        Character preset = CharacterFactory.createCharacter(type.name(), type);
+        return Character.builder()
+            .name(type.name())
+            .type(type)
+            .stats(stats)
+            .attackStrategy(preset.getAttackStrategy())
+            .defenseStrategy(preset.getDefenseStrategy())
+            .fallbackPolicy(fallback)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Closed Form")
+    class ClosedFormTests {
+
+        @Test
+        @DisplayName("Matches simulation for every factory matchup and turn order")
+        void testFactoryMatchups() {
+            for (CharacterType first : CharacterType.values()) {
+                for (CharacterType second : CharacterType.values()) {
+                    for (long seed = 0; seed < 2; seed++) {
+                        Matchup matchup = new Matchup(first, second, seed);
+
+                        assertThat(solver.solve(matchup))
+                            .as(matchup.toString())
+                            .isEqualTo(simulator.simulate(matchup));
+                    }
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Matches simulation for random stats, fallback policies and wounded starts")
+        void testRandomStats() {
+            Random random = new Random(42);
+            CharacterType[] types = CharacterType.values();
+            for (int i = 0; i < 2_000; i++) {
+                CharacterType firstType = types[random.nextInt(types.length)];
+                CharacterType secondType = types[random.nextInt(types.length)];
+                CharacterStats firstStats = CharacterStats.create(
+                    1 + random.nextInt(300), random.nextInt(80), random.nextInt(60), random.nextInt(150));
+                CharacterStats secondStats = CharacterStats.create(
+                    1 + random.nextInt(300), random.nextInt(80), random.nextInt(60), random.nextInt(150))
+                    .withHealth(1 + random.nextInt(300));
+                FallbackAttackPolicy fallback = random.nextBoolean()
+                    ? FallbackAttackPolicy.FORFEIT : FallbackAttackPolicy.BASIC_ATTACK;
+                boolean firstAttacksFirst = random.nextBoolean();
+
+                BattleResult predicted = solver.solve(
+                    build(firstType, firstStats, fallback), build(secondType, secondStats, fallback), firstAttacksFirst);
+                BattleResult simulated = simulator.fight(
+                    build(firstType, firstStats, fallback), build(secondType, secondStats, fallback), firstAttacksFirst);
+
+                assertThat(predicted).isEqualTo(simulated);
+            }
+        }
+
+        @Test
+        @DisplayName("Fights nobody can win are draws at the turn cap")
+        void testDrawAtTurnCap() {
+            CharacterStats harmless = CharacterStats.create(100, 0, 0, 0);
+
+            BattleResult result = solver.solve(
+                build(CharacterType.WARRIOR, harmless, FallbackAttackPolicy.FORFEIT),
+                build(CharacterType.ROGUE, harmless, FallbackAttackPolicy.FORFEIT), true);
+
+            assertThat(result.isDraw()).isTrue();
+            assertThat(result.turns()).isEqualTo(BattleSimulator.MAX_TURNS);
+        }
+
+        @Test
+        @DisplayName("Solving does not modify the characters")
+        void testDoesNotMutate() {
+            Character mage = CharacterFactory.createMage("Mage");
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+
+            solver.solve(mage, warrior, true);
+
+            assertThat(mage.getStats()).isEqualTo(CharacterFactory.createMage("Mage").getStats());
+            assertThat(warrior.getStats()).isEqualTo(CharacterFactory.createWarrior("Warrior").getStats());
+        }
+    }
+
+    @Nested
+    @DisplayName("Simulation Fallback")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("Custom strategies are not solved analytically")
+        void testCustomStrategyNotSolvable() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            warrior.setAttackStrategy(ModifiedAttackStrategy.builder(warrior.getAttackStrategy()).multiply(2.0).build());
+
+            assertThat(FightSolver.isSolvable(warrior)).isFalse();
+            assertThat(FightSolver.isSolvable(CharacterFactory.createWarrior("Plain"))).isTrue();
+        }
+
+        @Test
+        @DisplayName("Custom strategies fall back to simulating copies")
+        void testCustomStrategyFallback() {
+            Character warrior = CharacterFactory.createWarrior("Warrior");
+            warrior.setAttackStrategy(ModifiedAttackStrategy.builder(warrior.getAttackStrategy()).multiply(2.0).build());
+            Character archer = CharacterFactory.createArcher("Archer");
+
+            BattleResult predicted = solver.solve(warrior, archer, true);
+
+            assertThat(warrior.getStats().health()).isEqualTo(warrior.getStats().maxHealth());
+            assertThat(archer.getStats().health()).isEqualTo(archer.getStats().maxHealth());
+            assertThat(predicted).isEqualTo(simulator.fight(warrior, archer, true));
+        }
+    }
+}
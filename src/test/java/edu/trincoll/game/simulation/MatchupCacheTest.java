@@ -0,0 +1,177 @@
+package edu.trincoll.game.simulation;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.CharacterStats;
+import edu.trincoll.game.model.CharacterType;
+import edu.trincoll.game.strategy.ModifiedAttackStrategy;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Matchup Cache Tests")
+class MatchupCacheTest {
+
+    private static Character warrior(int health) {
+        Character preset = CharacterFactory.createWarrior("Warrior");
+        return Character.builder()
+            .name("Warrior")
+            .type(CharacterType.WARRIOR)
+            .stats(CharacterStats.create(health, 40, 30, 0))
+            .attackStrategy(preset.getAttackStrategy())
+            .defenseStrategy(preset.getDefenseStrategy())
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Lookups")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Repeated matchup is answered from the cache")
+        void testHit() {
+            MatchupCache cache = new MatchupCache(100);
+            Character mage = CharacterFactory.createMage("Mage");
+            Character archer = CharacterFactory.createArcher("Archer");
+
+            BattleResult first = cache.outcome(mage, archer, SequenceType.STANDARD);
+            BattleResult second = cache.outcome(mage, archer, SequenceType.STANDARD);
+
+            assertThat(second).isEqualTo(first);
+            assertThat(cache.metrics().hits()).isEqualTo(1);
+            assertThat(cache.metrics().misses()).isEqualTo(1);
+            assertThat(cache.metrics().hitRate()).isEqualTo(0.5);
+        }
+
+        @Test
+        @DisplayName("Outcomes match a fresh simulation for each sequence type")
+        void testMatchesSimulation() {
+            MatchupCache cache = new MatchupCache(100);
+            BattleSimulator simulator = new BattleSimulator();
+
+            for (SequenceType sequence : SequenceType.values()) {
+                BattleResult cached = cache.outcome(
+                    CharacterFactory.createRogue("Rogue"), CharacterFactory.createWarrior("Warrior"), sequence);
+                BattleResult simulated = simulator.fight(
+                    CharacterFactory.createRogue("Rogue"), CharacterFactory.createWarrior("Warrior"),
+                    true, null, sequence);
+
+                assertThat(cached).as(sequence.name()).isEqualTo(simulated);
+            }
+        }
+
+        @Test
+        @DisplayName("Different stats, strategies and sequences are different keys")
+        void testKeyComponents() {
+            MatchupCache cache = new MatchupCache(100);
+            Character archer = CharacterFactory.createArcher("Archer");
+            Character boosted = warrior(150);
+            boosted.setAttackStrategy(ModifiedAttackStrategy.builder(boosted.getAttackStrategy()).multiply(3.0).build());
+
+            cache.outcome(warrior(150), archer, SequenceType.STANDARD);
+            cache.outcome(warrior(160), archer, SequenceType.STANDARD);
+            cache.outcome(boosted, archer, SequenceType.STANDARD);
+            cache.outcome(warrior(150), archer, SequenceType.POWER_ATTACK);
+
+            assertThat(cache.metrics().misses()).isEqualTo(4);
+            assertThat(cache.metrics().size()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("Stats too large for the packed key bypass the cache")
+        void testBypass() {
+            MatchupCache cache = new MatchupCache(100);
+
+            cache.outcome(warrior(5_000), CharacterFactory.createMage("Mage"), SequenceType.STANDARD);
+
+            assertThat(cache.metrics().bypasses()).isEqualTo(1);
+            assertThat(cache.metrics().size()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounding")
+    class BoundingTests {
+
+        @Test
+        @DisplayName("Size never exceeds the maximum and evictions are counted")
+        void testBounded() {
+            MatchupCache cache = new MatchupCache(50);
+            Character mage = CharacterFactory.createMage("Mage");
+
+            for (int health = 1; health <= 500; health++) {
+                cache.outcome(warrior(health), mage, SequenceType.STANDARD);
+            }
+
+            assertThat(cache.metrics().size()).isLessThanOrEqualTo(50);
+            assertThat(cache.metrics().evictions()).isEqualTo(500 - cache.metrics().size());
+        }
+
+        @Test
+        @DisplayName("Frequently used entries survive a scan of one-off lookups")
+        void testFrequencyAdmission() {
+            MatchupCache cache = new MatchupCache(50);
+            Character mage = CharacterFactory.createMage("Mage");
+
+            for (int round = 0; round < 20; round++) {
+                for (int health = 1; health <= 10; health++) {
+                    cache.outcome(warrior(health), mage, SequenceType.STANDARD);
+                }
+            }
+            for (int health = 1_000; health < 1_200; health++) {
+                cache.outcome(warrior(health), mage, SequenceType.STANDARD);
+            }
+            long hitsBefore = cache.metrics().hits();
+            for (int health = 1; health <= 10; health++) {
+                cache.outcome(warrior(health), mage, SequenceType.STANDARD);
+            }
+
+            assertThat(cache.metrics().hits() - hitsBefore).isEqualTo(10);
+            assertThat(cache.metrics().rejections()).isPositive();
+        }
+
+        @Test
+        @DisplayName("Concurrent lookups agree with single-threaded results")
+        void testConcurrentLookups() throws Exception {
+            MatchupCache cache = new MatchupCache(1_000);
+            FightSolver solver = new FightSolver();
+            Character mage = CharacterFactory.createMage("Mage");
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<Boolean>> results = new ArrayList<>();
+                for (int thread = 0; thread < 4; thread++) {
+                    results.add(executor.submit(() -> {
+                        for (int i = 0; i < 5_000; i++) {
+                            Character attacker = warrior(1 + i % 300);
+                            if (!cache.outcome(attacker, mage, SequenceType.STANDARD)
+                                    .equals(solver.solve(attacker, mage, true))) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }));
+                }
+                for (Future<Boolean> result : results) {
+                    assertThat(result.get()).isTrue();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Maximum size must be positive")
+    void testInvalidSize() {
+        assertThatThrownBy(() -> new MatchupCache(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
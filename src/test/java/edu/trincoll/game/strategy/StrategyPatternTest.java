@@ -8,6 +8,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import static org.assertj.core.api.Assertions.*;
 
 @DisplayName("Strategy Pattern Tests")
@@ -297,4 +300,194 @@ class StrategyPatternTest {
             assertThat(actualDamage).isEqualTo(50);
         }
     }
+
+    @Nested
+    @DisplayName("Combat Context")
+    class CombatContextTests {
+
+        private Character archer;
+        private Character target;
+
+        @BeforeEach
+        void setUp() {
+            archer = new Character(
+                "Archer",
+                CharacterType.ARCHER,
+                CharacterStats.create(100, 50, 15, 0),
+                new RangedAttackStrategy(),
+                new StandardDefenseStrategy()
+            );
+
+            target = new Character(
+                "Target",
+                CharacterType.WARRIOR,
+                CharacterStats.create(100, 30, 15, 0),
+                new MeleeAttackStrategy(),
+                new StandardDefenseStrategy()
+            );
+        }
+
+        @Test
+        @DisplayName("Same seed replays the same rolls")
+        void testSeededContextIsReproducible() {
+            CombatContext first = CombatContext.seeded(42L);
+            CombatContext second = CombatContext.seeded(42L);
+
+            for (int i = 0; i < 100; i++) {
+                assertThat(archer.attack(target, first)).isEqualTo(archer.attack(target, second));
+            }
+        }
+
+        @Test
+        @DisplayName("Ranged attacks can miss, hit and crit")
+        void testRangedRollOutcomes() {
+            CombatContext context = CombatContext.seeded(7L);
+            Set<Integer> outcomes = new HashSet<>();
+
+            for (int i = 0; i < 1000; i++) {
+                outcomes.add(archer.attack(target, context));
+            }
+
+            // Miss, normal hit (50) and crit (75)
+            assertThat(outcomes).containsExactlyInAnyOrder(0, 50, 75);
+        }
+
+        @Test
+        @DisplayName("Ranged hit rate is close to 80%")
+        void testRangedHitRate() {
+            CombatContext context = CombatContext.seeded(1L);
+            int hits = 0;
+
+            for (int i = 0; i < 10_000; i++) {
+                if (archer.attack(target, context) > 0) {
+                    hits++;
+                }
+            }
+
+            assertThat(hits).isBetween(7_700, 8_300);
+        }
+
+        @Test
+        @DisplayName("Null context keeps the deterministic calculation")
+        void testNullContextIsDeterministic() {
+            assertThat(archer.attack(target, null)).isEqualTo(40);
+        }
+
+        @Test
+        @DisplayName("Lambda strategies ignore the context")
+        void testLambdaStrategyIgnoresContext() {
+            AttackStrategy fixed = (attacker, defender) -> 100;
+
+            assertThat(fixed.calculateDamage(archer, target, CombatContext.seeded(3L))).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Split contexts are reproducible but independent")
+        void testSplit() {
+            CombatContext left = CombatContext.seeded(11L).split();
+            CombatContext right = CombatContext.seeded(11L).split();
+
+            assertThat(left.random().nextLong()).isEqualTo(right.random().nextLong());
+        }
+    }
+
+    @Nested
+    @DisplayName("Modifier Pipelines")
+    class ModifierPipelineTests {
+
+        private Character warrior;
+        private Character mage;
+
+        @BeforeEach
+        void setUp() {
+            warrior = new Character(
+                "Warrior",
+                CharacterType.WARRIOR,
+                CharacterStats.create(150, 40, 30, 0),
+                new MeleeAttackStrategy(),
+                new StandardDefenseStrategy()
+            );
+
+            mage = new Character(
+                "Mage",
+                CharacterType.MAGE,
+                CharacterStats.create(80, 60, 10, 100),
+                new MeleeAttackStrategy(),
+                new StandardDefenseStrategy()
+            );
+        }
+
+        @Test
+        @DisplayName("Modifiers apply in order with a type-specific bonus")
+        void testAttackModifiers() {
+            warrior.setAttackStrategy(ModifiedAttackStrategy.builder(new MeleeAttackStrategy())
+                .multiply(1.25)
+                .add(5)
+                .against(CharacterType.MAGE, 1.5)
+                .build());
+
+            // 48 * 1.25 + 5 = 65, then x1.5 against mages = 97.5
+            assertThat(warrior.attack(mage)).isEqualTo(97);
+            assertThat(warrior.attack(warrior)).isEqualTo(65);
+        }
+
+        @Test
+        @DisplayName("Re-wrapping merges stacks instead of nesting")
+        void testRewrapMerges() {
+            ModifiedAttackStrategy once = ModifiedAttackStrategy.builder(new MeleeAttackStrategy())
+                .multiply(2.0)
+                .build();
+            ModifiedAttackStrategy twice = ModifiedAttackStrategy.builder(once)
+                .add(10)
+                .build();
+
+            assertThat(twice.getBase()).isInstanceOf(MeleeAttackStrategy.class);
+            assertThat(twice.getModifierCount()).isEqualTo(2);
+            assertThat(twice.calculateDamage(warrior, mage)).isEqualTo(48 * 2 + 10);
+        }
+
+        @Test
+        @DisplayName("Ten stacked modifiers match step-by-step application")
+        void testTenModifiersMatchNaiveDecoration() {
+            ModifiedAttackStrategy.Builder builder = ModifiedAttackStrategy.builder(new MeleeAttackStrategy());
+            double expected = 48;
+            for (int i = 0; i < 5; i++) {
+                builder.multiply(1.1).add(3);
+                expected = expected * 1.1 + 3;
+            }
+            ModifiedAttackStrategy fused = builder.build();
+
+            assertThat(fused.getModifierCount()).isEqualTo(10);
+            assertThat(fused.calculateDamage(warrior, mage)).isEqualTo((int) expected);
+        }
+
+        @Test
+        @DisplayName("Debuffs never produce negative damage")
+        void testDamageFloor() {
+            AttackStrategy weakened = ModifiedAttackStrategy.builder(new MeleeAttackStrategy())
+                .add(-1000)
+                .build();
+
+            assertThat(weakened.calculateDamage(warrior, mage)).isZero();
+        }
+
+        @Test
+        @DisplayName("Defense modifiers scale damage taken after base defense")
+        void testDefenseModifiers() {
+            mage.setDefenseStrategy(ModifiedDefenseStrategy.builder(new StandardDefenseStrategy())
+                .multiply(0.5)
+                .add(-5)
+                .build());
+
+            // 100 - 10/2 = 95, * 0.5 = 47.5, - 5 = 42.5
+            assertThat(mage.defend(100)).isEqualTo(42);
+        }
+
+        @Test
+        @DisplayName("Negative factors are rejected")
+        void testNegativeFactor() {
+            assertThatThrownBy(() -> ModifiedAttackStrategy.builder(new MeleeAttackStrategy()).multiply(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
 }
@@ -0,0 +1,190 @@
+package edu.trincoll.game.strategy.formula;
+
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.strategy.AttackStrategy;
+import edu.trincoll.game.strategy.DefenseStrategy;
+import edu.trincoll.game.strategy.HeavyArmorDefenseStrategy;
+import edu.trincoll.game.strategy.MagicAttackStrategy;
+import edu.trincoll.game.strategy.MeleeAttackStrategy;
+import edu.trincoll.game.strategy.StandardDefenseStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Formula Compiler Tests")
+class FormulaCompilerTest {
+
+    private Character warrior;
+    private Character mage;
+
+    @BeforeEach
+    void setUp() {
+        warrior = CharacterFactory.createWarrior("Conan");
+        mage = CharacterFactory.createMage("Gandalf");
+    }
+
+    @Nested
+    @DisplayName("Attack Formulas")
+    class AttackFormulaTests {
+
+        @Test
+        @DisplayName("Melee formula matches MeleeAttackStrategy")
+        void testMeleeFormula() {
+            AttackStrategy formula = FormulaCompiler.compileAttack("atk * 1.2");
+
+            assertThat(formula.calculateDamage(warrior, mage))
+                .isEqualTo(new MeleeAttackStrategy().calculateDamage(warrior, mage));
+        }
+
+        @Test
+        @DisplayName("Magic formula matches MagicAttackStrategy damage")
+        void testMagicFormula() {
+            AttackStrategy formula = FormulaCompiler.compileAttack("atk + floor(mana / 10)");
+            mage.useMana(5);
+
+            // 60 + floor(95 / 10) = 69, same integer division as the built-in
+            assertThat(formula.calculateDamage(mage, warrior)).isEqualTo(69);
+            assertThat(new MagicAttackStrategy().calculateDamage(mage, warrior)).isEqualTo(69);
+        }
+
+        @Test
+        @DisplayName("Target stats are available with the target prefix")
+        void testTargetStats() {
+            AttackStrategy formula = FormulaCompiler.compileAttack("target.maxhp - target.hp + 1");
+            mage.setHealth(50);
+
+            assertThat(formula.calculateDamage(warrior, mage)).isEqualTo(31);
+        }
+
+        @Test
+        @DisplayName("Precedence, unary minus and functions")
+        void testOperators() {
+            AttackStrategy formula = FormulaCompiler.compileAttack("-(2 + 3) * 4 + max(10, atk) - min(1, 2) / 2");
+
+            // -20 + 40 - 0.5 = 19.5
+            assertThat(formula.calculateDamage(warrior, mage)).isEqualTo(19);
+        }
+
+        @Test
+        @DisplayName("Negative attack results become zero damage")
+        void testNegativeClamped() {
+            assertThat(FormulaCompiler.compileAttack("atk - 41").calculateDamage(warrior, mage)).isZero();
+            assertThat(FormulaCompiler.compileAttack("-(atk * atk * atk * atk * atk * atk)").calculateDamage(warrior, mage)).isZero();
+        }
+
+        @Test
+        @DisplayName("Dividing by zero gives zero")
+        void testDivideByZero() {
+            // The warrior has no mana, so 100 / target.mana is 100 / 0
+            assertThat(FormulaCompiler.compileAttack("atk + 100 / target.mana").calculateDamage(mage, warrior))
+                .isEqualTo(60);
+            assertThat(FormulaCompiler.compileAttack("atk + 0 / 0").calculateDamage(warrior, mage)).isEqualTo(40);
+            assertThat(FormulaCompiler.compileAttack("atk + 100 / target.mana").calculateDamage(warrior, mage))
+                .isEqualTo(41);
+            assertThat(FormulaCompiler.compileDefense("dmg / (def - def)").calculateDamageReduction(warrior, 50))
+                .isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Defense Formulas")
+    class DefenseFormulaTests {
+
+        @Test
+        @DisplayName("Heavy armor formula matches HeavyArmorDefenseStrategy")
+        void testHeavyArmorFormula() {
+            DefenseStrategy formula = FormulaCompiler.compileDefense("max(floor(dmg * 0.25), dmg - def)");
+            HeavyArmorDefenseStrategy builtIn = new HeavyArmorDefenseStrategy();
+
+            for (int damage : new int[]{0, 10, 40, 48, 200}) {
+                assertThat(formula.calculateDamageReduction(warrior, damage))
+                    .isEqualTo(builtIn.calculateDamageReduction(warrior, damage));
+            }
+        }
+
+        @Test
+        @DisplayName("Standard defense formula matches StandardDefenseStrategy")
+        void testStandardFormula() {
+            DefenseStrategy formula = FormulaCompiler.compileDefense("max(0, dmg - floor(def / 2))");
+
+            assertThat(formula.calculateDamageReduction(mage, 48))
+                .isEqualTo(new StandardDefenseStrategy().calculateDamageReduction(mage, 48));
+        }
+    }
+
+    @Nested
+    @DisplayName("Compilation")
+    class CompilationTests {
+
+        @Test
+        @DisplayName("Formulas are cached ignoring whitespace")
+        void testCache() {
+            AttackStrategy first = FormulaCompiler.compileAttack("atk * 3 + 7");
+            AttackStrategy second = FormulaCompiler.compileAttack(" atk*3  +7 ");
+
+            assertThat(second).isSameAs(first);
+        }
+
+        @Test
+        @DisplayName("Whitespace separates tokens instead of being stripped")
+        void testWhitespaceSeparatesTokens() {
+            assertThatThrownBy(() -> FormulaCompiler.compileAttack("atk * 1 2"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> FormulaCompiler.compileAttack("max hp"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThat(FormulaCompiler.compileAttack("atk * 12").calculateDamage(warrior, mage)).isEqualTo(480);
+        }
+
+        @Test
+        @DisplayName("Compiled strategies are hidden classes")
+        void testHiddenClass() {
+            assertThat(FormulaCompiler.compileAttack("atk").getClass().isHidden()).isTrue();
+        }
+
+        @Test
+        @DisplayName("Names are case-insensitive regardless of the default locale")
+        void testLocaleIndependentNames() {
+            Locale original = Locale.getDefault();
+            Locale.setDefault(Locale.forLanguageTag("tr"));
+            try {
+                // Lowercasing "MIN" in Turkish gives a dotless i and an unknown function
+                assertThat(FormulaCompiler.compileAttack("MIN(ATK, 99) + 1").calculateDamage(warrior, mage))
+                    .isEqualTo(41);
+            } finally {
+                Locale.setDefault(original);
+            }
+        }
+
+        @Test
+        @DisplayName("Unknown variables are rejected")
+        void testUnknownVariable() {
+            assertThatThrownBy(() -> FormulaCompiler.compileAttack("atk + luck"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("luck");
+        }
+
+        @Test
+        @DisplayName("Damage variable is only valid in defense formulas")
+        void testDamageOnlyInDefense() {
+            assertThatThrownBy(() -> FormulaCompiler.compileAttack("dmg"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> FormulaCompiler.compileDefense("target.hp"))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Malformed formulas are rejected")
+        void testMalformed() {
+            assertThatThrownBy(() -> FormulaCompiler.compileAttack("atk * (2 + 3"))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> FormulaCompiler.compileAttack("   "))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package edu.trincoll.game.world;
+
+import edu.trincoll.game.command.HealCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Sharded World Tests")
+class ShardedWorldTest {
+
+    @Nested
+    @DisplayName("SPSC Mailbox")
+    class MailboxTests {
+
+        @Test
+        @DisplayName("Mailbox delivers messages in FIFO order")
+        void testFifoOrder() {
+            SpscMailbox<Integer> mailbox = new SpscMailbox<>(4);
+
+            mailbox.offer(1);
+            mailbox.offer(2);
+            mailbox.offer(3);
+
+            assertThat(mailbox.poll()).isEqualTo(1);
+            assertThat(mailbox.poll()).isEqualTo(2);
+            assertThat(mailbox.poll()).isEqualTo(3);
+            assertThat(mailbox.poll()).isNull();
+        }
+
+        @Test
+        @DisplayName("Mailbox rejects offers when full instead of blocking")
+        void testFullMailbox() {
+            SpscMailbox<Integer> mailbox = new SpscMailbox<>(2);
+
+            assertThat(mailbox.offer(1)).isTrue();
+            assertThat(mailbox.offer(2)).isTrue();
+            assertThat(mailbox.offer(3)).isFalse();
+
+            mailbox.poll();
+            assertThat(mailbox.offer(3)).isTrue();
+        }
+
+        @Test
+        @DisplayName("Mailbox capacity rounds up to a power of two")
+        void testCapacityRounding() {
+            assertThat(new SpscMailbox<>(5).capacity()).isEqualTo(8);
+            assertThat(new SpscMailbox<>(1).capacity()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("World Routing")
+    class RoutingTests {
+
+        private ShardedWorld world;
+        private Character warrior;
+        private Character rogue;
+        private Character archer;
+
+        @BeforeEach
+        void setUp() {
+            world = new ShardedWorld(2, 2);
+            warrior = CharacterFactory.createWarrior("Conan");
+            rogue = CharacterFactory.createRogue("Shadow");
+            archer = CharacterFactory.createArcher("Legolas");
+            world.assign(warrior, 0);
+            world.assign(rogue, 0);
+            world.assign(archer, 1);
+        }
+
+        @AfterEach
+        void tearDown() {
+            world.close();
+        }
+
+        @Test
+        @DisplayName("Same-shard attack runs as a local command")
+        void testLocalAttack() throws InterruptedException {
+            world.start();
+
+            world.attack(warrior, rogue);
+            world.awaitQuiescence();
+
+            // 40 * 1.2 = 48, standard defense 20 / 2 = 10 -> 38
+            assertThat(rogue.getStats().health()).isEqualTo(90 - 38);
+            assertThat(world.crossShardTraffic()).isZero();
+            assertThat(world.invoker(0).getCommandHistory()).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("Cross-shard attack is applied by the target's shard")
+        void testCrossShardAttack() throws InterruptedException {
+            world.start();
+
+            world.attack(warrior, archer);
+            world.awaitQuiescence();
+
+            // 48 damage, archer defense 15 / 2 = 7 -> 41
+            assertThat(archer.getStats().health()).isEqualTo(100 - 41);
+            assertThat(world.crossShardTraffic()).isEqualTo(1);
+            assertThat(world.invoker(0).getCommandHistory()).isEmpty();
+            assertThat(world.invoker(1).getCommandHistory()).hasSize(1);
+
+            // The forwarded hit is journaled, so the target's shard can rewind it
+            world.close();
+            assertThat(world.invoker(1).getCommandHistory().get(0).getAffectedCharacters())
+                    .containsExactly(archer);
+            world.invoker(1).rewindTo(0);
+            assertThat(archer.getStats().health()).isEqualTo(100);
+        }
+
+        @Test
+        @DisplayName("Forwarded hits survive full mailboxes")
+        void testMailboxBackPressure() throws InterruptedException {
+            world.start();
+
+            for (int i = 0; i < 100; i++) {
+                world.attack(warrior, archer);
+                world.submit(archer, new HealCommand(archer, 100));
+            }
+            world.awaitQuiescence();
+
+            List<ShardMetrics> metrics = world.metrics();
+            assertThat(metrics.get(0).crossShardSent()).isEqualTo(100);
+            assertThat(metrics.get(1).crossShardReceived()).isEqualTo(100);
+            assertThat(metrics.get(1).commandsExecuted()).isEqualTo(200);
+        }
+
+        @Test
+        @DisplayName("Characters cannot be reassigned once running")
+        void testAssignAfterStart() {
+            world.start();
+
+            assertThatThrownBy(() -> world.assign(CharacterFactory.createMage("Late")))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        @Test
+        @DisplayName("Unknown characters are rejected")
+        void testUnknownCharacter() {
+            Character stranger = CharacterFactory.createMage("Stranger");
+
+            assertThatThrownBy(() -> world.attack(warrior, stranger))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Mailbox capacities outside 1 to 2^30 are rejected")
+        void testMailboxCapacity() {
+            assertThatThrownBy(() -> new ShardedWorld(2, 0))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> new ShardedWorld(2, (1 << 30) + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+            new ShardedWorld(2, 1).close();
+        }
+
+        @Test
+        @DisplayName("Round-robin assignment spreads characters across shards")
+        void testRoundRobinAssignment() {
+            try (ShardedWorld fresh = new ShardedWorld(3)) {
+                assertThat(fresh.assign(CharacterFactory.createWarrior("A"))).isEqualTo(0);
+                assertThat(fresh.assign(CharacterFactory.createWarrior("B"))).isEqualTo(1);
+                assertThat(fresh.assign(CharacterFactory.createWarrior("C"))).isEqualTo(2);
+                assertThat(fresh.assign(CharacterFactory.createWarrior("D"))).isEqualTo(0);
+            }
+        }
+    }
+}
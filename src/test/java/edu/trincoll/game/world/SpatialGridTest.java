@@ -0,0 +1,160 @@
+package edu.trincoll.game.world;
+
+import edu.trincoll.game.command.AttackCommand;
+import edu.trincoll.game.factory.CharacterFactory;
+import edu.trincoll.game.model.Character;
+import edu.trincoll.game.model.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("Spatial Grid Tests")
+class SpatialGridTest {
+
+    private SpatialGrid grid;
+
+    @BeforeEach
+    void setUp() {
+        grid = new SpatialGrid(10);
+    }
+
+    private Character place(String name, int team, double x, double y) {
+        Character character = CharacterFactory.createRogue(name);
+        character.setPosition(new Position(x, y));
+        grid.insert(character, team);
+        return character;
+    }
+
+    @Nested
+    @DisplayName("Queries")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Nearest enemy ignores allies, the dead and anything out of range")
+        void testNearestEnemy() {
+            Character hero = place("Hero", 0, 0, 0);
+            place("Ally", 0, 1, 0);
+            Character corpse = place("Corpse", 1, 2, 0);
+            corpse.setHealth(0);
+            Character near = place("Near", 1, 15, 0);
+            place("Far", 1, 40, 0);
+
+            assertThat(grid.nearestEnemy(hero, 100)).isSameAs(near);
+            assertThat(grid.nearestEnemy(hero, 10)).isNull();
+        }
+
+        @Test
+        @DisplayName("Weakest enemy in range prefers lowest health")
+        void testWeakestEnemy() {
+            Character hero = place("Hero", 0, 0, 0);
+            place("Healthy", 1, 3, 0);
+            Character wounded = place("Wounded", 1, 8, 8);
+            wounded.setHealth(10);
+            Character outOfRange = place("Dying", 1, 50, 50);
+            outOfRange.setHealth(1);
+
+            assertThat(grid.weakestEnemyInRange(hero, 20)).isSameAs(wounded);
+        }
+
+        @Test
+        @DisplayName("Area query finds every enemy inside the radius")
+        void testEnemiesWithin() {
+            place("Caster", 0, 0, 0);
+            Character a = place("A", 1, 5, 5);
+            Character b = place("B", 2, -7, 0);
+            place("Outside", 1, 30, 0);
+            place("Friend", 0, 1, 1);
+
+            assertThat(grid.enemiesWithin(Position.ORIGIN, 10, 0)).containsExactlyInAnyOrder(a, b);
+        }
+
+        @Test
+        @DisplayName("Queries agree with a brute-force scan")
+        void testMatchesBruteForce() {
+            Random random = new Random(7);
+            List<Character> all = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                all.add(place("C" + i, i % 3, random.nextDouble() * 200, random.nextDouble() * 200));
+            }
+
+            for (Character character : all) {
+                Character nearest = grid.nearestEnemy(character, 25);
+                double expected = all.stream()
+                    .filter(other -> grid.teamOf(other) != grid.teamOf(character))
+                    .mapToDouble(other -> character.getPosition().distanceTo(other.getPosition()))
+                    .filter(distance -> distance <= 25)
+                    .min().orElse(-1);
+
+                double actual = nearest == null ? -1 : character.getPosition().distanceTo(nearest.getPosition());
+                assertThat(actual).isEqualTo(expected);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Updates")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Moving across cells is reflected in queries")
+        void testMove() {
+            Character hero = place("Hero", 0, 0, 0);
+            Character enemy = place("Enemy", 1, 100, 100);
+
+            assertThat(grid.nearestEnemy(hero, 10)).isNull();
+
+            grid.move(enemy, new Position(3, 3));
+
+            assertThat(enemy.getPosition()).isEqualTo(new Position(3, 3));
+            assertThat(grid.nearestEnemy(hero, 10)).isSameAs(enemy);
+        }
+
+        @Test
+        @DisplayName("Dead characters can be removed in bulk")
+        void testRemoveDead() {
+            place("Alive", 0, 0, 0);
+            place("Dead1", 1, 5, 0).setHealth(0);
+            place("Dead2", 1, 50, 0).setHealth(0);
+
+            assertThat(grid.removeDead()).isEqualTo(2);
+            assertThat(grid.size()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Target Selection")
+    class TargetSelectionTests {
+
+        @Test
+        @DisplayName("Helpers build attack commands against the selected targets")
+        void testAttackCommands() {
+            Character hero = place("Hero", 0, 0, 0);
+            Character enemy = place("Enemy", 1, 4, 0);
+            TargetSelection targeting = new TargetSelection(grid);
+
+            AttackCommand attack = targeting.attackNearestEnemy(hero, 10);
+            attack.execute();
+
+            assertThat(enemy.getStats().health()).isLessThan(enemy.getStats().maxHealth());
+            assertThat(targeting.attackEnemiesWithin(hero, Position.ORIGIN, 10)).hasSize(1);
+        }
+
+        @Test
+        @DisplayName("A tick plan has one attack per character with an enemy in range")
+        void testPlanTick() {
+            place("A", 0, 0, 0);
+            place("B", 1, 5, 0);
+            place("Loner", 2, 500, 500);
+            TargetSelection targeting = new TargetSelection(grid);
+
+            assertThat(targeting.planNearestEnemyAttacks(20)).hasSize(2);
+        }
+    }
+}